@@ -0,0 +1,62 @@
+package com.ohange.todoserver.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.web.socket.TextMessage;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// 팀 브로드캐스트 1회당 직렬화 비용 비교
+// perRecipientEncoding: 기존 방식 (수신자마다 writeValueAsString + new TextMessage)
+// sharedFrame: 한 번 인코딩한 프레임을 모든 수신자가 공유
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BroadcastEncodingBenchmark {
+
+    @Param({"1", "10", "100", "500"})
+    private int recipients;
+
+    private final ObjectMapper objectMapper = MessageCodec.mapper();
+    private TaskWebSocketHandler handler;
+    private WebSocketMessage message;
+
+    @Setup
+    public void setUp() {
+        handler = new TaskWebSocketHandler();
+
+        MessagePayloads.TaskSummary task = new MessagePayloads.TaskSummary(
+                "660e8400-e29b-41d4-a716-446655440001",
+                "Flutter 앱 UI 개선",
+                "TODO 앱의 메인 화면 UI를 개선해주세요.",
+                "IN_PROGRESS",
+                new MessagePayloads.UserRef("550e8400-e29b-41d4-a716-446655440001", "관리자"),
+                new MessagePayloads.UserRef("550e8400-e29b-41d4-a716-446655440002", "김개발"),
+                LocalDateTime.of(2025, 8, 1, 23, 59, 59),
+                LocalDateTime.of(2025, 7, 20, 10, 0, 0),
+                null);
+        message = WebSocketMessage.teamTaskUpdate(new MessagePayloads.TeamTaskUpdate("UPDATE", task));
+    }
+
+    @TearDown
+    public void tearDown() {
+        handler.shutdown();
+    }
+
+    @Benchmark
+    public void perRecipientEncoding(Blackhole blackhole) throws Exception {
+        for (int i = 0; i < recipients; i++) {
+            blackhole.consume(new TextMessage(objectMapper.writeValueAsString(message)));
+        }
+    }
+
+    @Benchmark
+    public void sharedFrame(Blackhole blackhole) {
+        TextMessage frame = handler.encode(message);
+        for (int i = 0; i < recipients; i++) {
+            blackhole.consume(frame);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.ohange.todoserver.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ohange.todoserver.entity.Team;
+import com.ohange.todoserver.entity.TodoTask;
+import com.ohange.todoserver.entity.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// TEAM_TASK_UPDATE 한 건을 만들어 프레임 바이트까지 직렬화하는 비용 비교
+// mapPayload: 기존 방식 (HashMap + DateTimeFormatter + 중첩 Map.of, Map 직렬화)
+// typedPayload: MessagePayloads 레코드 + MessageCodec의 미리 만든 writer
+// 할당량은 gc 프로파일러의 gc.alloc.rate.norm (B/op)으로 비교한다 (./gradlew jmh)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PayloadSerializationBenchmark {
+
+    // 기존 TaskWebSocketHandler와 같은 기본 설정의 ObjectMapper
+    private final ObjectMapper legacyMapper = new ObjectMapper();
+    private TodoTask task;
+
+    @Setup
+    public void setUp() {
+        User requester = new User("admin@example.com", "password", "관리자");
+        requester.setId(UUID.fromString("550e8400-e29b-41d4-a716-446655440001"));
+        User assignee = new User("user1@example.com", "password", "김개발");
+        assignee.setId(UUID.fromString("550e8400-e29b-41d4-a716-446655440002"));
+        Team team = new Team("개발팀", null);
+        team.setId(UUID.fromString("770e8400-e29b-41d4-a716-446655440001"));
+
+        task = new TodoTask("Flutter 앱 UI 개선", "TODO 앱의 메인 화면 UI를 개선해주세요.",
+                requester, assignee, team, LocalDateTime.of(2025, 8, 1, 23, 59, 59));
+        task.setId(UUID.fromString("660e8400-e29b-41d4-a716-446655440001"));
+        task.setStatus(TodoTask.TodoTaskStatus.IN_PROGRESS);
+        task.setCreatedAt(LocalDateTime.of(2025, 7, 20, 10, 0, 0));
+    }
+
+    @Benchmark
+    public byte[] mapPayload() throws Exception {
+        Map<String, Object> taskDto = new HashMap<>();
+        taskDto.put("id", task.getId().toString());
+        taskDto.put("title", task.getTitle());
+        taskDto.put("content", task.getContent());
+        taskDto.put("status", task.getStatus().name());
+        taskDto.put("requester", Map.of("id", task.getRequester().getId().toString(), "name", task.getRequester().getName()));
+        taskDto.put("assignee", Map.of("id", task.getAssignee().getId().toString(), "name", task.getAssignee().getName()));
+        taskDto.put("deadline", task.getDeadline() != null ?
+                task.getDeadline().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) : null);
+        taskDto.put("createdAt", task.getCreatedAt() != null ?
+                task.getCreatedAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) : null);
+        taskDto.put("completedAt", task.getCompletedAt() != null ?
+                task.getCompletedAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) : null);
+
+        WebSocketMessage message = new WebSocketMessage("TEAM_TASK_UPDATE", Map.of("action", "UPDATE", "task", taskDto));
+        return legacyMapper.writeValueAsBytes(message);
+    }
+
+    @Benchmark
+    public byte[] typedPayload() throws Exception {
+        MessagePayloads.TaskSummary summary = new MessagePayloads.TaskSummary(
+                task.getId().toString(),
+                task.getTitle(),
+                task.getContent(),
+                task.getStatus().name(),
+                new MessagePayloads.UserRef(task.getRequester().getId().toString(), task.getRequester().getName()),
+                new MessagePayloads.UserRef(task.getAssignee().getId().toString(), task.getAssignee().getName()),
+                task.getDeadline(),
+                task.getCreatedAt(),
+                task.getCompletedAt());
+
+        WebSocketMessage message = WebSocketMessage.teamTaskUpdate(new MessagePayloads.TeamTaskUpdate("UPDATE", summary));
+        return MessageCodec.encode(message);
+    }
+}
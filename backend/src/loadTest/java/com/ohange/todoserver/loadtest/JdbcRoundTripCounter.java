@@ -0,0 +1,117 @@
+package com.ohange.todoserver.loadtest;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Set;
+
+// JDBC 왕복 횟수 측정기
+// DataSource 빈을 프록시로 감싸 Statement의 execute* / executeBatch 호출 수를 센다 (addBatch는 세지 않음).
+// 측정은 start()를 호출한 스레드에서만 이루어지므로 아웃박스 릴레이 같은 백그라운드 작업은 섞이지 않는다.
+// 빈 후처리기이므로 테스트 설정에서 static @Bean으로 등록한다.
+public class JdbcRoundTripCounter implements BeanPostProcessor {
+
+	private static final Set<String> EXECUTE_METHODS = Set.of(
+			"execute", "executeQuery", "executeUpdate", "executeLargeUpdate");
+
+	private static final Set<String> BATCH_METHODS = Set.of("executeBatch", "executeLargeBatch");
+
+	private final ThreadLocal<Counts> current = new ThreadLocal<>();
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if (bean instanceof DataSource dataSource) {
+			return proxy(DataSource.class, dataSource, (target, method, args) -> {
+				Object result = method.invoke(target, args);
+				return result instanceof Connection connection ? wrapConnection(connection) : result;
+			});
+		}
+		return bean;
+	}
+
+	// 현재 스레드에서 측정 시작
+	public void start() {
+		current.set(new Counts());
+	}
+
+	// 현재 스레드의 측정 종료 후 결과 반환
+	public Counts stop() {
+		Counts counts = current.get();
+		current.remove();
+		return counts != null ? counts : new Counts();
+	}
+
+	private Connection wrapConnection(Connection connection) {
+		return proxy(Connection.class, connection, (target, method, args) -> {
+			Object result = method.invoke(target, args);
+			if (result instanceof CallableStatement statement) {
+				return wrapStatement(CallableStatement.class, statement);
+			}
+			if (result instanceof PreparedStatement statement) {
+				return wrapStatement(PreparedStatement.class, statement);
+			}
+			if (result instanceof Statement statement) {
+				return wrapStatement(Statement.class, statement);
+			}
+			return result;
+		});
+	}
+
+	private <T extends Statement> T wrapStatement(Class<T> type, T statement) {
+		return proxy(type, statement, (target, method, args) -> {
+			Counts counts = current.get();
+			if (counts != null) {
+				if (EXECUTE_METHODS.contains(method.getName())) {
+					counts.roundTrips++;
+				} else if (BATCH_METHODS.contains(method.getName())) {
+					counts.roundTrips++;
+					counts.batches++;
+				} else if ("addBatch".equals(method.getName())) {
+					counts.batchedStatements++;
+				}
+			}
+			return method.invoke(target, args);
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, T target, Invocation invocation) {
+		InvocationHandler handler = (p, method, args) -> {
+			try {
+				return invocation.invoke(target, method, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		};
+		return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+	}
+
+	@FunctionalInterface
+	private interface Invocation {
+		Object invoke(Object target, Method method, Object[] args) throws Throwable;
+	}
+
+	// 한 번의 측정 결과
+	public static class Counts {
+		private long roundTrips;
+		private long batches;
+		private long batchedStatements;
+
+		// DB로 나간 요청 수 (배치 하나 = 1)
+		public long getRoundTrips() { return roundTrips; }
+
+		// 그중 executeBatch 호출 수 (Hibernate는 테이블(SQL)마다 배치 하나)
+		public long getBatches() { return batches; }
+
+		// 배치에 담긴 문장 수
+		public long getBatchedStatements() { return batchedStatements; }
+	}
+}
@@ -0,0 +1,49 @@
+package com.ohange.todoserver.loadtest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// 고정 버킷 지연 시간 히스토그램 (100µs 단위, 최대 10초, 그 이상은 마지막 버킷)
+// 수만 개 클라이언트 스레드가 동시에 기록하므로 샘플을 보관하지 않고 버킷 카운트만 올린다.
+class LatencyHistogram {
+
+    private static final long BUCKET_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final int BUCKETS = 100_000;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    void record(long nanos) {
+        int bucket = (int) Math.min(BUCKETS - 1, Math.max(0, nanos / BUCKET_NANOS));
+        counts.incrementAndGet(bucket);
+        total.incrementAndGet();
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    long count() {
+        return total.get();
+    }
+
+    // 백분위 지연 (ms, 버킷 상한 기준)
+    double percentileMillis(double percentile) {
+        long n = total.get();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(n * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return (i + 1) * BUCKET_NANOS / 1_000_000.0;
+            }
+        }
+        return maxMillis();
+    }
+
+    double maxMillis() {
+        return maxNanos.get() / 1_000_000.0;
+    }
+}
@@ -0,0 +1,126 @@
+package com.ohange.todoserver.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+// /ws/tasks에 접속해 팀 채널을 구독하는 가상 클라이언트
+// 팀 업데이트(단건/병합 묶음)에 들어 있는 태스크 ID로 발송 시각을 찾아 종단 지연을 기록한다.
+class SimulatedClient implements WebSocket.Listener {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final String userId;
+    private final String teamId;
+    private final Map<String, Long> sentAtNanos;
+    private final LatencyHistogram histogram;
+    private final AtomicLong lastReceivedNanos;
+    private final CountDownLatch subscribed;
+
+    private final StringBuilder partial = new StringBuilder();
+    private final AtomicLong delivered = new AtomicLong();
+    private volatile WebSocket webSocket;
+    private volatile boolean closed;
+
+    SimulatedClient(String userId, String teamId, Map<String, Long> sentAtNanos, LatencyHistogram histogram,
+                    AtomicLong lastReceivedNanos, CountDownLatch subscribed) {
+        this.userId = userId;
+        this.teamId = teamId;
+        this.sentAtNanos = sentAtNanos;
+        this.histogram = histogram;
+        this.lastReceivedNanos = lastReceivedNanos;
+        this.subscribed = subscribed;
+    }
+
+    CompletableFuture<WebSocket> connect(HttpClient httpClient, String baseUrl) {
+        URI uri = URI.create(baseUrl + "/ws/tasks?userId=" + userId + "&teamId=" + teamId);
+        return httpClient.newWebSocketBuilder().buildAsync(uri, this);
+    }
+
+    @Override
+    public void onOpen(WebSocket webSocket) {
+        this.webSocket = webSocket;
+        webSocket.request(1);
+    }
+
+    @Override
+    public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+        partial.append(data);
+        if (last) {
+            long now = System.nanoTime();
+            String frame = partial.toString();
+            partial.setLength(0);
+            try {
+                handleFrame(objectMapper.readTree(frame), now);
+            } catch (Exception e) {
+                System.err.println("프레임 파싱 실패 - User: " + userId + ", Error: " + e.getMessage());
+            }
+        }
+        webSocket.request(1);
+        return null;
+    }
+
+    private void handleFrame(JsonNode frame, long receivedAt) {
+        String type = frame.path("type").asText();
+        switch (type) {
+            case "SUBSCRIBED" -> subscribed.countDown();
+            case "TEAM_TASK_UPDATE" -> recordDelivery(frame.path("data"), receivedAt);
+            case "TEAM_TASK_UPDATE_BATCH" -> {
+                for (JsonNode update : frame.path("data").path("updates")) {
+                    recordDelivery(update, receivedAt);
+                }
+            }
+            default -> {
+                // CONNECTION_SUCCESS, TASK_ASSIGNED 등은 측정 대상이 아님
+            }
+        }
+    }
+
+    private void recordDelivery(JsonNode update, long receivedAt) {
+        Long sentAt = sentAtNanos.get(update.path("task").path("id").asText());
+        if (sentAt == null) {
+            return;
+        }
+        histogram.record(receivedAt - sentAt);
+        delivered.incrementAndGet();
+        lastReceivedNanos.accumulateAndGet(receivedAt, Math::max);
+    }
+
+    @Override
+    public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+        closed = true;
+        return null;
+    }
+
+    @Override
+    public void onError(WebSocket webSocket, Throwable error) {
+        closed = true;
+    }
+
+    void close() {
+        WebSocket ws = webSocket;
+        if (ws != null && !closed) {
+            ws.sendClose(WebSocket.NORMAL_CLOSURE, "load test finished");
+        }
+    }
+
+    String getTeamId() {
+        return teamId;
+    }
+
+    long getDelivered() {
+        return delivered.get();
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+}
@@ -0,0 +1,173 @@
+package com.ohange.todoserver.loadtest;
+
+import com.ohange.todoserver.entity.Team;
+import com.ohange.todoserver.entity.TeamMembership;
+import com.ohange.todoserver.entity.TodoTask;
+import com.ohange.todoserver.entity.User;
+import com.ohange.todoserver.service.TodoTaskService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 태스크 쓰기 경로의 JDBC 왕복 횟수 측정
+// 서비스 호출 한 번이 DB와 몇 번 왕복하는지 세고, 같은 호출을 세션 배치 크기 1(배치 없음)로 돌린 결과와 비교한다.
+// Hibernate의 JDBC 배치는 같은 SQL끼리만 묶이므로 쓰기 쪽 하한은 "쓰는 테이블 수"만큼의 executeBatch이다.
+// UUID 식별자는 persist 시점에 프로세스 안에서 만들어지므로 INSERT가 앞당겨지지 않고, 쓰기는 커밋 때 한 번의 flush로 나간다.
+//
+// 알림을 남기는 호출은 커밋 직전에 받는 사람의 읽지 않은 알림 스탬프를 올리고 읽는다 (UPDATE users + SELECT, UnreadCountService).
+//
+// createAndAssignTask: 팀 조회 1 + 스탬프 2 + todo_tasks / task_history(2건) / notifications / outbox_events 배치 4
+// updateTaskStatus:    태스크 잠금 조회 1 + 집계 대상 알림 잠금 조회 1 + 스탬프 2
+//                      + todo_tasks UPDATE / task_history / notifications / outbox_events(사용자 + 팀 2건) 배치 4
+//
+// 실행: ./gradlew loadTest --tests '*TaskWriteRoundTripBenchmark' -Dloadtest.iterations=500
+@SpringBootTest
+@ActiveProfiles("loadtest")
+class TaskWriteRoundTripBenchmark {
+
+	private static final int ITERATIONS = Integer.getInteger("loadtest.iterations", 200);
+	private static final int WARMUP = Integer.getInteger("loadtest.warmup", 50);
+
+	@TestConfiguration
+	static class CounterConfig {
+		@Bean
+		static JdbcRoundTripCounter jdbcRoundTripCounter() {
+			return new JdbcRoundTripCounter();
+		}
+	}
+
+	@Autowired
+	private JdbcRoundTripCounter counter;
+
+	@Autowired
+	private TodoTaskService todoTaskService;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private UUID teamId;
+	private UUID requesterId;
+	private UUID assigneeId;
+
+	@BeforeEach
+	void seed() {
+		String suffix = UUID.randomUUID().toString();
+		transactionTemplate.executeWithoutResult(status -> {
+			Team team = new Team("round-trip-team-" + suffix, null);
+			User requester = new User("rt-requester-" + suffix + "@example.com", "password", "requester");
+			User assignee = new User("rt-assignee-" + suffix + "@example.com", "password", "assignee");
+			entityManager.persist(team);
+			entityManager.persist(requester);
+			entityManager.persist(assignee);
+			entityManager.persist(new TeamMembership(team, requester, TeamMembership.Role.ADMIN));
+			entityManager.persist(new TeamMembership(team, assignee, TeamMembership.Role.MEMBER));
+			teamId = team.getId();
+			requesterId = requester.getId();
+			assigneeId = assignee.getId();
+		});
+	}
+
+	@Test
+	void createAndAssignTaskRoundTrips() {
+		for (int i = 0; i < WARMUP; i++) {
+			createTask("warmup-" + i, 0);
+		}
+
+		Result unbatched = measure(i -> createTask("unbatched-" + i, 1));
+		Result batched = measure(i -> createTask("batched-" + i, 0));
+		report("createAndAssignTask", unbatched, batched);
+
+		// 태스크 1 + 히스토리 2 + 알림 1 + 아웃박스 1 = 5행이 테이블별 배치 4개로 나간다
+		assertThat(batched.batchedStatements()).as("호출당 배치 문장 수").isEqualTo(5.0);
+		assertThat(batched.batches()).as("호출당 executeBatch 수 (테이블당 1)").isEqualTo(4.0);
+		assertThat(batched.roundTrips()).as("호출당 JDBC 왕복 수").isEqualTo(7.0);
+		assertThat(unbatched.roundTrips()).as("배치 없이 호출당 JDBC 왕복 수").isEqualTo(8.0);
+	}
+
+	@Test
+	void updateTaskStatusRoundTrips() {
+		List<UUID> taskIds = new ArrayList<>();
+		for (int i = 0; i < WARMUP + ITERATIONS * 2; i++) {
+			taskIds.add(createTask("status-" + i, 0));
+		}
+		for (int i = 0; i < WARMUP; i++) {
+			updateStatus(taskIds.get(i), 0);
+		}
+
+		Result unbatched = measure(i -> updateStatus(taskIds.get(WARMUP + i), 1));
+		Result batched = measure(i -> updateStatus(taskIds.get(WARMUP + ITERATIONS + i), 0));
+		report("updateTaskStatus", unbatched, batched);
+
+		// 태스크 UPDATE 1 + 히스토리 1 + 알림 1 + 아웃박스 2(담당자/팀) = 5문장이 테이블별 배치 4개로 나간다
+		assertThat(batched.batchedStatements()).as("호출당 배치 문장 수").isEqualTo(5.0);
+		assertThat(batched.batches()).as("호출당 executeBatch 수 (테이블당 1)").isEqualTo(4.0);
+		assertThat(batched.roundTrips()).as("호출당 JDBC 왕복 수").isEqualTo(8.0);
+		assertThat(unbatched.roundTrips()).as("배치 없이 호출당 JDBC 왕복 수").isEqualTo(9.0);
+	}
+
+	// jdbcBatchSize가 0이면 설정값(hibernate.jdbc.batch_size), 1이면 이 세션만 배치 없이 실행
+	private UUID createTask(String title, int jdbcBatchSize) {
+		return transactionTemplate.execute(status -> {
+			applyBatchSize(jdbcBatchSize);
+			return todoTaskService.createAndAssignTask(title, "content", requesterId, assigneeId, teamId, null).getId();
+		});
+	}
+
+	private void updateStatus(UUID taskId, int jdbcBatchSize) {
+		transactionTemplate.executeWithoutResult(status -> {
+			applyBatchSize(jdbcBatchSize);
+			todoTaskService.updateTaskStatus(taskId, requesterId, TodoTask.TodoTaskStatus.IN_PROGRESS);
+		});
+	}
+
+	private void applyBatchSize(int jdbcBatchSize) {
+		if (jdbcBatchSize > 0) {
+			entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+		}
+	}
+
+	private Result measure(IntConsumer call) {
+		long roundTrips = 0;
+		long batches = 0;
+		long batchedStatements = 0;
+		long started = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			counter.start();
+			call.accept(i);
+			JdbcRoundTripCounter.Counts counts = counter.stop();
+			roundTrips += counts.getRoundTrips();
+			batches += counts.getBatches();
+			batchedStatements += counts.getBatchedStatements();
+		}
+		double elapsedMs = (System.nanoTime() - started) / 1_000_000.0;
+		return new Result((double) roundTrips / ITERATIONS, (double) batches / ITERATIONS,
+				(double) batchedStatements / ITERATIONS, elapsedMs / ITERATIONS);
+	}
+
+	private static void report(String name, Result unbatched, Result batched) {
+		System.out.println("==== " + name + " JDBC 왕복 측정 (" + ITERATIONS + "회) ====");
+		System.out.printf("배치 없음: 호출당 왕복 %.2f, 호출당 %.3f ms%n", unbatched.roundTrips(), unbatched.millis());
+		System.out.printf("배치 사용: 호출당 왕복 %.2f (executeBatch %.2f, 배치 문장 %.2f), 호출당 %.3f ms%n",
+				batched.roundTrips(), batched.batches(), batched.batchedStatements(), batched.millis());
+	}
+
+	private record Result(double roundTrips, double batches, double batchedStatements, double millis) {
+	}
+}
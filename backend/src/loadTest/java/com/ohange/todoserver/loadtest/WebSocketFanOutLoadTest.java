@@ -0,0 +1,273 @@
+package com.ohange.todoserver.loadtest;
+
+import com.ohange.todoserver.entity.Team;
+import com.ohange.todoserver.entity.TeamMembership;
+import com.ohange.todoserver.entity.TodoTask;
+import com.ohange.todoserver.entity.User;
+import com.ohange.todoserver.websocket.TaskWebSocketHandler;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// WebSocket 팀 브로드캐스트 부하 테스트
+// H2로 서버를 띄우고 수천 개의 가상 클라이언트를 여러 팀에 나눠 /ws/tasks에 접속시킨 뒤,
+// TodoTaskController로 태스크 상태를 바꿔 팀 업데이트가 모든 구독자에게 도달하는지 측정한다.
+//
+// 실행: ./gradlew loadTest -Dloadtest.clients=10000 -Dloadtest.teams=200 -Dloadtest.mutations=5000
+// (클라이언트와 서버 소켓을 합쳐 clients x 2 개의 파일 디스크립터가 필요하므로 ulimit -n 확인)
+//
+// 결과: 종단 지연 백분위(HTTP 요청 시작 -> 클라이언트 수신), 초당 전달 메시지 수, 세션당 힙, 누락 전달 수
+// 세션당 힙은 같은 JVM의 클라이언트 측 객체를 포함하므로 서버 메모리의 상한으로 봐야 한다.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+class WebSocketFanOutLoadTest {
+
+	private static final int CLIENTS = Integer.getInteger("loadtest.clients", 2000);
+	private static final int TEAMS = Integer.getInteger("loadtest.teams", 50);
+	private static final int MUTATIONS = Integer.getInteger("loadtest.mutations", 1000);
+	// 측정 전에 순차로 보내는 변경 수 (JIT, 커넥션 풀, 첫 쿼리 준비 비용을 측정에서 제외)
+	private static final int WARMUP_MUTATIONS = Integer.getInteger("loadtest.warmup", 50);
+	private static final int MUTATIONS_PER_SECOND = Integer.getInteger("loadtest.rate", 200);
+	private static final int CONNECT_CONCURRENCY = Integer.getInteger("loadtest.connect-concurrency", 200);
+	private static final long DRAIN_TIMEOUT_MS = Long.getLong("loadtest.drain-timeout-ms", 30_000);
+	private static final long MAX_DROPPED = Long.getLong("loadtest.max-dropped", 0);
+	private static final double MAX_P99_MS = Double.parseDouble(System.getProperty("loadtest.max-p99-ms", "0"));
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private TaskWebSocketHandler webSocketHandler;
+
+	@Test
+	void teamBroadcastFanOut() throws Exception {
+		Fixture fixture = seed();
+
+		ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+		HttpClient httpClient = HttpClient.newBuilder()
+				.executor(executor)
+				.connectTimeout(Duration.ofSeconds(10))
+				.build();
+
+		Map<String, Long> sentAtNanos = new ConcurrentHashMap<>();
+		LatencyHistogram histogram = new LatencyHistogram();
+		LatencyHistogram requestHistogram = new LatencyHistogram();
+		AtomicLong lastReceivedNanos = new AtomicLong();
+
+		long heapBefore = usedHeapAfterGc();
+
+		// 1. 클라이언트 접속 (동시 핸드셰이크 수 제한)
+		List<SimulatedClient> clients = new ArrayList<>(CLIENTS);
+		CountDownLatch subscribed = new CountDownLatch(CLIENTS);
+		Semaphore handshakes = new Semaphore(CONNECT_CONCURRENCY);
+		long connectStart = System.nanoTime();
+		for (int i = 0; i < CLIENTS; i++) {
+			SimulatedClient client = new SimulatedClient(fixture.userIds.get(i), fixture.teamOfUser.get(i),
+					sentAtNanos, histogram, lastReceivedNanos, subscribed);
+			clients.add(client);
+			handshakes.acquire();
+			client.connect(httpClient, "ws://localhost:" + port).whenComplete((ws, error) -> {
+				handshakes.release();
+				if (error != null) {
+					System.err.println("클라이언트 접속 실패: " + error.getMessage());
+				}
+			});
+		}
+		boolean allSubscribed = subscribed.await(60, TimeUnit.SECONDS);
+		long connectMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - connectStart);
+		assertThat(allSubscribed).as("모든 클라이언트가 팀 채널을 구독해야 함").isTrue();
+
+		long heapPerSession = (usedHeapAfterGc() - heapBefore) / CLIENTS;
+
+		// 팀별 구독자 수 = 태스크 변경 1건당 기대 전달 수
+		Map<String, Integer> subscribersPerTeam = new HashMap<>();
+		for (SimulatedClient client : clients) {
+			subscribersPerTeam.merge(client.getTeamId(), 1, Integer::sum);
+		}
+
+		// 2. 워밍업 (sentAtNanos에 넣지 않으므로 지연/전달 수에 잡히지 않음)
+		for (int i = 0; i < WARMUP_MUTATIONS; i++) {
+			httpClient.send(statusChange(fixture.tasks.get(MUTATIONS + i)), HttpResponse.BodyHandlers.discarding());
+		}
+		Thread.sleep(1000);
+
+		// 3. 일정한 속도로 태스크 상태 변경 (태스크마다 한 번씩만 바꿔 병합/중복 제거와 무관하게 1:1로 셈)
+		AtomicLong expected = new AtomicLong();
+		AtomicLong failedRequests = new AtomicLong();
+		long intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, MUTATIONS_PER_SECOND);
+		long driveStart = System.nanoTime();
+		CountDownLatch requestsDone = new CountDownLatch(MUTATIONS);
+		for (int i = 0; i < MUTATIONS; i++) {
+			LockSupport.parkNanos(driveStart + i * intervalNanos - System.nanoTime());
+
+			SeededTask task = fixture.tasks.get(i);
+			executor.execute(() -> {
+				try {
+					long sentAt = System.nanoTime();
+					sentAtNanos.put(task.taskId, sentAt);
+					HttpResponse<Void> response = httpClient.send(statusChange(task), HttpResponse.BodyHandlers.discarding());
+					requestHistogram.record(System.nanoTime() - sentAt);
+					if (response.statusCode() == 200) {
+						expected.addAndGet(subscribersPerTeam.getOrDefault(task.teamId, 0));
+					} else {
+						failedRequests.incrementAndGet();
+					}
+				} catch (Exception e) {
+					failedRequests.incrementAndGet();
+				} finally {
+					requestsDone.countDown();
+				}
+			});
+		}
+		requestsDone.await(DRAIN_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+		long driveMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - driveStart);
+
+		// 4. 남은 전달 대기
+		long deadline = System.currentTimeMillis() + DRAIN_TIMEOUT_MS;
+		while (delivered(clients) < expected.get() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(100);
+		}
+
+		long delivered = delivered(clients);
+		long dropped = Math.max(0, expected.get() - delivered);
+		long disconnected = clients.stream().filter(SimulatedClient::isClosed).count();
+		double deliverySeconds = Math.max(1, lastReceivedNanos.get() - driveStart) / 1_000_000_000.0;
+
+		System.out.println("==== WebSocket fan-out 부하 테스트 결과 ====");
+		System.out.printf("클라이언트: %d, 팀: %d, 서버 세션: %d (접속 %d ms)%n",
+				CLIENTS, TEAMS, webSocketHandler.getConnectedSessionCount(), connectMillis);
+		System.out.printf("태스크 변경: %d건 (%d ms, 실패 %d건), 목표 %d건/s%n",
+				MUTATIONS, driveMillis, failedRequests.get(), MUTATIONS_PER_SECOND);
+		System.out.printf("전달: %d / 기대 %d, 누락 %d, 끊긴 클라이언트 %d%n",
+				delivered, expected.get(), dropped, disconnected);
+		System.out.printf("처리량: %.0f msg/s%n", delivered / deliverySeconds);
+		System.out.printf("지연(ms): p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f max=%.1f%n",
+				histogram.percentileMillis(50), histogram.percentileMillis(90),
+				histogram.percentileMillis(99), histogram.percentileMillis(99.9), histogram.maxMillis());
+		System.out.printf("HTTP 응답 지연(ms): p50=%.1f p90=%.1f p99=%.1f max=%.1f%n",
+				requestHistogram.percentileMillis(50), requestHistogram.percentileMillis(90),
+				requestHistogram.percentileMillis(99), requestHistogram.maxMillis());
+		System.out.printf("세션당 힙(클라이언트 포함 상한): %d bytes%n", heapPerSession);
+
+		clients.forEach(SimulatedClient::close);
+		executor.shutdownNow();
+
+		assertThat(dropped).as("누락 전달 수").isLessThanOrEqualTo(MAX_DROPPED);
+		if (MAX_P99_MS > 0) {
+			assertThat(histogram.percentileMillis(99)).as("p99 지연(ms)").isLessThanOrEqualTo(MAX_P99_MS);
+		}
+	}
+
+	private HttpRequest statusChange(SeededTask task) {
+		String body = "{\"userId\":\"" + task.requesterId + "\",\"status\":\"IN_PROGRESS\"}";
+		return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks/" + task.taskId + "/status"))
+				.header("Content-Type", "application/json")
+				.PUT(HttpRequest.BodyPublishers.ofString(body))
+				.build();
+	}
+
+	private static long delivered(List<SimulatedClient> clients) {
+		long sum = 0;
+		for (SimulatedClient client : clients) {
+			sum += client.getDelivered();
+		}
+		return sum;
+	}
+
+	private static long usedHeapAfterGc() throws InterruptedException {
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+			Thread.sleep(200);
+		}
+		return memory.getHeapMemoryUsage().getUsed();
+	}
+
+	// 사용자(클라이언트당 1명), 팀, 멤버십, 변경 대상 태스크(워밍업 포함 변경 1건당 1개)를 JPA로 직접 생성
+	private Fixture seed() {
+		Fixture fixture = new Fixture();
+		List<Team> teams = new ArrayList<>(TEAMS);
+		List<List<User>> members = new ArrayList<>(TEAMS);
+
+		transactionTemplate.executeWithoutResult(status -> {
+			for (int t = 0; t < TEAMS; t++) {
+				Team team = new Team("load-team-" + t, null);
+				entityManager.persist(team);
+				teams.add(team);
+				members.add(new ArrayList<>());
+			}
+			for (int i = 0; i < CLIENTS; i++) {
+				Team team = teams.get(i % TEAMS);
+				User user = new User("load-" + i + "@example.com", "password", "load-user-" + i);
+				entityManager.persist(user);
+				entityManager.persist(new TeamMembership(team, user, TeamMembership.Role.MEMBER));
+				members.get(i % TEAMS).add(user);
+				fixture.userIds.add(user.getId().toString());
+				fixture.teamOfUser.add(team.getId().toString());
+				flushEvery(i);
+			}
+			for (int i = 0; i < MUTATIONS + WARMUP_MUTATIONS; i++) {
+				int t = i % TEAMS;
+				List<User> teamMembers = members.get(t);
+				User requester = teamMembers.get(0);
+				User assignee = teamMembers.get(i % teamMembers.size());
+				TodoTask task = new TodoTask("load-task-" + i, null, requester, assignee, teams.get(t), null);
+				task.setStatus(TodoTask.TodoTaskStatus.PENDING);
+				entityManager.persist(task);
+				fixture.tasks.add(new SeededTask(task.getId().toString(), teams.get(t).getId().toString(),
+						requester.getId().toString()));
+				flushEvery(i);
+			}
+		});
+		return fixture;
+	}
+
+	private void flushEvery(int i) {
+		if (i % 500 == 499) {
+			entityManager.flush();
+			entityManager.clear();
+		}
+	}
+
+	private static class Fixture {
+		private final List<String> userIds = new ArrayList<>();
+		private final List<String> teamOfUser = new ArrayList<>();
+		private final List<SeededTask> tasks = new ArrayList<>();
+	}
+
+	private record SeededTask(String taskId, String teamId, String requesterId) {
+	}
+
+}
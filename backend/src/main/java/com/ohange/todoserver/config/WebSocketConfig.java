@@ -1,5 +1,6 @@
 package com.ohange.todoserver.config;
 
+import com.ohange.todoserver.websocket.TaskHandshakeInterceptor;
 import com.ohange.todoserver.websocket.TaskWebSocketHandler;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
@@ -14,14 +15,19 @@ public class WebSocketConfig implements WebSocketConfigurer {
     @Autowired
     private TaskWebSocketHandler taskWebSocketHandler;
 
+    @Autowired
+    private TaskHandshakeInterceptor taskHandshakeInterceptor;
+
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
         // Flutter 앱용 순수 WebSocket 엔드포인트
         registry.addHandler(taskWebSocketHandler, "/ws/tasks")
+                .addInterceptors(taskHandshakeInterceptor)
                 .setAllowedOrigins("*"); // 개발용, 운영시 제한 필요
         
         // 웹 브라우저용 SockJS 엔드포인트 (필요시)
         registry.addHandler(taskWebSocketHandler, "/ws/tasks-sockjs")
+                .addInterceptors(taskHandshakeInterceptor)
                 .setAllowedOrigins("*")
                 .withSockJS();
     }
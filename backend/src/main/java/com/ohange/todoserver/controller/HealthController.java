@@ -1,18 +0,0 @@
-package com.ohange.todoserver.controller;
-
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RestController;
-
-import java.util.Map;
-
-@RestController
-public class HealthController {
-
-    @GetMapping("/api/health")
-    public Map<String, String> health() {
-        return Map.of(
-            "status", "UP",
-            "message", "서버가 정상적으로 실행 중입니다."
-        );
-    }
-}
\ No newline at end of file
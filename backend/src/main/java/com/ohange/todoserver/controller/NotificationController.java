@@ -2,12 +2,19 @@ package com.ohange.todoserver.controller;
 
 import com.ohange.todoserver.entity.Notification;
 import com.ohange.todoserver.repository.NotificationRepository;
+import com.ohange.todoserver.service.CursorPage;
+import com.ohange.todoserver.service.NdjsonWriter;
+import com.ohange.todoserver.service.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
@@ -20,6 +27,13 @@ public class NotificationController {
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private NotificationService notificationService;
+
+    // 스트리밍 응답 동시 실행 수 제한 (한도 초과 시 503)
+    @Autowired
+    private StreamingLimiter streamingLimiter;
+
     // 사용자의 모든 알림 조회
     @GetMapping("/my")
     public ResponseEntity<List<Notification>> getMyNotifications(@RequestParam UUID userId) {
@@ -27,7 +41,34 @@ public class NotificationController {
         return ResponseEntity.ok(notifications);
     }
 
-    // 사용자의 알림 페이징 조회
+    // 사용자의 모든 알림 스트리밍 (NDJSON, 한 줄에 알림 하나 - 전체 목록을 메모리에 올리지 않음)
+    // 동시 스트림 한도를 넘으면 503 (StreamingLimiter)
+    @GetMapping("/my/stream")
+    public ResponseEntity<StreamingResponseBody> streamMyNotifications(@RequestParam UUID userId, NativeWebRequest request) {
+        if (!streamingLimiter.tryAcquire(request)) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        StreamingResponseBody body = out -> notificationService.streamNotifications(userId, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NdjsonWriter.MEDIA_TYPE))
+                .body(body);
+    }
+
+    // 사용자의 알림 피드 (커서 기반, 깊은 페이지도 조회 비용이 같음)
+    // 첫 요청은 cursor 없이, 이후에는 응답의 nextCursor를 그대로 전달
+    @GetMapping("/my/feed")
+    public ResponseEntity<CursorPage<NotificationRepository.FeedRow>> getMyNotificationFeed(
+            @RequestParam UUID userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(notificationService.getFeed(userId, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        }
+    }
+
+    // 사용자의 알림 페이징 조회 (오프셋 방식, 페이지마다 COUNT 실행 - 새 클라이언트는 /my/feed 사용)
     @GetMapping("/my/paged")
     public ResponseEntity<Page<Notification>> getMyNotificationsPaged(
             @RequestParam UUID userId,
@@ -45,28 +86,40 @@ public class NotificationController {
         return ResponseEntity.ok(notifications);
     }
 
-    // 읽지 않은 알림 개수 조회
+    // 읽지 않은 알림 개수 조회 (메모리 캐시, 변경 시 WebSocket UNREAD_COUNT로도 push됨)
     @GetMapping("/my/unread/count")
     public ResponseEntity<NotificationCountResponse> getUnreadNotificationCount(@RequestParam UUID userId) {
-        long count = notificationRepository.countByUserIdAndIsReadFalse(userId);
+        long count = notificationService.getUnreadCount(userId);
         return ResponseEntity.ok(new NotificationCountResponse(count));
     }
 
     // 특정 알림을 읽음으로 표시
     @PutMapping("/{notificationId}/read")
     public ResponseEntity<String> markAsRead(@PathVariable UUID notificationId) {
-        int updated = notificationRepository.markAsRead(notificationId);
-        if (updated > 0) {
+        try {
+            notificationService.markAsRead(notificationId);
             return ResponseEntity.ok("알림이 읽음으로 표시되었습니다.");
-        } else {
-            return ResponseEntity.badRequest().body("알림을 찾을 수 없습니다.");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // 여러 알림을 한 번에 읽음으로 표시 (notificationIds 또는 upToId 중 하나, 응답에 새 읽지 않은 알림 수 포함)
+    // 잘못된 요청은 다른 읽음/삭제 API처럼 400과 오류 메시지로 응답
+    @PutMapping("/my/read")
+    public ResponseEntity<?> markAsReadBulk(@RequestBody BulkReadRequest request) {
+        try {
+            return ResponseEntity.ok(notificationService.markAsRead(
+                    request.getUserId(), request.getNotificationIds(), request.getUpToId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
     // 사용자의 모든 알림을 읽음으로 표시
     @PutMapping("/my/read-all")
     public ResponseEntity<String> markAllAsRead(@RequestParam UUID userId) {
-        int updated = notificationRepository.markAllAsReadByUserId(userId);
+        int updated = notificationService.markAllAsRead(userId);
         return ResponseEntity.ok(updated + "개의 알림이 읽음으로 표시되었습니다.");
     }
 
@@ -80,15 +133,28 @@ public class NotificationController {
     // 알림 삭제
     @DeleteMapping("/{notificationId}")
     public ResponseEntity<String> deleteNotification(@PathVariable UUID notificationId) {
-        if (notificationRepository.existsById(notificationId)) {
-            notificationRepository.deleteById(notificationId);
+        try {
+            notificationService.deleteNotification(notificationId);
             return ResponseEntity.ok("알림이 삭제되었습니다.");
-        } else {
-            return ResponseEntity.badRequest().body("알림을 찾을 수 없습니다.");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
     // DTO 클래스
+    public static class BulkReadRequest {
+        private UUID userId;
+        private List<UUID> notificationIds;
+        private UUID upToId;
+
+        public UUID getUserId() { return userId; }
+        public void setUserId(UUID userId) { this.userId = userId; }
+        public List<UUID> getNotificationIds() { return notificationIds; }
+        public void setNotificationIds(List<UUID> notificationIds) { this.notificationIds = notificationIds; }
+        public UUID getUpToId() { return upToId; }
+        public void setUpToId(UUID upToId) { this.upToId = upToId; }
+    }
+
     public static class NotificationCountResponse {
         private final long count;
 
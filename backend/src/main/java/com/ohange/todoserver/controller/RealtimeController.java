@@ -0,0 +1,51 @@
+package com.ohange.todoserver.controller;
+
+import com.ohange.todoserver.service.PresenceService;
+import com.ohange.todoserver.service.TeamMembershipIndex;
+import com.ohange.todoserver.websocket.DeliveryStats;
+import com.ohange.todoserver.websocket.TaskWebSocketHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/realtime")
+@CrossOrigin(origins = "*") // 개발용, 운영 시 제한 필요
+public class RealtimeController {
+
+    @Autowired
+    private PresenceService presenceService;
+
+    @Autowired
+    private TaskWebSocketHandler webSocketHandler;
+
+    @Autowired
+    private TeamMembershipIndex membershipIndex;
+
+    // 팀 접속 현황 스냅샷 (이후 변화는 WebSocket PRESENCE_DIFF로 수신)
+    @GetMapping("/teams/{teamId}/presence")
+    public ResponseEntity<PresenceService.PresenceSnapshot> getTeamPresence(
+            @PathVariable UUID teamId,
+            @RequestParam UUID userId) {
+        try {
+            return ResponseEntity.ok(presenceService.getTeamPresence(teamId, userId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        }
+    }
+
+    // 이 노드의 메시지 타입별 백프레셔 카운터 (버림/교체/버퍼 초과로 인한 세션 종료, 기동 이후 누적)
+    @GetMapping("/delivery-stats")
+    public ResponseEntity<Map<String, DeliveryStats.TypeStats>> getDeliveryStats() {
+        return ResponseEntity.ok(webSocketHandler.getDeliveryStats());
+    }
+
+    // 이 노드의 팀 멤버십 인덱스 적중/미적중/무효화 카운터 (기동 이후 누적)
+    @GetMapping("/membership-index-stats")
+    public ResponseEntity<TeamMembershipIndex.Stats> getMembershipIndexStats() {
+        return ResponseEntity.ok(membershipIndex.getStats());
+    }
+}
@@ -0,0 +1,56 @@
+package com.ohange.todoserver.controller;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// NDJSON 스트리밍 응답 동시 실행 수 제한
+// 스트리밍 응답은 다운로드가 끝날 때까지 JDBC 커넥션 하나와 읽기 전용 트랜잭션을 잡고 있으므로,
+// 느린 클라이언트 몇 개가 커넥션 풀을 다 차지해 일반 API까지 멈추지 않도록 동시에 열린 스트림 수를 제한한다.
+// 한도를 넘은 요청은 응답 본문을 시작하기 전에 503으로 거절한다.
+// 허용된 스트림도 spring.mvc.async.request-timeout이 지나면 중단된다 (타임아웃 안에 끝나지 않는 다운로드는 커서 API 사용).
+// 슬롯은 비동기 요청이 끝날 때(정상 완료, 타임아웃, 클라이언트 끊김 모두) 반납되므로 본문이 실행되지 못한 경우에도 새지 않는다.
+@Component
+public class StreamingLimiter {
+
+    // 동시에 열 수 있는 스트림 수 (커넥션 풀 크기보다 충분히 작게)
+    @Value("${streaming.max-concurrent:4}")
+    private int maxConcurrent;
+
+    private Semaphore permits;
+
+    @PostConstruct
+    public void init() {
+        permits = new Semaphore(maxConcurrent);
+    }
+
+    // 슬롯을 얻으면 요청이 끝날 때 반납하도록 등록하고 true, 한도를 넘었으면 false
+    public boolean tryAcquire(NativeWebRequest request) {
+        if (!permits.tryAcquire()) {
+            return false;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(StreamingLimiter.class.getName(),
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                        if (released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                });
+        return true;
+    }
+
+    // 현재 열려 있는 스트림 수
+    public int getActiveCount() {
+        return maxConcurrent - permits.availablePermits();
+    }
+}
@@ -1,10 +1,18 @@
 package com.ohange.todoserver.controller;
 
 import com.ohange.todoserver.entity.TodoTask;
+import com.ohange.todoserver.repository.TodoTaskRepository;
+import com.ohange.todoserver.service.CursorPage;
+import com.ohange.todoserver.service.NdjsonWriter;
 import com.ohange.todoserver.service.TodoTaskService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -18,6 +26,10 @@ public class TodoTaskController {
     @Autowired
     private TodoTaskService todoTaskService;
 
+    // 스트리밍 응답 동시 실행 수 제한 (한도 초과 시 503)
+    @Autowired
+    private StreamingLimiter streamingLimiter;
+
     // 태스크 생성 및 할당
     @PostMapping
     public ResponseEntity<TaskResponse> createTask(@RequestBody CreateTaskRequest request) {
@@ -76,19 +88,106 @@ public class TodoTaskController {
         }
     }
 
-    // 팀의 모든 태스크 조회
+    // 태스크 마감일 변경 (마감 임박 알림도 새 마감일 기준으로 다시 예약)
+    @PutMapping("/{taskId}/deadline")
+    public ResponseEntity<TaskResponse> updateTaskDeadline(
+            @PathVariable UUID taskId,
+            @RequestBody UpdateDeadlineRequest request) {
+        try {
+            TodoTask task = todoTaskService.updateTaskDeadline(taskId, request.getRequesterId(), request.getDeadline());
+            return ResponseEntity.ok(new TaskResponse(task, "태스크 마감일이 변경되었습니다."));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new TaskResponse(null, e.getMessage()));
+        }
+    }
+
+    // 팀의 모든 태스크 조회 (페이지 없음 - 보드 로드는 /team/{teamId}/query 사용)
     @GetMapping("/team/{teamId}")
-    public ResponseEntity<List<TodoTask>> getTeamTasks(
+    public ResponseEntity<List<TodoTaskRepository.TaskRow>> getTeamTasks(
             @PathVariable UUID teamId,
             @RequestParam UUID userId) {
         try {
-            List<TodoTask> tasks = todoTaskService.getTeamTasks(teamId, userId);
+            List<TodoTaskRepository.TaskRow> tasks = todoTaskService.getTeamTasks(teamId, userId);
             return ResponseEntity.ok(tasks);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(null);
         }
     }
 
+    // 팀 태스크 조건 조회 (보드 로드용, 키셋 페이지네이션)
+    // status는 여러 번 지정 가능, deadlineFrom 포함 / deadlineTo 미포함, sort=CREATED(기본) | DEADLINE
+    // 다음 페이지는 응답의 nextCursor를 같은 조건과 함께 전달 (다른 정렬/필터로 만든 커서는 400)
+    @GetMapping("/team/{teamId}/query")
+    public ResponseEntity<CursorPage<TodoTaskRepository.TaskRow>> queryTeamTasks(
+            @PathVariable UUID teamId,
+            @RequestParam UUID userId,
+            @RequestParam(required = false) List<TodoTask.TodoTaskStatus> status,
+            @RequestParam(required = false) UUID assigneeId,
+            @RequestParam(required = false) UUID requesterId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime deadlineFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime deadlineTo,
+            @RequestParam(defaultValue = "CREATED") TodoTaskRepository.Sort sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        TodoTaskRepository.TeamTaskQuery query = new TodoTaskRepository.TeamTaskQuery();
+        query.setTeamId(teamId);
+        query.setStatuses(status);
+        query.setAssigneeId(assigneeId);
+        query.setRequesterId(requesterId);
+        query.setDeadlineFrom(deadlineFrom);
+        query.setDeadlineTo(deadlineTo);
+        query.setSort(sort);
+        try {
+            return ResponseEntity.ok(todoTaskService.queryTeamTasks(userId, query, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        }
+    }
+
+    // 팀의 모든 태스크 스트리밍 (NDJSON, 한 줄에 태스크 하나)
+    // 멤버가 아니면 본문을 시작하기 전에 400, 동시 스트림 한도를 넘으면 503 (StreamingLimiter)
+    @GetMapping("/team/{teamId}/stream")
+    public ResponseEntity<StreamingResponseBody> streamTeamTasks(
+            @PathVariable UUID teamId,
+            @RequestParam UUID userId,
+            NativeWebRequest request) {
+        try {
+            todoTaskService.checkTeamMember(teamId, userId);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!streamingLimiter.tryAcquire(request)) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+
+        StreamingResponseBody body = out -> todoTaskService.streamTeamTasks(teamId, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NdjsonWriter.MEDIA_TYPE))
+                .body(body);
+    }
+
+    // 팀의 태스크 히스토리 스트리밍 (NDJSON, 한 줄에 히스토리 하나)
+    // 멤버가 아니면 400, 동시 스트림 한도를 넘으면 503
+    @GetMapping("/team/{teamId}/history/stream")
+    public ResponseEntity<StreamingResponseBody> streamTeamHistory(
+            @PathVariable UUID teamId,
+            @RequestParam UUID userId,
+            NativeWebRequest request) {
+        try {
+            todoTaskService.checkTeamMember(teamId, userId);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!streamingLimiter.tryAcquire(request)) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+
+        StreamingResponseBody body = out -> todoTaskService.streamTeamHistory(teamId, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NdjsonWriter.MEDIA_TYPE))
+                .body(body);
+    }
+
     // 사용자의 태스크들 조회
     @GetMapping("/my")
     public ResponseEntity<TodoTaskService.UserTasksResponse> getUserTasks(@RequestParam UUID userId) {
@@ -98,15 +197,15 @@ public class TodoTaskController {
 
     // 사용자의 완료되지 않은 태스크들 조회
     @GetMapping("/my/pending")
-    public ResponseEntity<List<TodoTask>> getPendingTasks(@RequestParam UUID userId) {
-        List<TodoTask> tasks = todoTaskService.getPendingTasksByUser(userId);
+    public ResponseEntity<List<TodoTaskRepository.TaskRow>> getPendingTasks(@RequestParam UUID userId) {
+        List<TodoTaskRepository.TaskRow> tasks = todoTaskService.getPendingTasksByUser(userId);
         return ResponseEntity.ok(tasks);
     }
 
     // 마감일이 임박한 태스크들 조회
     @GetMapping("/team/{teamId}/upcoming")
-    public ResponseEntity<List<TodoTask>> getUpcomingDeadlineTasks(@PathVariable UUID teamId) {
-        List<TodoTask> tasks = todoTaskService.getUpcomingDeadlineTasks(teamId);
+    public ResponseEntity<List<TodoTaskRepository.TaskRow>> getUpcomingDeadlineTasks(@PathVariable UUID teamId) {
+        List<TodoTaskRepository.TaskRow> tasks = todoTaskService.getUpcomingDeadlineTasks(teamId);
         return ResponseEntity.ok(tasks);
     }
 
@@ -171,16 +270,71 @@ public class TodoTaskController {
         public void setRequesterId(UUID requesterId) { this.requesterId = requesterId; }
     }
 
+    public static class UpdateDeadlineRequest {
+        private UUID requesterId;
+        private LocalDateTime deadline;
+
+        public UUID getRequesterId() { return requesterId; }
+        public void setRequesterId(UUID requesterId) { this.requesterId = requesterId; }
+        public LocalDateTime getDeadline() { return deadline; }
+        public void setDeadline(LocalDateTime deadline) { this.deadline = deadline; }
+    }
+
     public static class TaskResponse {
-        private TodoTask task;
+        private TaskView task;
         private String message;
 
         public TaskResponse(TodoTask task, String message) {
-            this.task = task;
+            this.task = task != null ? new TaskView(task) : null;
             this.message = message;
         }
 
-        public TodoTask getTask() { return task; }
+        public TaskView getTask() { return task; }
         public String getMessage() { return message; }
     }
+
+    // 변경 API 응답용 태스크 (엔티티를 그대로 직렬화하면 연관관계를 따라 순환하므로 필요한 값만 복사)
+    // 연관 엔티티는 id만 읽어 지연 로딩 프록시를 초기화하지 않는다.
+    public static class TaskView {
+        private final UUID id;
+        private final String title;
+        private final String content;
+        private final TodoTask.TodoTaskStatus status;
+        private final UUID requesterId;
+        private final UUID assigneeId;
+        private final UUID teamId;
+        private final LocalDateTime deadline;
+        private final String completionNote;
+        private final LocalDateTime createdAt;
+        private final LocalDateTime updatedAt;
+        private final LocalDateTime completedAt;
+
+        public TaskView(TodoTask task) {
+            this.id = task.getId();
+            this.title = task.getTitle();
+            this.content = task.getContent();
+            this.status = task.getStatus();
+            this.requesterId = task.getRequester() != null ? task.getRequester().getId() : null;
+            this.assigneeId = task.getAssignee() != null ? task.getAssignee().getId() : null;
+            this.teamId = task.getTeam() != null ? task.getTeam().getId() : null;
+            this.deadline = task.getDeadline();
+            this.completionNote = task.getCompletionNote();
+            this.createdAt = task.getCreatedAt();
+            this.updatedAt = task.getUpdatedAt();
+            this.completedAt = task.getCompletedAt();
+        }
+
+        public UUID getId() { return id; }
+        public String getTitle() { return title; }
+        public String getContent() { return content; }
+        public TodoTask.TodoTaskStatus getStatus() { return status; }
+        public UUID getRequesterId() { return requesterId; }
+        public UUID getAssigneeId() { return assigneeId; }
+        public UUID getTeamId() { return teamId; }
+        public LocalDateTime getDeadline() { return deadline; }
+        public String getCompletionNote() { return completionNote; }
+        public LocalDateTime getCreatedAt() { return createdAt; }
+        public LocalDateTime getUpdatedAt() { return updatedAt; }
+        public LocalDateTime getCompletedAt() { return completedAt; }
+    }
 }
\ No newline at end of file
@@ -43,10 +43,20 @@ public class Notification {
     @Column(name = "is_read", nullable = false)
     private Boolean isRead = false;
 
+    // 이 알림에 합쳐진 이벤트 수 (집계되지 않은 알림은 1)
+    @Column(name = "aggregate_count", nullable = false)
+    private Integer aggregateCount = 1;
+
+    // 처음 만들어진 시각 (피드 커서와 월 파티션의 기준이므로 집계되어도 바꾸지 않음)
     @CreationTimestamp
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    // 마지막으로 합쳐진 이벤트 시각 (집계되지 않은 알림은 createdAt과 같음)
+    @CreationTimestamp
+    @Column(name = "last_event_at")
+    private LocalDateTime lastEventAt;
+
     // 알림 타입 enum
     public enum NotificationType {
         TASK_ASSIGNED,      // 태스크 할당됨
@@ -134,6 +144,14 @@ public class Notification {
         this.isRead = isRead;
     }
 
+    public Integer getAggregateCount() {
+        return aggregateCount;
+    }
+
+    public void setAggregateCount(Integer aggregateCount) {
+        this.aggregateCount = aggregateCount;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -141,4 +159,12 @@ public class Notification {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public LocalDateTime getLastEventAt() {
+        return lastEventAt;
+    }
+
+    public void setLastEventAt(LocalDateTime lastEventAt) {
+        this.lastEventAt = lastEventAt;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,141 @@
+package com.ohange.todoserver.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// 실시간 이벤트 아웃박스
+// 태스크 변경과 같은 트랜잭션에서 기록되고, 커밋 이후 릴레이가 WebSocket으로 전송한 뒤 삭제한다.
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_type", nullable = false, length = 10)
+    private TargetType targetType;
+
+    // 수신 대상 ID (userId 또는 teamId)
+    @Column(name = "target_id", nullable = false, length = 64)
+    private String targetId;
+
+    // WebSocketMessage 타입 (TASK_ASSIGNED, TEAM_TASK_UPDATE 등)
+    @Column(name = "message_type", nullable = false, length = 50)
+    private String messageType;
+
+    // MessageCodec으로 직렬화한 WebSocketMessage data (JSON 문자열 그대로 저장)
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private String payload;
+
+    // 같은 키를 가진 미전송 이벤트는 마지막 것만 전송 (null이면 중복 제거 안 함)
+    @Column(name = "dedup_key", length = 200)
+    private String dedupKey;
+
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    // DB 시퀀스가 INSERT 때 부여하는 순번 (릴레이 순서와 같은 키의 신구 비교 기준, 노드 시계와 무관)
+    // 엔티티에는 쓰지 않고 릴레이가 읽어 온 행에서만 사용
+    @Column(name = "seq", insertable = false, updatable = false, columnDefinition = "BIGSERIAL")
+    private Long seq;
+
+    @CreationTimestamp
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    // 수신 대상 타입 enum
+    public enum TargetType {
+        USER,   // 특정 사용자
+        TEAM    // 팀 전체
+    }
+
+    // 기본 생성자
+    public OutboxEvent() {}
+
+    // 생성자
+    public OutboxEvent(TargetType targetType, String targetId, String messageType,
+                       String payload, String dedupKey) {
+        this.targetType = targetType;
+        this.targetId = targetId;
+        this.messageType = messageType;
+        this.payload = payload;
+        this.dedupKey = dedupKey;
+    }
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public TargetType getTargetType() {
+        return targetType;
+    }
+
+    public void setTargetType(TargetType targetType) {
+        this.targetType = targetType;
+    }
+
+    public String getTargetId() {
+        return targetId;
+    }
+
+    public void setTargetId(String targetId) {
+        this.targetId = targetId;
+    }
+
+    public String getMessageType() {
+        return messageType;
+    }
+
+    public void setMessageType(String messageType) {
+        this.messageType = messageType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public String getDedupKey() {
+        return dedupKey;
+    }
+
+    public void setDedupKey(String dedupKey) {
+        this.dedupKey = dedupKey;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public Long getSeq() {
+        return seq;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -8,6 +8,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+// 팀 태스크 조건 조회 인덱스는 부분 인덱스(WHERE)가 있어 엔티티에 두지 않고 schema.sql과 db/todo-task-indexes.sql에만 정의
 @Entity
 @Table(name = "todo_tasks")
 public class TodoTask {
@@ -57,6 +58,10 @@ public class TodoTask {
 
     private LocalDateTime completedAt;
 
+    // 현재 마감일에 대해 이미 보낸 가장 짧은 마감 임박 알림 리드 타임 (분, 마감일/담당자가 바뀌면 초기화)
+    @Column(name = "deadline_reminded_minutes")
+    private Integer deadlineRemindedMinutes;
+
     // 태스크 관련 알림들
     @OneToMany(mappedBy = "task", fetch = FetchType.LAZY)
     private List<Notification> notifications;
@@ -198,4 +203,12 @@ public class TodoTask {
     public void setCompletedAt(LocalDateTime completedAt) {
         this.completedAt = completedAt;
     }
-}
\ No newline at end of file
+
+    public Integer getDeadlineRemindedMinutes() {
+        return deadlineRemindedMinutes;
+    }
+
+    public void setDeadlineRemindedMinutes(Integer deadlineRemindedMinutes) {
+        this.deadlineRemindedMinutes = deadlineRemindedMinutes;
+    }
+}
@@ -1,6 +1,7 @@
 package com.ohange.todoserver.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -33,6 +34,11 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // 읽지 않은 알림 수 변경 스탬프 (UnreadCountService 전용, 커밋 직전에 JPQL로만 증가시키고 엔티티로는 쓰지 않음)
+    @ColumnDefault("0")
+    @Column(name = "unread_seq", nullable = false, insertable = false, updatable = false)
+    private long unreadSeq;
+
     // 내가 할당한 태스크들
     @OneToMany(mappedBy = "requester", fetch = FetchType.LAZY)
     private List<TodoTask> requestedTasks;
@@ -1,32 +1,74 @@
 package com.ohange.todoserver.repository;
 
 import com.ohange.todoserver.entity.Notification;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, UUID> {
+
+    String FEED_COLUMNS = "n.id AS id, n.task.id AS taskId, n.type AS type, n.title AS title, n.message AS message, " +
+                          "n.data AS data, n.isRead AS isRead, n.aggregateCount AS aggregateCount, n.createdAt AS createdAt, " +
+                          "n.lastEventAt AS lastEventAt";
     
     // 특정 사용자의 알림들 조회 (최신순)
     List<Notification> findByUserIdOrderByCreatedAtDesc(UUID userId);
     
+    // 특정 사용자의 알림 스트리밍 (엔티티 대신 프로젝션으로 읽어 영속성 컨텍스트에 쌓이지 않음, 트랜잭션 안에서 사용)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT n.id AS id, n.task.id AS taskId, n.type AS type, n.title AS title, n.message AS message, " +
+           "n.isRead AS isRead, n.aggregateCount AS aggregateCount, n.createdAt AS createdAt, n.lastEventAt AS lastEventAt " +
+           "FROM Notification n WHERE n.user.id = :userId ORDER BY n.createdAt DESC, n.id DESC")
+    Stream<NotificationRow> streamByUserId(@Param("userId") UUID userId);
+
     // 특정 사용자의 알림들 페이징 조회
     Page<Notification> findByUserIdOrderByCreatedAtDesc(UUID userId, Pageable pageable);
     
+    // 알림 피드 첫 페이지 (키셋, 개수 조회 없음) - idx_notifications_user_created 사용
+    // 엔티티 대신 프로젝션으로 읽어 사용자/태스크 연관을 직렬화하지 않음
+    @Query("SELECT " + FEED_COLUMNS + " FROM Notification n WHERE n.user.id = :userId ORDER BY n.createdAt DESC, n.id DESC")
+    List<FeedRow> findFeed(@Param("userId") UUID userId, Pageable pageable);
+
+    // 알림 피드 다음 페이지 ((createdAt, id)가 커서보다 앞선 행부터)
+    @Query("SELECT " + FEED_COLUMNS + " FROM Notification n WHERE n.user.id = :userId " +
+           "AND (n.createdAt, n.id) < (:createdAt, :id) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<FeedRow> findFeedAfter(@Param("userId") UUID userId,
+                                     @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") UUID id,
+                                     Pageable pageable);
+    
     // 특정 사용자의 읽지 않은 알림들 조회
     List<Notification> findByUserIdAndIsReadFalseOrderByCreatedAtDesc(UUID userId);
     
     // 특정 사용자의 읽지 않은 알림 개수
     long countByUserIdAndIsReadFalse(UUID userId);
     
+    // 같은 (사용자, 태스크, 타입)의 읽지 않은 알림을 잠그고 조회 (알림 집계 대상 찾기) - idx_notifications_user_unread 사용
+    // 커밋 전에 읽음 처리/삭제가 끼어들면 잠금을 기다린 뒤 조건을 다시 확인하므로 읽은 알림에 합치지 않는다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Notification> findFirstByUserIdAndTaskIdAndTypeAndIsReadFalseOrderByCreatedAtDesc(
+            UUID userId, UUID taskId, Notification.NotificationType type);
+    
     // 특정 태스크와 관련된 알림들 조회
     List<Notification> findByTaskIdOrderByCreatedAtDesc(UUID taskId);
     
@@ -35,8 +77,69 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
     @Query("UPDATE Notification n SET n.isRead = true WHERE n.user.id = :userId AND n.isRead = false")
     int markAllAsReadByUserId(@Param("userId") UUID userId);
     
-    // 특정 알림을 읽음으로 표시
+    // 특정 알림을 읽음으로 표시 (읽지 않은 상태였을 때만 1 반환, 읽지 않은 알림 수 계산에 사용)
     @Modifying
-    @Query("UPDATE Notification n SET n.isRead = true WHERE n.id = :notificationId")
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.id = :notificationId AND n.isRead = false")
     int markAsRead(@Param("notificationId") UUID notificationId);
+
+    // 사용자의 알림 중 지정한 것들을 한 번에 읽음으로 표시 (이미 읽은 알림과 다른 사용자의 알림은 제외, 바뀐 행 수 반환)
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true " +
+           "WHERE n.user.id = :userId AND n.id IN :ids AND n.isRead = false")
+    int markAsReadByIds(@Param("userId") UUID userId, @Param("ids") Collection<UUID> ids);
+
+    // 사용자의 알림 중 (createdAt, id)가 기준 알림 이하인 것들을 한 번에 읽음으로 표시 (피드 정렬 기준 "여기까지 읽음")
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true " +
+           "WHERE n.user.id = :userId AND n.isRead = false " +
+           "AND (n.createdAt, n.id) <= (:createdAt, :id)")
+    int markAsReadUpTo(@Param("userId") UUID userId,
+                       @Param("createdAt") LocalDateTime createdAt,
+                       @Param("id") UUID id);
+
+    // 읽지 않은 알림만 삭제 (삭제되면 1)
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id = :notificationId AND n.isRead = false")
+    int deleteUnreadById(@Param("notificationId") UUID notificationId);
+
+    // 알림 삭제 (삭제되면 1)
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id = :notificationId")
+    int deleteByIdReturningCount(@Param("notificationId") UUID notificationId);
+
+    // 보존 기간이 지난 읽은 알림을 최대 limit개 삭제 (다른 노드가 잠근 행은 건너뜀), 삭제한 행 수 반환
+    // idx_notifications_read_created 부분 인덱스 사용, 파티션 테이블이면 created_at 조건으로 오래된 파티션만 읽음
+    @Modifying
+    @Query(value = "DELETE FROM notifications WHERE id IN (" +
+                   "SELECT id FROM notifications WHERE type = :type AND is_read = true AND created_at < :cutoff " +
+                   "LIMIT :limit FOR UPDATE SKIP LOCKED)",
+           nativeQuery = true)
+    int deleteReadBefore(@Param("type") String type,
+                         @Param("cutoff") LocalDateTime cutoff,
+                         @Param("limit") int limit);
+
+    // 여러 사용자의 읽지 않은 알림 개수와 변경 스탬프 (userId, unreadSeq, count)
+    // 한 문장이라 같은 스냅샷에서 읽히므로, 개수는 정확히 스탬프 unreadSeq까지의 변경을 포함한다.
+    @Query("SELECT u.id, u.unreadSeq, " +
+           "(SELECT COUNT(n) FROM Notification n WHERE n.user.id = u.id AND n.isRead = false) " +
+           "FROM User u WHERE u.id IN :userIds")
+    List<Object[]> countUnreadWithSeqByUserIds(@Param("userIds") Collection<UUID> userIds);
+
+    // 스트리밍용 알림 행
+    interface NotificationRow {
+        UUID getId();
+        UUID getTaskId();
+        Notification.NotificationType getType();
+        String getTitle();
+        String getMessage();
+        Boolean getIsRead();
+        Integer getAggregateCount();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getLastEventAt();
+    }
+
+    // 피드용 알림 행 (스트리밍 행 + 알림 데이터)
+    interface FeedRow extends NotificationRow {
+        Map<String, Object> getData();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.ohange.todoserver.repository;
+
+import com.ohange.todoserver.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    // 전송 대기 중인 이벤트를 기록 순으로 잠그고 조회 (다른 노드가 잠근 행은 건너뜀)
+    @Query(value = "SELECT * FROM outbox_events ORDER BY seq LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("limit") int limit);
+
+    // 지정한 dedupKey를 가진 전송 대기 이벤트 (잠그지 않고 읽으므로 다른 노드가 잠근 행도 보임)
+    @Query("SELECT o.id AS id, o.dedupKey AS dedupKey, o.seq AS seq " +
+           "FROM OutboxEvent o WHERE o.dedupKey IN :keys")
+    List<KeyedRow> findKeyedRows(@Param("keys") Collection<String> keys);
+
+    // 지정한 이벤트 중 다른 노드가 잠그지 않은 것만 잠그고 id 반환
+    @Query(value = "SELECT id FROM outbox_events WHERE id IN (:ids) FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<UUID> lockIfUnlocked(@Param("ids") Collection<UUID> ids);
+
+    // dedupKey가 있는 이벤트의 순서 비교용 행
+    interface KeyedRow {
+        UUID getId();
+        String getDedupKey();
+        Long getSeq();
+    }
+}
@@ -1,13 +1,19 @@
 package com.ohange.todoserver.repository;
 
 import com.ohange.todoserver.entity.TaskHistory;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface TaskHistoryRepository extends JpaRepository<TaskHistory, UUID> {
@@ -25,4 +31,23 @@ public interface TaskHistoryRepository extends JpaRepository<TaskHistory, UUID>
     // 특정 팀의 모든 태스크 히스토리 조회
     @Query("SELECT th FROM TaskHistory th WHERE th.task.team.id = :teamId ORDER BY th.createdAt DESC")
     List<TaskHistory> findByTeamId(@Param("teamId") UUID teamId);
+
+    // 특정 팀의 태스크 히스토리 스트리밍 (findByTeamId의 스트리밍 버전, 트랜잭션 안에서 사용)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT th.id AS id, th.task.id AS taskId, th.user.id AS userId, th.action AS action, " +
+           "th.oldValue AS oldValue, th.newValue AS newValue, th.note AS note, th.createdAt AS createdAt " +
+           "FROM TaskHistory th WHERE th.task.team.id = :teamId ORDER BY th.createdAt DESC, th.id DESC")
+    Stream<HistoryRow> streamByTeamId(@Param("teamId") UUID teamId);
+
+    // 스트리밍용 히스토리 행
+    interface HistoryRow {
+        UUID getId();
+        UUID getTaskId();
+        UUID getUserId();
+        TaskHistory.ActionType getAction();
+        String getOldValue();
+        String getNewValue();
+        String getNote();
+        LocalDateTime getCreatedAt();
+    }
 }
\ No newline at end of file
@@ -26,6 +26,10 @@ public interface TeamMembershipRepository extends JpaRepository<TeamMembership,
     @Query("SELECT tm FROM TeamMembership tm WHERE tm.team.id = :teamId AND tm.role = 'ADMIN'")
     List<TeamMembership> findTeamAdmins(@Param("teamId") UUID teamId);
     
+    // 팀의 (userId, 역할) 목록 (TeamMembershipIndex 적재용)
+    @Query("SELECT tm.user.id, tm.role FROM TeamMembership tm WHERE tm.team.id = :teamId")
+    List<Object[]> findMemberRoles(@Param("teamId") UUID teamId);
+    
     // 사용자가 특정 팀의 멤버인지 확인
     boolean existsByTeamIdAndUserId(UUID teamId, UUID userId);
     
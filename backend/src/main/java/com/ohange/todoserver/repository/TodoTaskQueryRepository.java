@@ -0,0 +1,55 @@
+package com.ohange.todoserver.repository;
+
+import com.ohange.todoserver.entity.TodoTask;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// 팀 태스크 조건 조회 (TodoTaskRepository 조각)
+// 지정된 필터만 WHERE에 넣어 JPQL을 만든다. "(:x IS NULL OR ...)" 형태는 PostgreSQL이 인덱스를 고르지 못하게 하므로 쓰지 않는다.
+// 정렬별로 (team_id, 정렬 키, id) 복합 인덱스가 있어 팀의 전체 태스크 수와 무관하게 limit개만 읽는다.
+public interface TodoTaskQueryRepository {
+
+    // 조건에 맞는 태스크를 정렬 순서대로 최대 limit개 (after가 있으면 그 위치 다음부터)
+    List<TodoTaskRepository.TaskRow> queryTeamTasks(TeamTaskQuery query, int limit);
+
+    // 지원하는 정렬
+    enum Sort {
+        CREATED,    // 생성 시각 최신순 (created_at DESC, id DESC) - 기본 보드
+        DEADLINE    // 마감일 빠른순 (deadline ASC, id ASC), 마감일 없는 태스크는 제외
+    }
+
+    // 조회 조건 (teamId 외에는 모두 선택)
+    class TeamTaskQuery {
+        private UUID teamId;
+        private List<TodoTask.TodoTaskStatus> statuses;
+        private UUID assigneeId;
+        private UUID requesterId;
+        private LocalDateTime deadlineFrom;  // 포함
+        private LocalDateTime deadlineTo;    // 미포함
+        private Sort sort = Sort.CREATED;
+        // 키셋 위치: 정렬 키(created_at 또는 deadline) + id
+        private LocalDateTime afterKey;
+        private UUID afterId;
+
+        public UUID getTeamId() { return teamId; }
+        public void setTeamId(UUID teamId) { this.teamId = teamId; }
+        public List<TodoTask.TodoTaskStatus> getStatuses() { return statuses; }
+        public void setStatuses(List<TodoTask.TodoTaskStatus> statuses) { this.statuses = statuses; }
+        public UUID getAssigneeId() { return assigneeId; }
+        public void setAssigneeId(UUID assigneeId) { this.assigneeId = assigneeId; }
+        public UUID getRequesterId() { return requesterId; }
+        public void setRequesterId(UUID requesterId) { this.requesterId = requesterId; }
+        public LocalDateTime getDeadlineFrom() { return deadlineFrom; }
+        public void setDeadlineFrom(LocalDateTime deadlineFrom) { this.deadlineFrom = deadlineFrom; }
+        public LocalDateTime getDeadlineTo() { return deadlineTo; }
+        public void setDeadlineTo(LocalDateTime deadlineTo) { this.deadlineTo = deadlineTo; }
+        public Sort getSort() { return sort; }
+        public void setSort(Sort sort) { this.sort = sort; }
+        public LocalDateTime getAfterKey() { return afterKey; }
+        public void setAfterKey(LocalDateTime afterKey) { this.afterKey = afterKey; }
+        public UUID getAfterId() { return afterId; }
+        public void setAfterId(UUID afterId) { this.afterId = afterId; }
+    }
+}
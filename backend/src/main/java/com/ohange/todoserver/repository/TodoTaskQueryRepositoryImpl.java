@@ -0,0 +1,82 @@
+package com.ohange.todoserver.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// TodoTaskQueryRepository 구현 (Spring Data가 이름 규칙으로 TodoTaskRepository에 합쳐 줌)
+public class TodoTaskQueryRepositoryImpl implements TodoTaskQueryRepository {
+
+    // 튜플을 다른 목록 조회와 같은 TaskRow 프로젝션으로 감쌈
+    private static final ProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Override
+    public List<TodoTaskRepository.TaskRow> queryTeamTasks(TeamTaskQuery query, int limit) {
+        StringBuilder jpql = new StringBuilder(TodoTaskRepository.TASK_ROW_SELECT).append("WHERE t.team.id = :teamId");
+        Map<String, Object> params = new HashMap<>();
+        params.put("teamId", query.getTeamId());
+
+        if (query.getStatuses() != null && !query.getStatuses().isEmpty()) {
+            jpql.append(" AND t.status IN :statuses");
+            params.put("statuses", query.getStatuses());
+        }
+        if (query.getAssigneeId() != null) {
+            jpql.append(" AND t.assignee.id = :assigneeId");
+            params.put("assigneeId", query.getAssigneeId());
+        }
+        if (query.getRequesterId() != null) {
+            jpql.append(" AND t.requester.id = :requesterId");
+            params.put("requesterId", query.getRequesterId());
+        }
+        if (query.getDeadlineFrom() != null) {
+            jpql.append(" AND t.deadline >= :deadlineFrom");
+            params.put("deadlineFrom", query.getDeadlineFrom());
+        }
+        if (query.getDeadlineTo() != null) {
+            jpql.append(" AND t.deadline < :deadlineTo");
+            params.put("deadlineTo", query.getDeadlineTo());
+        }
+
+        boolean byDeadline = query.getSort() == Sort.DEADLINE;
+        if (byDeadline) {
+            jpql.append(" AND t.deadline IS NOT NULL");
+        }
+        if (query.getAfterKey() != null && query.getAfterId() != null) {
+            jpql.append(byDeadline
+                    ? " AND (t.deadline, t.id) > (:afterKey, :afterId)"
+                    : " AND (t.createdAt, t.id) < (:afterKey, :afterId)");
+            params.put("afterKey", query.getAfterKey());
+            params.put("afterId", query.getAfterId());
+        }
+        jpql.append(byDeadline
+                ? " ORDER BY t.deadline ASC, t.id ASC"
+                : " ORDER BY t.createdAt DESC, t.id DESC");
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(jpql.toString(), Tuple.class);
+        params.forEach(typedQuery::setParameter);
+        typedQuery.setMaxResults(limit);
+
+        List<Tuple> tuples = typedQuery.getResultList();
+        List<TodoTaskRepository.TaskRow> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> values = new HashMap<>();
+            for (TupleElement<?> element : tuple.getElements()) {
+                values.put(element.getAlias(), tuple.get(element));
+            }
+            rows.add(PROJECTIONS.createProjection(TodoTaskRepository.TaskRow.class, values));
+        }
+        return rows;
+    }
+}
@@ -1,25 +1,50 @@
 package com.ohange.todoserver.repository;
 
 import com.ohange.todoserver.entity.TodoTask;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface TodoTaskRepository extends JpaRepository<TodoTask, UUID> {
+public interface TodoTaskRepository extends JpaRepository<TodoTask, UUID>, TodoTaskQueryRepository {
     
+    // 목록 조회용 SELECT (요청자/담당자/팀을 조인해 한 번의 쿼리로 TaskRow를 만듦, 연관 엔티티 지연 로딩 없음)
+    String TASK_ROW_SELECT =
+            "SELECT t.id AS id, t.title AS title, t.content AS content, t.status AS status, " +
+            "r.id AS requesterId, r.name AS requesterName, a.id AS assigneeId, a.name AS assigneeName, " +
+            "tm.id AS teamId, tm.name AS teamName, t.deadline AS deadline, t.completionNote AS completionNote, " +
+            "t.createdAt AS createdAt, t.updatedAt AS updatedAt, t.completedAt AS completedAt " +
+            "FROM TodoTask t LEFT JOIN t.requester r LEFT JOIN t.assignee a LEFT JOIN t.team tm ";
+
     // 특정 팀의 모든 태스크 조회
-    List<TodoTask> findByTeamIdOrderByCreatedAtDesc(UUID teamId);
+    @Query(TASK_ROW_SELECT + "WHERE t.team.id = :teamId ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskRow> findTeamTaskRows(@Param("teamId") UUID teamId);
+    
+    // 특정 팀의 태스크 스트리밍 (트랜잭션 안에서 사용)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(TASK_ROW_SELECT + "WHERE t.team.id = :teamId ORDER BY t.createdAt DESC, t.id DESC")
+    Stream<TaskRow> streamByTeamId(@Param("teamId") UUID teamId);
     
     // 특정 사용자가 할당받은 태스크들 조회
-    List<TodoTask> findByAssigneeIdOrderByCreatedAtDesc(UUID assigneeId);
+    @Query(TASK_ROW_SELECT + "WHERE t.assignee.id = :assigneeId ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskRow> findAssignedTaskRows(@Param("assigneeId") UUID assigneeId);
     
     // 특정 사용자가 요청한 태스크들 조회
-    List<TodoTask> findByRequesterIdOrderByCreatedAtDesc(UUID requesterId);
+    @Query(TASK_ROW_SELECT + "WHERE t.requester.id = :requesterId ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskRow> findRequestedTaskRows(@Param("requesterId") UUID requesterId);
     
     // 특정 상태의 태스크들 조회
     List<TodoTask> findByStatusOrderByCreatedAtDesc(TodoTask.TodoTaskStatus status);
@@ -28,10 +53,47 @@ public interface TodoTaskRepository extends JpaRepository<TodoTask, UUID> {
     List<TodoTask> findByTeamIdAndStatusOrderByCreatedAtDesc(UUID teamId, TodoTask.TodoTaskStatus status);
     
     // 특정 사용자가 할당받은 완료되지 않은 태스크들 조회
-    @Query("SELECT t FROM TodoTask t WHERE t.assignee.id = :assigneeId AND t.status != 'COMPLETED' ORDER BY t.deadline ASC")
-    List<TodoTask> findPendingTasksByAssignee(@Param("assigneeId") UUID assigneeId);
+    @Query(TASK_ROW_SELECT + "WHERE t.assignee.id = :assigneeId AND t.status != 'COMPLETED' ORDER BY t.deadline ASC")
+    List<TaskRow> findPendingTaskRowsByAssignee(@Param("assigneeId") UUID assigneeId);
     
     // 마감일이 임박한 태스크들 조회 (팀별)
-    @Query("SELECT t FROM TodoTask t WHERE t.team.id = :teamId AND t.status != 'COMPLETED' AND t.deadline <= :tomorrow ORDER BY t.deadline ASC")
-    List<TodoTask> findUpcomingDeadlineTasks(@Param("teamId") UUID teamId, @Param("tomorrow") java.time.LocalDateTime tomorrow);
+    @Query(TASK_ROW_SELECT + "WHERE t.team.id = :teamId AND t.status != 'COMPLETED' AND t.deadline <= :tomorrow ORDER BY t.deadline ASC")
+    List<TaskRow> findUpcomingDeadlineTaskRows(@Param("teamId") UUID teamId, @Param("tomorrow") LocalDateTime tomorrow);
+
+    // 마감일이 남은 미완료 태스크의 마감일 스트리밍 (마감 임박 알림 스케줄러가 기동 시 한 번 적재, 트랜잭션 안에서 사용)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t.id AS id, t.deadline AS deadline, t.deadlineRemindedMinutes AS remindedMinutes FROM TodoTask t " +
+           "WHERE t.deadline > :now AND t.status NOT IN ('COMPLETED', 'CANCELLED') ORDER BY t.deadline ASC, t.id ASC")
+    Stream<DeadlineRow> streamPendingDeadlines(@Param("now") LocalDateTime now);
+
+    // 태스크 조회 후 행 잠금 (여러 노드가 같은 마감 임박 알림을 중복 발송하지 않도록)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM TodoTask t WHERE t.id = :id")
+    Optional<TodoTask> findByIdForUpdate(@Param("id") UUID id);
+
+    // 마감일 행 (마감 임박 알림 스케줄러 적재용)
+    interface DeadlineRow {
+        UUID getId();
+        LocalDateTime getDeadline();
+        Integer getRemindedMinutes();
+    }
+
+    // 태스크 목록 행 (목록 API 응답과 NDJSON 스트리밍 공용)
+    interface TaskRow {
+        UUID getId();
+        String getTitle();
+        String getContent();
+        TodoTask.TodoTaskStatus getStatus();
+        UUID getRequesterId();
+        String getRequesterName();
+        UUID getAssigneeId();
+        String getAssigneeName();
+        UUID getTeamId();
+        String getTeamName();
+        LocalDateTime getDeadline();
+        String getCompletionNote();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getUpdatedAt();
+        LocalDateTime getCompletedAt();
+    }
 }
\ No newline at end of file
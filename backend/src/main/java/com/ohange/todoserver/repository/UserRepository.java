@@ -0,0 +1,36 @@
+package com.ohange.todoserver.repository;
+
+import com.ohange.todoserver.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface UserRepository extends JpaRepository<User, UUID> {
+
+    // 사용자 요약 일괄 조회 (엔티티를 로딩하지 않고 필요한 컬럼만 읽음)
+    @Query("SELECT u.id AS id, u.name AS name, u.email AS email FROM User u WHERE u.id IN :ids")
+    List<UserSummaryRow> findSummariesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // 읽지 않은 알림 수 변경 스탬프 증가 (커밋 직전에 호출, 커밋까지 사용자 행을 잠가 스탬프가 커밋 순서대로 매겨짐)
+    @Modifying
+    @Query("UPDATE User u SET u.unreadSeq = u.unreadSeq + 1 WHERE u.id = :userId")
+    int incrementUnreadSeq(@Param("userId") UUID userId);
+
+    // 현재 트랜잭션에서 올린 스탬프 값 읽기
+    @Query("SELECT u.unreadSeq FROM User u WHERE u.id = :userId")
+    Long findUnreadSeq(@Param("userId") UUID userId);
+
+    // 사용자 요약 행
+    interface UserSummaryRow {
+        UUID getId();
+        String getName();
+        String getEmail();
+    }
+}
@@ -0,0 +1,180 @@
+package com.ohange.todoserver.service;
+
+import com.ohange.todoserver.websocket.PresenceTracker;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// 클러스터 전체 팀별 온라인 사용자 (노드별 온라인 집합을 합친 것)
+// 사용자는 어느 노드에서든 온라인이면 온라인이다. 각 노드는 자기 PresenceTracker의 순변화를 버스로 보내고,
+// 모든 노드가 그 변화를 이 뷰에 합친 뒤 다시 마지막 drain 시점과 비교한 순변화만 자기 세션에 보낸다.
+// 노드마다 flush 시점이 달라 A의 퇴장이 B의 입장보다 한 주기 먼저 도착할 수 있으므로, 오프라인 전환은
+// 한 번 더 drain할 때까지 들고 있다가 그때도 오프라인이면 보낸다 (온라인 전환은 바로 보냄).
+// 그래서 한 사용자가 노드 A에서 끊기고 한 주기 안에 노드 B로 다시 붙으면 이벤트가 없다.
+// 일정 시간 소식이 없는 다른 노드는 죽은 것으로 보고 그 노드의 사용자를 모두 내린다.
+// 모든 상태는 인스턴스 모니터로 보호 (presence 변화는 flush 주기 단위로 들어오므로 경합이 적음)
+public class ClusterPresence {
+
+    private final String localNodeId;
+
+    // teamId -> (userId -> 온라인인 노드 집합)
+    private final Map<String, Map<String, Set<String>>> online = new HashMap<>();
+
+    // teamId -> (userId -> 마지막으로 보낸 시점 이후의 변화), 상태가 바뀐 사용자만 기록
+    private final Map<String, Map<String, Change>> pending = new HashMap<>();
+
+    // 다른 노드 -> 마지막으로 소식을 받은 시각
+    private final Map<String, Long> lastSeen = new HashMap<>();
+
+    public ClusterPresence(String localNodeId) {
+        this.localNodeId = localNodeId;
+    }
+
+    // 노드의 팀별 순변화 반영
+    public synchronized void apply(String nodeId, String teamId, Collection<String> cameOnline,
+                                   Collection<String> wentOffline, long now) {
+        touch(nodeId, now);
+        for (String userId : cameOnline) {
+            change(teamId, userId, nodeId, true);
+        }
+        for (String userId : wentOffline) {
+            change(teamId, userId, nodeId, false);
+        }
+    }
+
+    // 노드의 전체 상태로 교체 (teams가 비어 있으면 노드가 빠진 것)
+    public synchronized void replaceNode(String nodeId, Map<String, ? extends Collection<String>> teams, long now) {
+        removeNode(nodeId);
+        if (teams.isEmpty()) {
+            lastSeen.remove(nodeId);
+            return;
+        }
+        touch(nodeId, now);
+        for (Map.Entry<String, ? extends Collection<String>> team : teams.entrySet()) {
+            for (String userId : team.getValue()) {
+                change(team.getKey(), userId, nodeId, true);
+            }
+        }
+    }
+
+    // 노드가 살아 있다는 소식 반영, 처음 보는 노드면 true (전체 상태를 아직 모름)
+    public synchronized boolean touch(String nodeId, long now) {
+        if (nodeId.equals(localNodeId)) {
+            return false;
+        }
+        return lastSeen.put(nodeId, now) == null;
+    }
+
+    // timeoutMs 동안 소식이 없는 다른 노드를 빼고, 뺀 노드 목록 반환
+    public synchronized List<String> expire(long now, long timeoutMs) {
+        List<String> expired = new ArrayList<>();
+        Iterator<Map.Entry<String, Long>> it = lastSeen.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Long> entry = it.next();
+            if (now - entry.getValue() > timeoutMs) {
+                it.remove();
+                expired.add(entry.getKey());
+            }
+        }
+        for (String nodeId : expired) {
+            removeNode(nodeId);
+        }
+        return expired;
+    }
+
+    // 팀의 온라인 사용자 (excludeNodeId가 있으면 그 노드만 온라인인 사용자는 제외)
+    public synchronized Set<String> snapshot(String teamId, String excludeNodeId) {
+        Map<String, Set<String>> users = online.get(teamId);
+        if (users == null) {
+            return Set.of();
+        }
+        Set<String> result = new HashSet<>();
+        for (Map.Entry<String, Set<String>> user : users.entrySet()) {
+            Set<String> nodes = user.getValue();
+            if (nodes.size() > 1 || !nodes.contains(excludeNodeId)) {
+                result.add(user.getKey());
+            }
+        }
+        return result;
+    }
+
+    // 마지막 drain 이후 클러스터 기준 순변화가 있는 팀들의 diff를 꺼냄 (오프라인 전환은 한 번 유예)
+    public synchronized List<PresenceTracker.PresenceDiff> drainDiffs() {
+        List<PresenceTracker.PresenceDiff> diffs = new ArrayList<>();
+        Iterator<Map.Entry<String, Map<String, Change>>> teams = pending.entrySet().iterator();
+        while (teams.hasNext()) {
+            Map.Entry<String, Map<String, Change>> team = teams.next();
+            Map<String, Set<String>> users = online.getOrDefault(team.getKey(), Map.of());
+            List<String> cameOnline = new ArrayList<>();
+            List<String> wentOffline = new ArrayList<>();
+            Iterator<Map.Entry<String, Change>> changes = team.getValue().entrySet().iterator();
+            while (changes.hasNext()) {
+                Map.Entry<String, Change> change = changes.next();
+                boolean wasOnline = change.getValue().wasOnline;
+                boolean nowOnline = users.containsKey(change.getKey());
+                if (!nowOnline && wasOnline && !change.getValue().held) {
+                    change.getValue().held = true;
+                    continue;
+                }
+                if (nowOnline && !wasOnline) {
+                    cameOnline.add(change.getKey());
+                } else if (!nowOnline && wasOnline) {
+                    wentOffline.add(change.getKey());
+                }
+                changes.remove();
+            }
+            if (team.getValue().isEmpty()) {
+                teams.remove();
+            }
+            if (!cameOnline.isEmpty() || !wentOffline.isEmpty()) {
+                diffs.add(new PresenceTracker.PresenceDiff(team.getKey(), cameOnline, wentOffline));
+            }
+        }
+        return diffs;
+    }
+
+    private void removeNode(String nodeId) {
+        for (Map.Entry<String, Map<String, Set<String>>> team : new ArrayList<>(online.entrySet())) {
+            for (String userId : new ArrayList<>(team.getValue().keySet())) {
+                change(team.getKey(), userId, nodeId, false);
+            }
+        }
+    }
+
+    private void change(String teamId, String userId, String nodeId, boolean nodeOnline) {
+        Map<String, Set<String>> users = online.computeIfAbsent(teamId, k -> new HashMap<>());
+        Set<String> nodes = users.get(userId);
+        boolean before = nodes != null;
+
+        if (nodeOnline) {
+            users.computeIfAbsent(userId, k -> new HashSet<>()).add(nodeId);
+        } else if (nodes != null && nodes.remove(nodeId) && nodes.isEmpty()) {
+            users.remove(userId);
+        }
+        boolean after = users.containsKey(userId);
+        if (users.isEmpty()) {
+            online.remove(teamId);
+        }
+
+        // 온라인 여부가 바뀐 경우에만, 처음 바뀌기 전 상태를 기억
+        if (before != after) {
+            pending.computeIfAbsent(teamId, t -> new HashMap<>()).putIfAbsent(userId, new Change(before));
+        }
+    }
+
+    // 마지막으로 보낸 온라인 여부, 오프라인 전환을 한 번 유예했는지
+    private static class Change {
+        private final boolean wasOnline;
+        private boolean held;
+
+        Change(boolean wasOnline) {
+            this.wasOnline = wasOnline;
+        }
+    }
+}
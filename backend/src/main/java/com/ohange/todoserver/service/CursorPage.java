@@ -0,0 +1,29 @@
+package com.ohange.todoserver.service;
+
+import java.util.List;
+import java.util.function.Function;
+
+// 키셋 페이지 응답 (전체 개수 없음, nextCursor가 null이면 마지막 페이지)
+public class CursorPage<T> {
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // size + 1개를 조회한 결과로 페이지 구성 (초과분이 있으면 마지막 항목 위치를 다음 커서로)
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, KeysetCursor> cursorOf) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        return new CursorPage<>(items, cursorOf.apply(items.get(size - 1)).encode());
+    }
+
+    public List<T> getItems() { return items; }
+    public String getNextCursor() { return nextCursor; }
+    public boolean isHasMore() { return nextCursor != null; }
+}
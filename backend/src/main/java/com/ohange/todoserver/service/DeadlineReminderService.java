@@ -0,0 +1,269 @@
+package com.ohange.todoserver.service;
+
+import com.ohange.todoserver.entity.TodoTask;
+import com.ohange.todoserver.repository.TodoTaskRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// 마감 임박(TASK_DEADLINE_NEAR) 알림 스케줄러
+// 기동 시 미완료 태스크의 마감일을 한 번 읽어 타이밍 휠에 올리고, 이후에는 태스크 생성/상태 변경/재할당/마감일 변경이
+// 커밋될 때 해당 태스크의 타이머만 갱신한다. 주기적으로 테이블을 훑지 않는다.
+// 태스크마다 타이머는 하나이며, 알림을 보내면 다음(더 짧은) 리드 타임으로 다시 등록한다.
+// 발송은 태스크 행을 잠그고 deadline_reminded_minutes를 확인/기록하므로 여러 노드가 같은 알림을 중복 발송하지 않는다.
+// 다른 노드에서 바뀐 마감일은 발송 시점에 DB 값과 비교해 다시 등록한다.
+@Service
+public class DeadlineReminderService {
+
+    @Autowired
+    private TodoTaskRepository todoTaskRepository;
+
+    @Autowired
+    private RealtimeNotificationService notificationService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${notification.deadline.enabled:true}")
+    private boolean enabled;
+
+    // 마감 몇 분 전에 알릴지 (쉼표 구분, 예: 1440,60)
+    @Value("${notification.deadline.lead-times-minutes:1440,60}")
+    private String leadTimesMinutes;
+
+    @Value("${notification.deadline.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${notification.deadline.wheel-size:64}")
+    private int wheelSize;
+
+    // 만기된 알림을 발송하는 스레드 수 (같은 시각에 마감이 몰리는 경우 대비)
+    @Value("${notification.deadline.workers:2}")
+    private int workers;
+
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    // 리드 타임 (분, 내림차순)
+    private int[] leadMinutes;
+
+    private TimingWheel<UUID, Reminder> wheel;
+
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "deadline-wheel");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ExecutorService senders;
+
+    @PostConstruct
+    public void init() {
+        leadMinutes = Arrays.stream(leadTimesMinutes.split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .mapToInt(Integer::parseInt)
+                .filter(minutes -> minutes > 0)
+                .distinct()
+                .boxed()
+                .sorted((a, b) -> b - a)
+                .mapToInt(Integer::intValue)
+                .toArray();
+        wheel = new TimingWheel<>(tickMs, wheelSize, System.currentTimeMillis());
+        senders = Executors.newFixedThreadPool(workers, r -> {
+            Thread thread = new Thread(r, "deadline-reminder");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // 틱을 시작하고 마감일을 적재 (적재가 끝날 때까지 틱은 밀렸다가 한 번에 따라잡음)
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (!enabled || leadMinutes.length == 0) {
+            return;
+        }
+        ticker.execute(this::loadPendingDeadlines);
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    // 커밋 이후 태스크의 현재 상태로 타이머 갱신 (완료/취소/마감일 없음이면 해제)
+    public void scheduleAfterCommit(TodoTask task) {
+        UUID taskId = task.getId();
+        LocalDateTime deadline = task.getDeadline();
+        Integer remindedMinutes = task.getDeadlineRemindedMinutes();
+        boolean active = isActive(task.getStatus());
+        afterCommit(() -> {
+            if (active && deadline != null) {
+                scheduleNext(taskId, deadline, remindedMinutes, false);
+            } else {
+                wheel.cancel(taskId);
+            }
+        });
+    }
+
+    public void cancelAfterCommit(UUID taskId) {
+        afterCommit(() -> wheel.cancel(taskId));
+    }
+
+    // 대기 중인 타이머 수
+    public int getPendingCount() {
+        return wheel.size();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!enabled || leadMinutes.length == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void loadPendingDeadlines() {
+        long startedAt = System.currentTimeMillis();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        try {
+            Integer loaded = transactionTemplate.execute(status -> {
+                int count = 0;
+                try (Stream<TodoTaskRepository.DeadlineRow> rows = todoTaskRepository.streamPendingDeadlines(LocalDateTime.now())) {
+                    for (TodoTaskRepository.DeadlineRow row : (Iterable<TodoTaskRepository.DeadlineRow>) rows::iterator) {
+                        // 적재 중에 커밋된 변경이 먼저 등록했으면 그쪽이 최신이므로 덮어쓰지 않음
+                        if (scheduleNext(row.getId(), row.getDeadline(), row.getRemindedMinutes(), true)) {
+                            count++;
+                        }
+                    }
+                }
+                return count;
+            });
+            System.out.println("마감 임박 알림 적재 완료 - " + loaded + "건, " + (System.currentTimeMillis() - startedAt) + "ms");
+        } catch (Exception e) {
+            System.err.println("마감 임박 알림 적재 실패: " + e.getMessage());
+        }
+    }
+
+    // 아직 보내지 않은 리드 타임 중 가장 가까운 것으로 타이머 등록 (등록했으면 true)
+    // 이미 지난 리드 타임은 건너뛰되, 남은 리드 타임이 모두 지났고 마감 전이면 가장 짧은 것을 바로 보낸다.
+    private boolean scheduleNext(UUID taskId, LocalDateTime deadline, Integer remindedMinutes, boolean ifAbsent) {
+        long deadlineMillis = deadline.atZone(zone).toInstant().toEpochMilli();
+        long now = System.currentTimeMillis();
+
+        Integer missed = null;
+        for (int lead : leadMinutes) {
+            if (remindedMinutes != null && lead >= remindedMinutes) {
+                continue;
+            }
+            long fireAt = deadlineMillis - lead * 60_000L;
+            if (fireAt > now) {
+                return register(taskId, fireAt, new Reminder(taskId, deadlineMillis, lead), ifAbsent);
+            }
+            missed = lead;
+        }
+        if (missed != null && deadlineMillis > now) {
+            return register(taskId, now, new Reminder(taskId, deadlineMillis, missed), ifAbsent);
+        }
+        if (!ifAbsent) {
+            wheel.cancel(taskId);
+        }
+        return false;
+    }
+
+    private boolean register(UUID taskId, long fireAt, Reminder reminder, boolean ifAbsent) {
+        if (ifAbsent) {
+            return wheel.scheduleIfAbsent(taskId, fireAt, reminder);
+        }
+        wheel.schedule(taskId, fireAt, reminder);
+        return true;
+    }
+
+    private void tick() {
+        try {
+            List<Reminder> due = wheel.advance(System.currentTimeMillis());
+            for (Reminder reminder : due) {
+                senders.execute(() -> fire(reminder));
+            }
+        } catch (Exception e) {
+            System.err.println("마감 임박 알림 틱 처리 실패: " + e.getMessage());
+        }
+    }
+
+    // 태스크 행을 잠그고 현재 상태를 확인한 뒤 발송, 커밋 후 다음 리드 타임으로 재등록
+    private void fire(Reminder reminder) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        try {
+            TodoTask task = transactionTemplate.execute(status -> {
+                TodoTask current = todoTaskRepository.findByIdForUpdate(reminder.taskId).orElse(null);
+                if (current == null || !isActive(current.getStatus()) || current.getDeadline() == null) {
+                    return null;
+                }
+
+                // 다른 노드에서 마감일이 바뀌었으면 보내지 않고 새 마감일로 다시 등록
+                long deadlineMillis = current.getDeadline().atZone(zone).toInstant().toEpochMilli();
+                Integer reminded = current.getDeadlineRemindedMinutes();
+                if (deadlineMillis == reminder.deadlineMillis && (reminded == null || reminded > reminder.leadMinutes)) {
+                    notificationService.notifyTaskDeadlineNear(current, reminder.leadMinutes);
+                    current.setDeadlineRemindedMinutes(reminder.leadMinutes);
+                }
+                return current;
+            });
+
+            // 발송 사이에 커밋된 변경이 새 타이머를 등록했으면 그대로 둠
+            if (task != null) {
+                scheduleNext(task.getId(), task.getDeadline(), task.getDeadlineRemindedMinutes(), true);
+            }
+        } catch (Exception e) {
+            System.err.println("마감 임박 알림 발송 실패 - Task: " + reminder.taskId + ", Error: " + e.getMessage());
+        }
+    }
+
+    private boolean isActive(TodoTask.TodoTaskStatus status) {
+        return status != TodoTask.TodoTaskStatus.COMPLETED && status != TodoTask.TodoTaskStatus.CANCELLED;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+        if (senders != null) {
+            senders.shutdownNow();
+        }
+    }
+
+    // 휠에 올라가는 타이머 값 (태스크당 하나, 마감일은 epoch ms로 보관)
+    private static final class Reminder {
+        private final UUID taskId;
+        private final long deadlineMillis;
+        private final int leadMinutes;
+
+        Reminder(UUID taskId, long deadlineMillis, int leadMinutes) {
+            this.taskId = taskId;
+            this.deadlineMillis = deadlineMillis;
+            this.leadMinutes = leadMinutes;
+        }
+    }
+}
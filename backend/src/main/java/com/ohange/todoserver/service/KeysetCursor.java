@@ -0,0 +1,65 @@
+package com.ohange.todoserver.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+// (정렬 키, id) 키셋 페이지네이션 커서
+// 클라이언트에는 내용을 알 수 없는 토큰(base64url)으로만 전달하고, 다음 페이지는 이 위치 "다음" 행부터 읽는다.
+// 토큰에는 커서를 만든 조회 범위(scope: 정렬과 필터)를 함께 담아, 다른 정렬/필터로 만든 커서를 넘기면 거부한다.
+public final class KeysetCursor {
+
+    private final String scope;
+    private final LocalDateTime key;
+    private final UUID id;
+
+    public KeysetCursor(String scope, LocalDateTime key, UUID id) {
+        this.scope = scope;
+        this.key = key;
+        this.id = id;
+    }
+
+    public String encode() {
+        String raw = scope + "|" + key + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 토큰 복원 (null/빈 값은 첫 페이지), 토큰의 scope가 현재 조회 범위와 다르면 IllegalArgumentException
+    public static KeysetCursor decode(String token, String expectedScope) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 3);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+        if (!parts[0].equals(expectedScope)) {
+            throw new IllegalArgumentException("커서가 현재 정렬/필터 조건으로 만든 것이 아닙니다.");
+        }
+        try {
+            return new KeysetCursor(parts[0], LocalDateTime.parse(parts[1]), UUID.fromString(parts[2]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
+
+    public String getScope() {
+        return scope;
+    }
+
+    // 정렬 키 값 (정렬에 따라 created_at, deadline 등)
+    public LocalDateTime getKey() {
+        return key;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+}
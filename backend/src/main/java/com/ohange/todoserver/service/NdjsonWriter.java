@@ -0,0 +1,47 @@
+package com.ohange.todoserver.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ohange.todoserver.websocket.MessageCodec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// NDJSON 스트리밍 출력 (한 줄에 JSON 객체 하나)
+// 행을 하나씩 직렬화해 바로 내보내므로 전체 목록이나 JSON 배열을 메모리에 만들지 않는다.
+// 첫 행은 즉시 flush해 클라이언트가 바로 읽기 시작할 수 있게 하고, 이후에는 FLUSH_EVERY 행마다 flush한다.
+public final class NdjsonWriter {
+
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+
+    private static final int FLUSH_EVERY = 100;
+
+    // 행마다 flush하지 않도록 FLUSH_AFTER_WRITE_VALUE를 끈 공유 writer
+    private static final ObjectWriter WRITER = MessageCodec.mapper().writer()
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    private NdjsonWriter() {}
+
+    // 스트림의 모든 행을 출력하고 쓴 행 수를 반환 (out은 닫지 않음, rows는 호출한 쪽에서 닫음)
+    public static long write(Stream<?> rows, OutputStream out) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = WRITER.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            Iterator<?> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                WRITER.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                count++;
+                if (count == 1 || count % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+            generator.flush();
+        }
+        return count;
+    }
+}
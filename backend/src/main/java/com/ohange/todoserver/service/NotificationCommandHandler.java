@@ -0,0 +1,53 @@
+package com.ohange.todoserver.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ohange.todoserver.websocket.TaskWebSocketHandler;
+import com.ohange.todoserver.websocket.WebSocketMessage;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// 알림 관련 WebSocket 명령 처리
+// {"type": "MARK_READ", "requestId": "...", "notificationIds": ["...", ...]}
+// {"type": "MARK_READ", "requestId": "...", "upToId": "..."}
+// REST의 PUT /api/notifications/my/read와 같은 NotificationService.markAsRead를 호출하고,
+// 결과는 NOTIFICATIONS_READ로 요청한 세션에만 응답한다 (다른 기기에는 UNREAD_COUNT push로 반영).
+@Component
+public class NotificationCommandHandler {
+
+    @Autowired
+    private TaskWebSocketHandler webSocketHandler;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @PostConstruct
+    public void register() {
+        webSocketHandler.registerCommand("MARK_READ", this::markRead);
+    }
+
+    private WebSocketMessage markRead(String userId, JsonNode frame) {
+        List<UUID> ids = new ArrayList<>();
+        for (JsonNode id : frame.path("notificationIds")) {
+            ids.add(parseUuid(id.asText()));
+        }
+        String upTo = frame.path("upToId").asText(null);
+
+        NotificationService.BulkReadResult result = notificationService.markAsRead(
+                parseUuid(userId), ids, upTo != null ? parseUuid(upTo) : null);
+        return WebSocketMessage.notificationsRead(frame.path("requestId").asText(null),
+                result.getUpdated(), result.getUnreadCount());
+    }
+
+    private UUID parseUuid(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("잘못된 ID 형식입니다: " + value);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.ohange.todoserver.service;
+
+import com.ohange.todoserver.entity.Notification;
+import com.ohange.todoserver.repository.NotificationRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 알림 보존 정책
+// 1) 읽은 알림은 타입별 보존 기간(일)이 지나면 배치 단위로 삭제한다. 읽지 않은 알림은 이 단계에서 지우지 않는다.
+//    배치마다 별도 트랜잭션이고 SKIP LOCKED를 쓰므로 여러 노드가 동시에 실행해도 서로 기다리지 않는다.
+// 2) notifications가 월별 파티션 테이블이면 (db/notifications-partitioning.sql 적용 후 partitioning.enabled=true)
+//    앞으로 쓸 파티션을 미리 만들고, drop-after-months보다 오래된 파티션은 DROP TABLE로 한 번에 지운다.
+//    읽지 않은 알림이 남아 있는 파티션은 지우지 않고 남겨 두며, 그 안의 읽은 알림은 1)에서 행 단위로 지워진다.
+@Component
+public class NotificationRetentionService {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("notifications_p(\\d{6})");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // 타입별 설정이 없을 때 읽은 알림 보존 기간 (0 이하면 삭제하지 않음)
+    @Value("${notification.retention.default-ttl-days:90}")
+    private int defaultTtlDays;
+
+    // 타입별 읽은 알림 보존 기간, "TASK_DEADLINE_NEAR=14,TASK_STATUS_CHANGED=30" 형식
+    @Value("${notification.retention.ttl-days:}")
+    private String ttlDaysByType;
+
+    // 한 트랜잭션에서 삭제할 최대 행 수 (잠금 시간과 WAL 폭주 제한)
+    @Value("${notification.retention.batch-size:1000}")
+    private int batchSize;
+
+    // 한 번 실행에서 타입별 최대 배치 수 (남은 행은 다음 실행에서 처리)
+    @Value("${notification.retention.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    @Value("${notification.partitioning.enabled:false}")
+    private boolean partitioningEnabled;
+
+    // 현재 달 이후로 미리 만들어 둘 월 파티션 수
+    @Value("${notification.partitioning.months-ahead:2}")
+    private int monthsAhead;
+
+    // 이 개월 수보다 오래된 파티션은 통째로 삭제 (0 이하면 삭제하지 않음)
+    @Value("${notification.partitioning.drop-after-months:0}")
+    private int dropAfterMonths;
+
+    private final Map<Notification.NotificationType, Integer> ttlDays = new EnumMap<>(Notification.NotificationType.class);
+
+    @PostConstruct
+    public void parseTtls() {
+        for (Notification.NotificationType type : Notification.NotificationType.values()) {
+            ttlDays.put(type, defaultTtlDays);
+        }
+        if (ttlDaysByType == null || ttlDaysByType.isBlank()) {
+            return;
+        }
+        for (String entry : ttlDaysByType.split(",")) {
+            String[] pair = entry.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalStateException("잘못된 notification.retention.ttl-days 항목입니다: " + entry);
+            }
+            ttlDays.put(Notification.NotificationType.valueOf(pair[0].trim()), Integer.parseInt(pair[1].trim()));
+        }
+    }
+
+    // 기동 직후 다음 달 파티션이 없어서 INSERT가 실패하는 일이 없도록 한 번 실행
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (partitioningEnabled) {
+            maintainPartitions();
+        }
+    }
+
+    @Scheduled(cron = "${notification.retention.cron:0 30 3 * * *}")
+    public void run() {
+        if (partitioningEnabled) {
+            maintainPartitions();
+        }
+        purgeReadNotifications();
+    }
+
+    // 타입별 보존 기간이 지난 읽은 알림 삭제
+    public long purgeReadNotifications() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long total = 0;
+        for (Map.Entry<Notification.NotificationType, Integer> entry : ttlDays.entrySet()) {
+            if (entry.getValue() <= 0) {
+                continue;
+            }
+            String type = entry.getKey().name();
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(entry.getValue());
+            try {
+                for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                    Integer deleted = transactionTemplate.execute(
+                            status -> notificationRepository.deleteReadBefore(type, cutoff, batchSize));
+                    total += deleted != null ? deleted : 0;
+                    if (deleted == null || deleted < batchSize) {
+                        break;
+                    }
+                }
+            } catch (Exception e) {
+                System.err.println("알림 보존 정리 실패 - Type: " + type + ", Error: " + e.getMessage());
+            }
+        }
+
+        if (total > 0) {
+            System.out.println("보존 기간이 지난 읽은 알림 삭제: " + total + "건");
+        }
+        return total;
+    }
+
+    // 월 파티션 생성/삭제
+    public void maintainPartitions() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            createPartition(current.plusMonths(i));
+        }
+        if (dropAfterMonths > 0) {
+            dropPartitionsBefore(current.minusMonths(dropAfterMonths));
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        String name = "notifications_p" + month.format(PARTITION_SUFFIX);
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        try {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF notifications " +
+                                 "FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+        } catch (Exception e) {
+            // 다른 노드가 동시에 만든 경우 등
+            System.err.println("알림 파티션 생성 실패 - Partition: " + name + ", Error: " + e.getMessage());
+        }
+    }
+
+    // 해당 월보다 이전 달의 파티션 중 읽지 않은 알림이 없는 것만 삭제 (DETACH 후 DROP, 행 단위 삭제 없이 즉시 공간 반환)
+    private void dropPartitionsBefore(YearMonth oldestKept) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "JOIN pg_class p ON p.oid = i.inhparent " +
+                "WHERE p.relname = 'notifications'", String.class);
+
+        for (String name : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(name);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.parse(matcher.group(1), PARTITION_SUFFIX);
+            if (!month.isBefore(oldestKept)) {
+                continue;
+            }
+            try {
+                // 읽지 않은 알림은 보존 기간과 관계없이 지우지 않음
+                // 지난 달 파티션에는 새 행이 들어오지 않고 읽음 처리는 되돌려지지 않으므로 확인 후 삭제 사이에 읽지 않은 행이 생기지 않는다
+                Long unread = jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM " + name + " WHERE is_read = false", Long.class);
+                if (unread != null && unread > 0) {
+                    System.out.println("읽지 않은 알림이 남아 있어 파티션을 유지합니다 - Partition: " + name +
+                                     ", 읽지 않은 알림: " + unread + "건");
+                    continue;
+                }
+                jdbcTemplate.execute("ALTER TABLE notifications DETACH PARTITION " + name);
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + name);
+                System.out.println("오래된 알림 파티션 삭제: " + name);
+            } catch (Exception e) {
+                System.err.println("알림 파티션 삭제 실패 - Partition: " + name + ", Error: " + e.getMessage());
+            }
+        }
+    }
+}
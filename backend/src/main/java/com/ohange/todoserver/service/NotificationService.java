@@ -0,0 +1,139 @@
+package com.ohange.todoserver.service;
+
+import com.ohange.todoserver.entity.Notification;
+import com.ohange.todoserver.repository.NotificationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+// 알림 읽음/삭제 처리 (읽지 않은 알림 수 캐시에 증감분을 함께 기록)
+@Service
+@Transactional
+public class NotificationService {
+
+    // 일괄 읽음 처리 한 번에 받는 최대 ID 수 (IN 목록 크기 제한)
+    private static final int MAX_BULK_READ_IDS = 500;
+
+    // 알림 피드 커서 범위 (피드는 정렬/필터가 하나뿐)
+    private static final String FEED_CURSOR_SCOPE = "FEED";
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UnreadCountService unreadCountService;
+
+    // 특정 알림을 읽음으로 표시
+    public void markAsRead(UUID notificationId) {
+        Notification notification = notificationRepository.findById(notificationId)
+                .orElseThrow(() -> new IllegalArgumentException("알림을 찾을 수 없습니다."));
+
+        // 읽지 않은 상태에서 바뀐 경우에만 감소 (동시 요청이어도 한 번만 1이 반환됨)
+        int updated = notificationRepository.markAsRead(notificationId);
+        unreadCountService.recordChange(userIdOf(notification), -updated);
+    }
+
+    // 사용자의 모든 알림을 읽음으로 표시, 읽음 처리된 개수 반환
+    public int markAllAsRead(UUID userId) {
+        int updated = notificationRepository.markAllAsReadByUserId(userId);
+        unreadCountService.recordChange(userId, -updated);
+        return updated;
+    }
+
+    // 여러 알림을 한 번에 읽음으로 표시 (ID 목록 또는 "upToId 알림까지", 둘 중 하나)
+    // 어느 쪽이든 UPDATE 한 번으로 처리하고, 같은 트랜잭션에서 센 새 읽지 않은 알림 수를 함께 반환
+    public BulkReadResult markAsRead(UUID userId, List<UUID> notificationIds, UUID upToId) {
+        if (userId == null) {
+            throw new IllegalArgumentException("userId가 필요합니다.");
+        }
+        boolean byIds = notificationIds != null && !notificationIds.isEmpty();
+        if (byIds == (upToId != null)) {
+            throw new IllegalArgumentException("notificationIds와 upToId 중 하나만 지정해야 합니다.");
+        }
+
+        int updated;
+        if (byIds) {
+            if (notificationIds.size() > MAX_BULK_READ_IDS) {
+                throw new IllegalArgumentException("한 번에 최대 " + MAX_BULK_READ_IDS + "개까지 읽음 처리할 수 있습니다.");
+            }
+            updated = notificationRepository.markAsReadByIds(userId, new HashSet<>(notificationIds));
+        } else {
+            Notification marker = notificationRepository.findById(upToId)
+                    .filter(n -> userId.equals(userIdOf(n)))
+                    .orElseThrow(() -> new IllegalArgumentException("알림을 찾을 수 없습니다."));
+            updated = notificationRepository.markAsReadUpTo(userId, marker.getCreatedAt(), marker.getId());
+        }
+
+        unreadCountService.recordChange(userId, -updated);
+        long unreadCount = notificationRepository.countByUserIdAndIsReadFalse(userId);
+        return new BulkReadResult(updated, unreadCount);
+    }
+
+    // 알림 삭제 (읽지 않은 알림이었으면 개수 감소)
+    public void deleteNotification(UUID notificationId) {
+        Notification notification = notificationRepository.findById(notificationId)
+                .orElseThrow(() -> new IllegalArgumentException("알림을 찾을 수 없습니다."));
+
+        int deletedUnread = notificationRepository.deleteUnreadById(notificationId);
+        if (deletedUnread == 0) {
+            notificationRepository.deleteByIdReturningCount(notificationId);
+        }
+        unreadCountService.recordChange(userIdOf(notification), -deletedUnread);
+    }
+
+    // 알림 피드 (키셋 페이지네이션, 커서 위치와 무관하게 인덱스에서 size + 1개만 읽음)
+    @Transactional(readOnly = true)
+    public CursorPage<NotificationRepository.FeedRow> getFeed(UUID userId, String cursorToken, int size) {
+        if (size < 1 || size > 100) {
+            throw new IllegalArgumentException("size는 1에서 100 사이여야 합니다.");
+        }
+
+        KeysetCursor cursor = KeysetCursor.decode(cursorToken, FEED_CURSOR_SCOPE);
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<NotificationRepository.FeedRow> rows = cursor == null
+                ? notificationRepository.findFeed(userId, limit)
+                : notificationRepository.findFeedAfter(userId, cursor.getKey(), cursor.getId(), limit);
+
+        return CursorPage.of(rows, size, n -> new KeysetCursor(FEED_CURSOR_SCOPE, n.getCreatedAt(), n.getId()));
+    }
+
+    // 사용자의 모든 알림을 NDJSON으로 스트리밍 (엔티티 대신 프로젝션 행을 커서로 읽어 메모리 사용이 알림 수와 무관)
+    @Transactional(readOnly = true)
+    public long streamNotifications(UUID userId, OutputStream out) throws IOException {
+        try (Stream<NotificationRepository.NotificationRow> rows = notificationRepository.streamByUserId(userId)) {
+            return NdjsonWriter.write(rows, out);
+        }
+    }
+
+    // 읽지 않은 알림 개수 (캐시)
+    @Transactional(readOnly = true)
+    public long getUnreadCount(UUID userId) {
+        return unreadCountService.getUnreadCount(userId);
+    }
+
+    private UUID userIdOf(Notification notification) {
+        return notification.getUser() != null ? notification.getUser().getId() : null;
+    }
+
+    // 일괄 읽음 처리 결과
+    public static class BulkReadResult {
+        private final int updated;
+        private final long unreadCount;
+
+        public BulkReadResult(int updated, long unreadCount) {
+            this.updated = updated;
+            this.unreadCount = unreadCount;
+        }
+
+        public int getUpdated() { return updated; }
+        public long getUnreadCount() { return unreadCount; }
+    }
+}
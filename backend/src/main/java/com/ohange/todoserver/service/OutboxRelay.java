@@ -0,0 +1,213 @@
+package com.ohange.todoserver.service;
+
+import com.ohange.todoserver.entity.OutboxEvent;
+import com.ohange.todoserver.repository.OutboxEventRepository;
+import com.ohange.todoserver.websocket.BusEvent;
+import com.ohange.todoserver.websocket.MessageCodec;
+import com.ohange.todoserver.websocket.RealtimeBus;
+import com.ohange.todoserver.websocket.WebSocketMessage;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 아웃박스 릴레이
+// 커밋된 아웃박스 이벤트를 배치로 읽어 실시간 버스로 발행하고 삭제한다.
+// 버스가 모든 노드에 전달하므로 어느 노드가 릴레이해도 전체 클라이언트가 받는다.
+// 커밋 직후 wakeUp()으로 즉시 실행되며, 놓친 이벤트는 주기적 폴링으로 다시 처리한다.
+// dedupKey가 같은 이벤트는 노드와 배치에 관계없이 오래된 것이 새것보다 나중에 전송되지 않는다.
+// 신구는 DB 시퀀스가 부여한 seq로 판단한다 (created_at은 기록한 노드의 시계라 노드 간 시계 차이로 뒤바뀔 수 있음).
+@Component
+public class OutboxRelay {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private RealtimeBus realtimeBus;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.relay.max-attempts:5}")
+    private int maxAttempts;
+
+    // 릴레이는 노드당 하나의 스레드에서만 순차 실행
+    private final ExecutorService relayExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "outbox-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    // 릴레이 실행 요청 (이미 대기 중인 실행이 있으면 합쳐짐)
+    public void wakeUp() {
+        if (scheduled.compareAndSet(false, true)) {
+            relayExecutor.execute(() -> {
+                scheduled.set(false);
+                relayPending();
+            });
+        }
+    }
+
+    // 커밋 훅을 놓친 이벤트(노드 재시작 등)를 위한 주기적 폴링
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:1000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    // 대기 중인 이벤트가 없을 때까지 배치 단위로 전송
+    private void relayPending() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        try {
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed != null && relayed >= batchSize);
+        } catch (Exception e) {
+            System.err.println("아웃박스 릴레이 실패: " + e.getMessage());
+        }
+    }
+
+    // 배치 하나 처리 (트랜잭션 내부), 처리한 행 수 반환
+    private int relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        // 같은 dedupKey를 가진 이벤트는 마지막 것만 전송 (배치는 seq 순)
+        Map<String, OutboxEvent> latestByKey = new HashMap<>();
+        for (OutboxEvent event : batch) {
+            if (event.getDedupKey() != null) {
+                latestByKey.put(event.getDedupKey(), event);
+            }
+        }
+
+        List<UUID> done = new ArrayList<>();
+        KeyCheck keyCheck = checkOtherRows(batch, latestByKey, done);
+
+        for (OutboxEvent event : batch) {
+            String key = event.getDedupKey();
+            if (key != null) {
+                if (latestByKey.get(key) != event || keyCheck.superseded.contains(key)) {
+                    done.add(event.getId()); // 이후 이벤트로 대체됨
+                    continue;
+                }
+                if (keyCheck.deferred.contains(key)) {
+                    continue; // 다른 노드가 같은 키의 이전 이벤트를 처리 중, 그쪽이 끝난 뒤 다음 실행에서 전송
+                }
+            }
+
+            try {
+                dispatch(event);
+                done.add(event.getId());
+            } catch (Exception e) {
+                event.setAttempts(event.getAttempts() + 1);
+                if (event.getAttempts() >= maxAttempts) {
+                    System.err.println("아웃박스 이벤트 전송 포기 - Id: " + event.getId() +
+                                     ", Type: " + event.getMessageType() + ", Error: " + e.getMessage());
+                    done.add(event.getId());
+                } else {
+                    System.err.println("아웃박스 이벤트 전송 실패 (재시도 예정) - Id: " + event.getId() +
+                                     ", Attempts: " + event.getAttempts() + ", Error: " + e.getMessage());
+                }
+            }
+        }
+
+        outboxEventRepository.deleteAllByIdInBatch(done);
+
+        // 재시도 대기 이벤트만 남은 배치가 무한 반복되지 않도록 삭제된 건수만 반환
+        return done.size();
+    }
+
+    // 배치 밖에 있는 같은 키의 이벤트 확인
+    // 배치 밖의 행은 다른 노드가 잠근 행이거나 배치를 읽은 뒤 커밋된 행이다.
+    // - 더 새로운 행이 있으면 이 배치의 이벤트는 대체된 것으로 보고 보내지 않음
+    // - 더 오래된 행은 잠글 수 있으면 함께 삭제(done에 추가)하고, 다른 노드가 잠그고 있으면 그 노드가 보내거나
+    //   재시도로 남긴 뒤에 보내도록 이 배치의 이벤트를 미룸 (오래된 이벤트가 새 이벤트보다 나중에 전송되지 않도록)
+    private KeyCheck checkOtherRows(List<OutboxEvent> batch, Map<String, OutboxEvent> latestByKey, List<UUID> done) {
+        KeyCheck check = new KeyCheck();
+        if (latestByKey.isEmpty()) {
+            return check;
+        }
+
+        Set<UUID> inBatch = new HashSet<>();
+        for (OutboxEvent event : batch) {
+            inBatch.add(event.getId());
+        }
+
+        Map<UUID, String> older = new HashMap<>();
+        for (OutboxEventRepository.KeyedRow row : outboxEventRepository.findKeyedRows(latestByKey.keySet())) {
+            if (inBatch.contains(row.getId())) {
+                continue;
+            }
+            OutboxEvent mine = latestByKey.get(row.getDedupKey());
+            if (row.getSeq() > mine.getSeq()) {
+                check.superseded.add(row.getDedupKey());
+            } else {
+                older.put(row.getId(), row.getDedupKey());
+            }
+        }
+        if (older.isEmpty()) {
+            return check;
+        }
+
+        Set<UUID> locked = new HashSet<>(outboxEventRepository.lockIfUnlocked(older.keySet()));
+        for (Map.Entry<UUID, String> entry : older.entrySet()) {
+            if (locked.contains(entry.getKey())) {
+                done.add(entry.getKey());
+            } else {
+                check.deferred.add(entry.getValue());
+            }
+        }
+        return check;
+    }
+
+    // 원래 이벤트가 기록된 시각을 메시지 시각으로 사용 (재시도/지연과 무관하게 클라이언트가 순서를 판단할 수 있도록)
+    private void dispatch(OutboxEvent event) throws Exception {
+        Object payload = MessageCodec.readPayload(event.getMessageType(), event.getPayload());
+        WebSocketMessage message = new WebSocketMessage(event.getMessageType(), payload);
+        if (event.getCreatedAt() != null) {
+            message.setTimestamp(event.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+        switch (event.getTargetType()) {
+            case USER:
+                realtimeBus.publish(BusEvent.toUser(event.getTargetId(), message));
+                break;
+            case TEAM:
+                realtimeBus.publish(BusEvent.toTeam(event.getTargetId(), message));
+                break;
+        }
+    }
+
+    // 배치 밖 행 확인 결과 (대체된 키, 미룰 키)
+    private static class KeyCheck {
+        private final Set<String> superseded = new HashSet<>();
+        private final Set<String> deferred = new HashSet<>();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        relayExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,68 @@
+package com.ohange.todoserver.service;
+
+import com.ohange.todoserver.entity.OutboxEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.ohange.todoserver.repository.OutboxEventRepository;
+import com.ohange.todoserver.websocket.MessageCodec;
+import com.ohange.todoserver.websocket.WebSocketMessage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// 실시간 이벤트를 호출자의 트랜잭션 안에서 아웃박스에 기록
+// 트랜잭션이 롤백되면 이벤트도 함께 사라지고, 커밋된 뒤에만 릴레이가 전송한다.
+@Service
+@Transactional
+public class OutboxService {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    // 특정 사용자에게 보낼 이벤트 기록
+    public void enqueueToUser(String userId, WebSocketMessage message) {
+        enqueueToUser(userId, message, null);
+    }
+
+    // 특정 사용자에게 보낼 이벤트 기록 (dedupKey가 같은 미전송 이벤트는 마지막 것만 전송됨)
+    public void enqueueToUser(String userId, WebSocketMessage message, String dedupKey) {
+        save(new OutboxEvent(OutboxEvent.TargetType.USER, userId, message.getType(), payloadOf(message), dedupKey));
+    }
+
+    // 팀 전체에게 보낼 이벤트 기록 (dedupKey가 같은 미전송 이벤트는 마지막 것만 전송됨)
+    public void enqueueToTeam(String teamId, WebSocketMessage message, String dedupKey) {
+        save(new OutboxEvent(OutboxEvent.TargetType.TEAM, teamId, message.getType(), payloadOf(message), dedupKey));
+    }
+
+    // 페이로드는 기록 시점에 한 번만 JSON으로 직렬화
+    private String payloadOf(WebSocketMessage message) {
+        try {
+            return MessageCodec.writePayload(message.getData());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("실시간 이벤트 직렬화 실패: " + message.getType(), e);
+        }
+    }
+
+    private void save(OutboxEvent event) {
+        outboxEventRepository.save(event);
+        wakeUpRelayAfterCommit();
+    }
+
+    // 커밋 직후 릴레이를 깨워 폴링 주기만큼 기다리지 않도록 함
+    private void wakeUpRelayAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    outboxRelay.wakeUp();
+                }
+            });
+        } else {
+            outboxRelay.wakeUp();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.ohange.todoserver.service;
+
+import com.ohange.todoserver.websocket.BusEvent;
+import com.ohange.todoserver.websocket.MessagePayloads;
+import com.ohange.todoserver.websocket.PresenceTracker;
+import com.ohange.todoserver.websocket.RealtimeBus;
+import com.ohange.todoserver.websocket.TaskWebSocketHandler;
+import com.ohange.todoserver.websocket.WebSocketMessage;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+// 팀 접속 현황 (클러스터 전체)
+// 각 노드는 flush 주기마다 자기 PresenceTracker의 순변화를 실시간 버스로 모든 노드에 보내고,
+// 모든 노드는 노드별 온라인 집합을 ClusterPresence에 합쳐 클러스터 기준 순변화만 자기 세션에 PRESENCE_DIFF로 보낸다.
+// 새로 뜬 노드, 버스 수신 공백을 겪은 노드, 처음 보는 노드의 소식을 받은 노드는 전체 상태를 요청해 맞추고,
+// 소식이 끊긴 노드의 사용자는 presence.node-timeout-ms가 지나면 오프라인으로 내린다.
+@Service
+public class PresenceService {
+
+    private static final String GAP_TYPE = "REALTIME_BUS_GAP";
+    private static final String DIFF_TYPE = "PRESENCE_NODE_DIFF";
+    private static final String STATE_TYPE = "PRESENCE_NODE_STATE";
+    private static final String ALIVE_TYPE = "PRESENCE_NODE_ALIVE";
+    private static final String SYNC_REQUEST_TYPE = "PRESENCE_SYNC_REQUEST";
+    private static final String ALL_NODES = "*";
+
+    @Autowired
+    private PresenceTracker presenceTracker;
+
+    @Autowired
+    private TaskWebSocketHandler webSocketHandler;
+
+    @Autowired
+    private TeamMembershipIndex membershipIndex;
+
+    @Autowired
+    private RealtimeBus realtimeBus;
+
+    // 변화가 없을 때 생존 알림을 보내는 주기
+    @Value("${presence.node-heartbeat-ms:10000}")
+    private long nodeHeartbeatMs;
+
+    // 이 시간 동안 소식이 없는 노드의 사용자는 오프라인으로 처리
+    @Value("${presence.node-timeout-ms:30000}")
+    private long nodeTimeoutMs;
+
+    // 이 노드 식별자 (재시작하면 바뀌고, 이전 식별자는 다른 노드에서 타임아웃으로 정리됨)
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final ClusterPresence cluster = new ClusterPresence(nodeId);
+
+    private volatile long lastAnnouncedAt;
+
+    @PostConstruct
+    public void subscribeToBus() {
+        realtimeBus.subscribe(this::onBusEvent);
+        // 이미 떠 있는 노드들의 온라인 사용자 요청
+        realtimeBus.publish(BusEvent.toNodes(ALL_NODES, WebSocketMessage.presenceSyncRequest(nodeId)));
+    }
+
+    // 종료 시 다른 노드에서 이 노드의 사용자를 바로 내리도록 빈 상태를 보냄
+    @PreDestroy
+    public void leaveCluster() {
+        try {
+            realtimeBus.publish(BusEvent.toNodes(nodeId, WebSocketMessage.presenceNodeState(nodeId, Map.of())));
+        } catch (Exception e) {
+            System.err.println("presence 노드 종료 알림 실패 - Error: " + e.getMessage());
+        }
+    }
+
+    // 주기적으로 팀별 presence 순변화를 모아 한 번에 전송 (접속/종료마다 이벤트를 보내지 않음)
+    @Scheduled(fixedDelayString = "${presence.flush-interval-ms:2000}")
+    public void flushPresenceDiffs() {
+        long now = System.currentTimeMillis();
+
+        // 이 노드의 순변화를 클러스터 뷰에 바로 반영하고 다른 노드로 전파
+        boolean announced = false;
+        for (PresenceTracker.PresenceDiff diff : presenceTracker.drainDiffs()) {
+            cluster.apply(nodeId, diff.getTeamId(), diff.getOnline(), diff.getOffline(), now);
+            realtimeBus.publish(BusEvent.toNodes(diff.getTeamId(),
+                    WebSocketMessage.presenceNodeDiff(nodeId, diff.getOnline(), diff.getOffline())));
+            announced = true;
+        }
+        if (!announced && now - lastAnnouncedAt >= nodeHeartbeatMs) {
+            realtimeBus.publish(BusEvent.toNodes(ALL_NODES, WebSocketMessage.presenceNodeAlive(nodeId)));
+            announced = true;
+        }
+        if (announced) {
+            lastAnnouncedAt = now;
+        }
+
+        for (String expired : cluster.expire(now, nodeTimeoutMs)) {
+            System.out.println("응답 없는 노드의 presence 정리 - Node: " + expired);
+        }
+
+        for (PresenceTracker.PresenceDiff diff : cluster.drainDiffs()) {
+            webSocketHandler.broadcastEphemeralToTeam(diff.getTeamId(), WebSocketMessage.presenceDiff(diff));
+        }
+    }
+
+    // 다른 노드에서 온 presence 동기화 메시지 반영 (자기 메시지는 무시)
+    private void onBusEvent(BusEvent event) {
+        if (event.getTarget() != BusEvent.Target.NODE) {
+            return;
+        }
+        String type = event.getMessage().getType();
+        Object data = event.getMessage().getData();
+        long now = System.currentTimeMillis();
+
+        if (GAP_TYPE.equals(type)) {
+            // 공백 동안 놓친 다른 노드의 변화가 있을 수 있으므로 전체 상태를 다시 요청
+            realtimeBus.publish(BusEvent.toNodes(ALL_NODES, WebSocketMessage.presenceSyncRequest(nodeId)));
+        } else if (DIFF_TYPE.equals(type) && data instanceof MessagePayloads.PresenceNodeDiff diff
+                && !nodeId.equals(diff.nodeId())) {
+            boolean unknown = cluster.touch(diff.nodeId(), now);
+            cluster.apply(diff.nodeId(), event.getTargetId(), diff.online(), diff.offline(), now);
+            if (unknown) {
+                requestState(diff.nodeId());
+            }
+        } else if (STATE_TYPE.equals(type) && data instanceof MessagePayloads.PresenceNodeState state
+                && !nodeId.equals(state.nodeId())) {
+            cluster.replaceNode(state.nodeId(), state.teams() != null ? state.teams() : Map.of(), now);
+        } else if (ALIVE_TYPE.equals(type) && data instanceof MessagePayloads.PresenceNode node
+                && !nodeId.equals(node.nodeId())) {
+            if (cluster.touch(node.nodeId(), now)) {
+                requestState(node.nodeId());
+            }
+        } else if (SYNC_REQUEST_TYPE.equals(type) && data instanceof MessagePayloads.PresenceNode node
+                && !nodeId.equals(node.nodeId())
+                && (ALL_NODES.equals(event.getTargetId()) || nodeId.equals(event.getTargetId()))) {
+            realtimeBus.publish(BusEvent.toNodes(nodeId,
+                    WebSocketMessage.presenceNodeState(nodeId, presenceTracker.snapshotAll())));
+        }
+    }
+
+    // 처음 보는 노드에 전체 상태 요청 (그 노드가 먼저 떠 있어 시작 시 요청에 답이 없었던 경우 등)
+    private void requestState(String otherNodeId) {
+        realtimeBus.publish(BusEvent.toNodes(otherNodeId, WebSocketMessage.presenceSyncRequest(nodeId)));
+    }
+
+    // 팀의 현재 온라인 멤버 조회 (이 노드는 실시간 상태, 다른 노드는 마지막으로 받은 상태를 합침)
+    // 권한 확인도 멤버십 인덱스로 DB 조회 없음
+    public PresenceSnapshot getTeamPresence(UUID teamId, UUID userId) {
+        // 사용자가 해당 팀의 멤버인지 확인
+        if (!membershipIndex.isMember(teamId, userId)) {
+            throw new IllegalArgumentException("팀 멤버만 접속 현황을 조회할 수 있습니다.");
+        }
+
+        Set<String> onlineUserIds = new HashSet<>(presenceTracker.snapshot(teamId.toString()));
+        onlineUserIds.addAll(cluster.snapshot(teamId.toString(), nodeId));
+        return new PresenceSnapshot(teamId, Set.copyOf(onlineUserIds), LocalDateTime.now());
+    }
+
+    // 팀 접속 현황 DTO
+    public static class PresenceSnapshot {
+        private final UUID teamId;
+        private final Set<String> onlineUserIds;
+        private final LocalDateTime timestamp;
+
+        public PresenceSnapshot(UUID teamId, Set<String> onlineUserIds, LocalDateTime timestamp) {
+            this.teamId = teamId;
+            this.onlineUserIds = onlineUserIds;
+            this.timestamp = timestamp;
+        }
+
+        public UUID getTeamId() { return teamId; }
+        public Set<String> getOnlineUserIds() { return onlineUserIds; }
+        public LocalDateTime getTimestamp() { return timestamp; }
+    }
+}
@@ -4,14 +4,14 @@ import com.ohange.todoserver.entity.Notification;
 import com.ohange.todoserver.entity.TodoTask;
 import com.ohange.todoserver.entity.User;
 import com.ohange.todoserver.repository.NotificationRepository;
-import com.ohange.todoserver.websocket.TaskWebSocketHandler;
+import com.ohange.todoserver.websocket.MessageCodec;
+import com.ohange.todoserver.websocket.MessagePayloads;
 import com.ohange.todoserver.websocket.WebSocketMessage;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
-import java.util.Map;
+import java.time.LocalDateTime;
 
 @Service
 public class RealtimeNotificationService {
@@ -19,8 +19,21 @@ public class RealtimeNotificationService {
     @Autowired
     private NotificationRepository notificationRepository;
 
+    // WebSocket 이벤트는 아웃박스에 기록하고 커밋 이후 릴레이가 전송
     @Autowired
-    private TaskWebSocketHandler webSocketHandler;
+    private OutboxService outboxService;
+
+    // 새 알림은 읽지 않은 상태로 저장되므로 카운터 증가
+    @Autowired
+    private UnreadCountService unreadCountService;
+
+    // 알림 문구/페이로드의 사용자 이름 (연관 User 프록시를 초기화하지 않음)
+    @Autowired
+    private UserDirectory userDirectory;
+
+    // 읽지 않은 같은 태스크의 상태 변경 알림을 한 행으로 합칠지 여부
+    @Value("${notification.aggregation.enabled:true}")
+    private boolean aggregationEnabled;
 
     // 태스크 할당 시 실시간 알림
     public void notifyTaskAssigned(TodoTask task) {
@@ -30,18 +43,19 @@ public class RealtimeNotificationService {
         notification.setTask(task);
         notification.setType(Notification.NotificationType.TASK_ASSIGNED);
         notification.setTitle("새 태스크 할당");
-        notification.setMessage(task.getRequester().getName() + "님이 새 태스크를 할당했습니다: " + task.getTitle());
+        notification.setMessage(userDirectory.nameOf(task.getRequester()) + "님이 새 태스크를 할당했습니다: " + task.getTitle());
         
-        Map<String, Object> data = createTaskAssignedData(task);
-        notification.setData(data);
+        MessagePayloads.TaskAssigned data = createTaskAssignedData(task);
+        notification.setData(MessageCodec.toMap(data));
         
         notificationRepository.save(notification);
+        unreadCountService.recordChange(notification.getUser().getId(), 1);
 
-        // 2. WebSocket으로 실시간 전송
+        // 2. WebSocket 실시간 전송 예약 (커밋 이후 전송)
         WebSocketMessage message = WebSocketMessage.taskAssigned(data);
-        webSocketHandler.sendToUser(task.getAssignee().getId().toString(), message);
+        outboxService.enqueueToUser(task.getAssignee().getId().toString(), message);
         
-        System.out.println("태스크 할당 알림 발송: " + task.getAssignee().getName() + " -> " + task.getTitle());
+        System.out.println("태스크 할당 알림 발송: " + userDirectory.nameOf(task.getAssignee()) + " -> " + task.getTitle());
     }
 
     // 태스크 완료 시 실시간 알림
@@ -52,114 +66,176 @@ public class RealtimeNotificationService {
         notification.setTask(task);
         notification.setType(Notification.NotificationType.TASK_COMPLETED);
         notification.setTitle("태스크 완료됨");
-        notification.setMessage(task.getAssignee().getName() + "님이 태스크를 완료했습니다: " + task.getTitle());
+        notification.setMessage(userDirectory.nameOf(task.getAssignee()) + "님이 태스크를 완료했습니다: " + task.getTitle());
         
-        Map<String, Object> data = createTaskCompletedData(task);
-        notification.setData(data);
+        MessagePayloads.TaskCompleted data = createTaskCompletedData(task);
+        notification.setData(MessageCodec.toMap(data));
         
         notificationRepository.save(notification);
+        unreadCountService.recordChange(notification.getUser().getId(), 1);
 
-        // 2. WebSocket으로 요청자에게 실시간 전송
+        // 2. WebSocket으로 요청자에게 실시간 전송 예약 (커밋 이후 전송)
         WebSocketMessage message = WebSocketMessage.taskCompleted(data);
-        webSocketHandler.sendToUser(task.getRequester().getId().toString(), message);
+        outboxService.enqueueToUser(task.getRequester().getId().toString(), message);
 
         // 3. 팀 전체에게도 상태 업데이트 브로드캐스트
         WebSocketMessage teamUpdate = WebSocketMessage.teamTaskUpdate(
-                Map.of("action", "UPDATE", "task", createTaskDto(task)));
-        webSocketHandler.broadcastToTeam(task.getTeam().getId().toString(), teamUpdate);
+                new MessagePayloads.TeamTaskUpdate("UPDATE", createTaskDto(task)));
+        outboxService.enqueueToTeam(task.getTeam().getId().toString(), teamUpdate, teamUpdateKey(task));
         
-        System.out.println("태스크 완료 알림 발송: " + task.getRequester().getName() + " <- " + task.getTitle());
+        System.out.println("태스크 완료 알림 발송: " + userDirectory.nameOf(task.getRequester()) + " <- " + task.getTitle());
     }
 
     // 태스크 상태 변경 알림
+    // 집계 모드에서는 받는 사람이 아직 읽지 않은 같은 태스크의 상태 변경 알림이 있으면 새 행을 만들지 않고
+    // 그 행의 집계 수를 늘리고 최신 상태로 덮어쓴다 (읽지 않은 알림 수는 그대로).
+    // 같은 태스크의 상태 변경은 태스크 행 잠금으로 직렬화되므로(TodoTaskService.updateTaskStatus) 동시에 두 행이 생기거나
+    // 집계 수가 유실되지 않고, 집계 대상 행도 잠그고 읽어 읽음 처리와 경합하지 않는다.
     public void notifyTaskStatusChanged(TodoTask task, TodoTask.TodoTaskStatus oldStatus, 
                                       TodoTask.TodoTaskStatus newStatus, User changedBy) {
         // 상태 변경자가 아닌 관련자들에게 알림
         User targetUser = changedBy.getId().equals(task.getAssignee().getId()) ? 
                          task.getRequester() : task.getAssignee();
 
-        Notification notification = new Notification();
-        notification.setUser(targetUser);
-        notification.setTask(task);
-        notification.setType(Notification.NotificationType.TASK_STATUS_CHANGED);
-        notification.setTitle("태스크 상태 변경");
+        Notification notification = aggregationEnabled
+                ? notificationRepository.findFirstByUserIdAndTaskIdAndTypeAndIsReadFalseOrderByCreatedAtDesc(
+                        targetUser.getId(), task.getId(), Notification.NotificationType.TASK_STATUS_CHANGED).orElse(null)
+                : null;
+        boolean aggregated = notification != null;
+        if (aggregated) {
+            notification.setAggregateCount(notification.getAggregateCount() + 1);
+            notification.setLastEventAt(LocalDateTime.now());
+        } else {
+            notification = new Notification();
+            notification.setUser(targetUser);
+            notification.setTask(task);
+            notification.setType(Notification.NotificationType.TASK_STATUS_CHANGED);
+            notification.setTitle("태스크 상태 변경");
+        }
         notification.setMessage(String.format("%s님이 태스크 상태를 %s에서 %s로 변경했습니다: %s", 
-                               changedBy.getName(), getStatusKorean(oldStatus), getStatusKorean(newStatus), task.getTitle()));
+                               userDirectory.nameOf(changedBy), getStatusKorean(oldStatus), getStatusKorean(newStatus), task.getTitle()));
         
-        Map<String, Object> data = createTaskStatusChangedData(task, oldStatus, newStatus, changedBy);
-        notification.setData(data);
+        MessagePayloads.TaskStatusChanged data = createTaskStatusChangedData(task, oldStatus, newStatus, changedBy,
+                                                                             notification.getAggregateCount());
+        notification.setData(MessageCodec.toMap(data));
         
-        notificationRepository.save(notification);
+        // 집계된 알림은 관리 상태이므로 커밋 시 UPDATE로 반영됨
+        if (!aggregated) {
+            notificationRepository.save(notification);
+            unreadCountService.recordChange(targetUser.getId(), 1);
+        }
 
-        // WebSocket 실시간 전송
+        // WebSocket 실시간 전송 예약 (커밋 이후 전송, 같은 태스크의 미전송 상태 변경은 마지막 것만 전송)
         WebSocketMessage message = WebSocketMessage.taskStatusChanged(data);
-        webSocketHandler.sendToUser(targetUser.getId().toString(), message);
+        outboxService.enqueueToUser(targetUser.getId().toString(), message, statusChangeKey(task, targetUser));
         
         // 팀 전체에게도 상태 업데이트 브로드캐스트
         WebSocketMessage teamUpdate = WebSocketMessage.teamTaskUpdate(
-                Map.of("action", "UPDATE", "task", createTaskDto(task)));
-        webSocketHandler.broadcastToTeam(task.getTeam().getId().toString(), teamUpdate);
+                new MessagePayloads.TeamTaskUpdate("UPDATE", createTaskDto(task)));
+        outboxService.enqueueToTeam(task.getTeam().getId().toString(), teamUpdate, teamUpdateKey(task));
         
-        System.out.println("태스크 상태 변경 알림 발송: " + targetUser.getName() + " -> " + task.getTitle());
+        System.out.println("태스크 상태 변경 알림 발송: " + userDirectory.nameOf(targetUser) + " -> " + task.getTitle() +
+                           (aggregated ? " (집계 " + notification.getAggregateCount() + "건)" : ""));
+    }
+
+    // 마감 임박 알림 (담당자에게, leadMinutes: 마감 몇 분 전 알림인지)
+    public void notifyTaskDeadlineNear(TodoTask task, int leadMinutes) {
+        Notification notification = new Notification();
+        notification.setUser(task.getAssignee());
+        notification.setTask(task);
+        notification.setType(Notification.NotificationType.TASK_DEADLINE_NEAR);
+        notification.setTitle("마감 임박");
+        notification.setMessage(String.format("태스크 마감까지 %s 남았습니다: %s", formatLeadTime(leadMinutes), task.getTitle()));
+
+        MessagePayloads.TaskDeadlineNear data = new MessagePayloads.TaskDeadlineNear(
+                task.getId().toString(),
+                task.getTitle(),
+                task.getDeadline(),
+                leadMinutes,
+                task.getTeam().getId().toString(),
+                task.getTeam().getName());
+        notification.setData(MessageCodec.toMap(data));
+
+        notificationRepository.save(notification);
+        unreadCountService.recordChange(notification.getUser().getId(), 1);
+
+        // WebSocket 실시간 전송 예약 (커밋 이후 전송, 같은 태스크의 미전송 마감 알림은 마지막 것만 전송)
+        WebSocketMessage message = WebSocketMessage.taskDeadlineNear(data);
+        outboxService.enqueueToUser(task.getAssignee().getId().toString(), message,
+                "TASK_DEADLINE_NEAR:" + task.getAssignee().getId() + ":" + task.getId());
+
+        System.out.println("마감 임박 알림 발송: " + userDirectory.nameOf(task.getAssignee()) + " -> " + task.getTitle() +
+                           " (" + leadMinutes + "분 전)");
     }
 
     // 태스크 할당 데이터 생성
-    private Map<String, Object> createTaskAssignedData(TodoTask task) {
-        Map<String, Object> data = new HashMap<>();
-        data.put("taskId", task.getId().toString());
-        data.put("title", task.getTitle());
-        data.put("content", task.getContent());
-        data.put("requester", task.getRequester().getName());
-        data.put("deadline", task.getDeadline() != null ? 
-                task.getDeadline().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) : null);
-        data.put("teamId", task.getTeam().getId().toString());
-        data.put("teamName", task.getTeam().getName());
-        return data;
+    private MessagePayloads.TaskAssigned createTaskAssignedData(TodoTask task) {
+        return new MessagePayloads.TaskAssigned(
+                task.getId().toString(),
+                task.getTitle(),
+                task.getContent(),
+                userDirectory.nameOf(task.getRequester()),
+                task.getDeadline(),
+                task.getTeam().getId().toString(),
+                task.getTeam().getName());
     }
 
     // 태스크 완료 데이터 생성
-    private Map<String, Object> createTaskCompletedData(TodoTask task) {
-        Map<String, Object> data = new HashMap<>();
-        data.put("taskId", task.getId().toString());
-        data.put("title", task.getTitle());
-        data.put("assignee", task.getAssignee().getName());
-        data.put("completedAt", task.getCompletedAt() != null ? 
-                task.getCompletedAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) : null);
-        data.put("completionNote", task.getCompletionNote());
-        data.put("teamId", task.getTeam().getId().toString());
-        data.put("teamName", task.getTeam().getName());
-        return data;
+    private MessagePayloads.TaskCompleted createTaskCompletedData(TodoTask task) {
+        return new MessagePayloads.TaskCompleted(
+                task.getId().toString(),
+                task.getTitle(),
+                userDirectory.nameOf(task.getAssignee()),
+                task.getCompletedAt(),
+                task.getCompletionNote(),
+                task.getTeam().getId().toString(),
+                task.getTeam().getName());
     }
 
     // 태스크 상태 변경 데이터 생성
-    private Map<String, Object> createTaskStatusChangedData(TodoTask task, TodoTask.TodoTaskStatus oldStatus, 
-                                                           TodoTask.TodoTaskStatus newStatus, User changedBy) {
-        Map<String, Object> data = new HashMap<>();
-        data.put("taskId", task.getId().toString());
-        data.put("title", task.getTitle());
-        data.put("oldStatus", oldStatus.name());
-        data.put("newStatus", newStatus.name());
-        data.put("changedBy", changedBy.getName());
-        data.put("teamId", task.getTeam().getId().toString());
-        return data;
+    private MessagePayloads.TaskStatusChanged createTaskStatusChangedData(TodoTask task, TodoTask.TodoTaskStatus oldStatus,
+                                                                         TodoTask.TodoTaskStatus newStatus, User changedBy,
+                                                                         int count) {
+        return new MessagePayloads.TaskStatusChanged(
+                task.getId().toString(),
+                task.getTitle(),
+                oldStatus.name(),
+                newStatus.name(),
+                userDirectory.nameOf(changedBy),
+                task.getTeam().getId().toString(),
+                count);
     }
 
-    // 태스크 DTO 생성 (팀 브로드캐스트용)
-    private Map<String, Object> createTaskDto(TodoTask task) {
-        Map<String, Object> taskDto = new HashMap<>();
-        taskDto.put("id", task.getId().toString());
-        taskDto.put("title", task.getTitle());
-        taskDto.put("content", task.getContent());
-        taskDto.put("status", task.getStatus().name());
-        taskDto.put("requester", Map.of("id", task.getRequester().getId().toString(), "name", task.getRequester().getName()));
-        taskDto.put("assignee", Map.of("id", task.getAssignee().getId().toString(), "name", task.getAssignee().getName()));
-        taskDto.put("deadline", task.getDeadline() != null ? 
-                task.getDeadline().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) : null);
-        taskDto.put("createdAt", task.getCreatedAt() != null ? 
-                task.getCreatedAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) : null);
-        taskDto.put("completedAt", task.getCompletedAt() != null ? 
-                task.getCompletedAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) : null);
-        return taskDto;
+    // 태스크 요약 생성 (팀 브로드캐스트용)
+    private MessagePayloads.TaskSummary createTaskDto(TodoTask task) {
+        return new MessagePayloads.TaskSummary(
+                task.getId().toString(),
+                task.getTitle(),
+                task.getContent(),
+                task.getStatus().name(),
+                new MessagePayloads.UserRef(task.getRequester().getId().toString(), userDirectory.nameOf(task.getRequester())),
+                new MessagePayloads.UserRef(task.getAssignee().getId().toString(), userDirectory.nameOf(task.getAssignee())),
+                task.getDeadline(),
+                task.getCreatedAt(),
+                task.getCompletedAt());
+    }
+
+    // 사용자별로 같은 태스크의 상태 변경 이벤트는 최신 것만 전송
+    private String statusChangeKey(TodoTask task, User targetUser) {
+        return "TASK_STATUS_CHANGED:" + targetUser.getId() + ":" + task.getId();
+    }
+
+    // 같은 태스크의 팀 업데이트는 최신 상태만 전송하면 되므로 태스크 단위로 중복 제거
+    private String teamUpdateKey(TodoTask task) {
+        return "TEAM_TASK_UPDATE:" + task.getId();
+    }
+
+    // 리드 타임 표시 (시간 단위로 나누어떨어지면 시간, 아니면 분)
+    private String formatLeadTime(int leadMinutes) {
+        if (leadMinutes >= 60 && leadMinutes % 60 == 0) {
+            return (leadMinutes / 60) + "시간";
+        }
+        return leadMinutes + "분";
     }
 
     // 상태를 한국어로 변환
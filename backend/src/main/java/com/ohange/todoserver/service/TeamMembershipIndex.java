@@ -0,0 +1,192 @@
+package com.ohange.todoserver.service;
+
+import com.ohange.todoserver.entity.TeamMembership;
+import com.ohange.todoserver.repository.TeamMembershipRepository;
+import com.ohange.todoserver.websocket.BusEvent;
+import com.ohange.todoserver.websocket.RealtimeBus;
+import com.ohange.todoserver.websocket.WebSocketMessage;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+// 팀 멤버십/역할 인덱스 (메모리)
+// 팀을 처음 확인할 때 그 팀의 (userId -> 역할)을 한 번에 읽어 두고, 이후 권한 확인은 DB를 거치지 않는다.
+// 멤버 추가/제거, 역할 변경, 팀 생성/삭제가 커밋되면 해당 팀만 비우고, 실시간 버스로 다른 노드에도 알린다.
+// 읽는 도중 무효화가 일어나면 읽은 결과는 캐시하지 않는다 (자리표시 엔트리를 교체할 수 있을 때만 저장).
+// 팀 수가 한도를 넘으면 UserDirectory처럼 가장 오래 안 쓴 팀부터 비우되, 읽는 중인 자리표시는 건너뛴다.
+@Component
+public class TeamMembershipIndex {
+
+    private static final String INVALIDATE_TYPE = "TEAM_MEMBERSHIP_CHANGED";
+    private static final String GAP_TYPE = "REALTIME_BUS_GAP";
+
+    @Autowired
+    private TeamMembershipRepository teamMembershipRepository;
+
+    @Autowired
+    private RealtimeBus realtimeBus;
+
+    // 메모리에 유지할 최대 팀 수 (넘으면 가장 오래 안 쓴 팀부터 비움)
+    @Value("${team.membership-index.max-teams:10000}")
+    private int maxTeams;
+
+    // teamId -> 멤버 (접근 순서, members가 null이면 읽는 중인 자리표시), teams 모니터로 보호
+    private final LinkedHashMap<UUID, TeamEntry> teams = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    @PostConstruct
+    public void subscribeToBus() {
+        realtimeBus.subscribe(this::onBusEvent);
+    }
+
+    public boolean isMember(UUID teamId, UUID userId) {
+        return members(teamId).containsKey(userId);
+    }
+
+    public boolean isAdmin(UUID teamId, UUID userId) {
+        return members(teamId).get(userId) == TeamMembership.Role.ADMIN;
+    }
+
+    // 현재 트랜잭션이 커밋된 뒤 모든 노드에서 팀 항목 제거 (트랜잭션 밖이면 즉시)
+    public void invalidateAfterCommit(UUID teamId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(teamId);
+                }
+            });
+        } else {
+            invalidate(teamId);
+        }
+    }
+
+    private void invalidate(UUID teamId) {
+        // 이 노드는 바로 비워 요청한 사용자가 곧바로 바뀐 권한을 보도록 하고, 다른 노드는 버스로 비움
+        evict(teamId);
+        realtimeBus.publish(BusEvent.toNodes(teamId.toString(), WebSocketMessage.teamMembershipChanged()));
+    }
+
+    private void onBusEvent(BusEvent event) {
+        if (event.getTarget() != BusEvent.Target.NODE) {
+            return;
+        }
+        if (INVALIDATE_TYPE.equals(event.getMessage().getType())) {
+            evict(UUID.fromString(event.getTargetId()));
+        } else if (GAP_TYPE.equals(event.getMessage().getType())) {
+            // 버스 수신 공백 동안 놓친 무효화가 있을 수 있으므로 전체를 비움
+            synchronized (teams) {
+                invalidations.add(teams.size());
+                teams.clear();
+            }
+        }
+    }
+
+    private void evict(UUID teamId) {
+        synchronized (teams) {
+            if (teams.remove(teamId) != null) {
+                invalidations.increment();
+            }
+        }
+    }
+
+    private Map<UUID, TeamMembership.Role> members(UUID teamId) {
+        TeamEntry placeholder = null;
+        synchronized (teams) {
+            TeamEntry entry = teams.get(teamId);
+            if (entry != null && entry.members != null) {
+                hits.increment();
+                return entry.members;
+            }
+            misses.increment();
+
+            // 다른 스레드가 읽는 중이면 자리표시를 두지 않고 이 스레드도 직접 읽음 (결과는 저장하지 않음)
+            if (entry == null) {
+                placeholder = new TeamEntry(null);
+                teams.put(teamId, placeholder);
+                evictOverflow();
+            }
+        }
+
+        Map<UUID, TeamMembership.Role> loaded = new HashMap<>();
+        for (Object[] row : teamMembershipRepository.findMemberRoles(teamId)) {
+            loaded.put((UUID) row[0], (TeamMembership.Role) row[1]);
+        }
+
+        // 읽는 동안 무효화되었으면(자리표시가 사라졌거나 바뀜) 저장하지 않음
+        if (placeholder != null) {
+            synchronized (teams) {
+                if (teams.get(teamId) == placeholder) {
+                    teams.put(teamId, new TeamEntry(Map.copyOf(loaded)));
+                }
+            }
+        }
+        return loaded;
+    }
+
+    // 가장 오래 안 쓴 팀부터 비움 (teams 모니터 안에서 호출)
+    // 자리표시를 지우면 읽는 중인 결과를 저장하지 못하므로 건너뛴다
+    private void evictOverflow() {
+        Iterator<TeamEntry> iterator = teams.values().iterator();
+        while (teams.size() > maxTeams && iterator.hasNext()) {
+            if (iterator.next().members != null) {
+                iterator.remove();
+            }
+        }
+    }
+
+    // 기동 이후 누적 지표
+    public Stats getStats() {
+        int cachedTeams;
+        synchronized (teams) {
+            cachedTeams = teams.size();
+        }
+        return new Stats(hits.sum(), misses.sum(), invalidations.sum(), cachedTeams);
+    }
+
+    private static class TeamEntry {
+        private final Map<UUID, TeamMembership.Role> members;
+
+        TeamEntry(Map<UUID, TeamMembership.Role> members) {
+            this.members = members;
+        }
+    }
+
+    // 인덱스 지표 DTO
+    public static class Stats {
+        private final long hits;
+        private final long misses;
+        private final long invalidations;
+        private final int cachedTeams;
+
+        public Stats(long hits, long misses, long invalidations, int cachedTeams) {
+            this.hits = hits;
+            this.misses = misses;
+            this.invalidations = invalidations;
+            this.cachedTeams = cachedTeams;
+        }
+
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getInvalidations() { return invalidations; }
+        public int getCachedTeams() { return cachedTeams; }
+
+        public double getHitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+}
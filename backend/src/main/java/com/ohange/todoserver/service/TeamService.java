@@ -10,6 +10,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -23,6 +24,12 @@ public class TeamService {
     @Autowired
     private TeamMembershipRepository teamMembershipRepository;
 
+    @Autowired
+    private TeamMembershipIndex membershipIndex;
+
+    @Autowired
+    private UserDirectory userDirectory;
+
     // 팀 생성
     public Team createTeam(String name, String description, UUID creatorId) {
         // 팀명 중복 체크
@@ -34,9 +41,10 @@ public class TeamService {
         Team savedTeam = teamRepository.save(team);
 
         // 생성자를 팀 관리자로 추가
-        User creator = getUserById(creatorId);
+        User creator = userDirectory.reference(creatorId);
         TeamMembership membership = new TeamMembership(savedTeam, creator, TeamMembership.Role.ADMIN);
         teamMembershipRepository.save(membership);
+        membershipIndex.invalidateAfterCommit(savedTeam.getId());
 
         return savedTeam;
     }
@@ -44,7 +52,7 @@ public class TeamService {
     // 팀에 멤버 추가
     public TeamMembership addTeamMember(UUID teamId, UUID userId, UUID requesterId) {
         // 요청자가 팀 관리자인지 확인
-        if (!teamMembershipRepository.isUserTeamAdmin(teamId, requesterId)) {
+        if (!membershipIndex.isAdmin(teamId, requesterId)) {
             throw new IllegalArgumentException("팀 관리자만 멤버를 추가할 수 있습니다.");
         }
 
@@ -52,12 +60,13 @@ public class TeamService {
                 .orElseThrow(() -> new IllegalArgumentException("팀을 찾을 수 없습니다."));
 
         // 이미 멤버인지 확인
-        if (teamMembershipRepository.existsByTeamIdAndUserId(teamId, userId)) {
+        if (membershipIndex.isMember(teamId, userId)) {
             throw new IllegalArgumentException("이미 팀의 멤버입니다.");
         }
 
-        User user = getUserById(userId);
+        User user = userDirectory.reference(userId);
         TeamMembership membership = new TeamMembership(team, user, TeamMembership.Role.MEMBER);
+        membershipIndex.invalidateAfterCommit(teamId);
         
         return teamMembershipRepository.save(membership);
     }
@@ -66,7 +75,7 @@ public class TeamService {
     public void removeTeamMember(UUID teamId, UUID userId, UUID requesterId) {
         // 요청자가 팀 관리자인지 확인 (본인 탈퇴는 허용)
         boolean isSelfLeaving = userId.equals(requesterId);
-        boolean isAdmin = teamMembershipRepository.isUserTeamAdmin(teamId, requesterId);
+        boolean isAdmin = membershipIndex.isAdmin(teamId, requesterId);
         
         if (!isSelfLeaving && !isAdmin) {
             throw new IllegalArgumentException("팀 관리자만 다른 멤버를 제거할 수 있습니다.");
@@ -84,12 +93,13 @@ public class TeamService {
         }
 
         teamMembershipRepository.delete(membership);
+        membershipIndex.invalidateAfterCommit(teamId);
     }
 
     // 멤버 역할 변경
     public TeamMembership changeUserRole(UUID teamId, UUID userId, TeamMembership.Role newRole, UUID requesterId) {
         // 요청자가 팀 관리자인지 확인
-        if (!teamMembershipRepository.isUserTeamAdmin(teamId, requesterId)) {
+        if (!membershipIndex.isAdmin(teamId, requesterId)) {
             throw new IllegalArgumentException("팀 관리자만 멤버의 역할을 변경할 수 있습니다.");
         }
 
@@ -110,6 +120,7 @@ public class TeamService {
         }
 
         membership.setRole(newRole);
+        membershipIndex.invalidateAfterCommit(teamId);
         return teamMembershipRepository.save(membership);
     }
 
@@ -117,7 +128,7 @@ public class TeamService {
     @Transactional(readOnly = true)
     public Team getTeam(UUID teamId, UUID userId) {
         // 사용자가 해당 팀의 멤버인지 확인
-        if (!teamMembershipRepository.existsByTeamIdAndUserId(teamId, userId)) {
+        if (!membershipIndex.isMember(teamId, userId)) {
             throw new IllegalArgumentException("팀 멤버만 팀 정보를 조회할 수 있습니다.");
         }
 
@@ -129,20 +140,28 @@ public class TeamService {
     @Transactional(readOnly = true)
     public List<TeamMemberInfo> getTeamMembers(UUID teamId, UUID userId) {
         // 사용자가 해당 팀의 멤버인지 확인
-        if (!teamMembershipRepository.existsByTeamIdAndUserId(teamId, userId)) {
+        if (!membershipIndex.isMember(teamId, userId)) {
             throw new IllegalArgumentException("팀 멤버만 멤버 목록을 조회할 수 있습니다.");
         }
 
         List<TeamMembership> memberships = teamMembershipRepository.findByTeamId(teamId);
+
+        // 멤버 이름/이메일은 사용자 요약으로 한 번에 조회 (멤버마다 User를 지연 로딩하지 않음)
+        Map<UUID, UserDirectory.UserSummary> users = userDirectory.getAll(memberships.stream()
+                .map(membership -> membership.getUser().getId())
+                .collect(Collectors.toList()));
         
         return memberships.stream()
-                .map(membership -> new TeamMemberInfo(
-                        membership.getUser().getId(),
-                        membership.getUser().getName(),
-                        membership.getUser().getEmail(),
-                        membership.getRole(),
-                        membership.getJoinedAt()
-                ))
+                .map(membership -> {
+                    UserDirectory.UserSummary user = users.get(membership.getUser().getId());
+                    return new TeamMemberInfo(
+                            membership.getUser().getId(),
+                            user != null ? user.getName() : null,
+                            user != null ? user.getEmail() : null,
+                            membership.getRole(),
+                            membership.getJoinedAt()
+                    );
+                })
                 .collect(Collectors.toList());
     }
 
@@ -161,7 +180,7 @@ public class TeamService {
     // 팀 정보 수정
     public Team updateTeam(UUID teamId, String name, String description, UUID requesterId) {
         // 요청자가 팀 관리자인지 확인
-        if (!teamMembershipRepository.isUserTeamAdmin(teamId, requesterId)) {
+        if (!membershipIndex.isAdmin(teamId, requesterId)) {
             throw new IllegalArgumentException("팀 관리자만 팀 정보를 수정할 수 있습니다.");
         }
 
@@ -184,7 +203,7 @@ public class TeamService {
     // 팀 삭제
     public void deleteTeam(UUID teamId, UUID requesterId) {
         // 요청자가 팀 관리자인지 확인
-        if (!teamMembershipRepository.isUserTeamAdmin(teamId, requesterId)) {
+        if (!membershipIndex.isAdmin(teamId, requesterId)) {
             throw new IllegalArgumentException("팀 관리자만 팀을 삭제할 수 있습니다.");
         }
 
@@ -197,16 +216,9 @@ public class TeamService {
         // }
 
         teamRepository.delete(team);
+        membershipIndex.invalidateAfterCommit(teamId);
     }
 
-    // Helper 메서드
-    private User getUserById(UUID userId) {
-        // UserRepository를 통해 사용자 조회 (추후 구현)
-        // 임시로 User 객체 생성
-        User user = new User();
-        user.setId(userId);
-        return user;
-    }
 
     // 팀 멤버 정보 DTO
     public static class TeamMemberInfo {
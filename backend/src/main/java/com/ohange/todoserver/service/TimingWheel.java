@@ -0,0 +1,168 @@
+package com.ohange.todoserver.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 계층형 타이밍 휠
+// 레벨 0의 슬롯 하나는 틱 하나, 레벨 n의 슬롯 하나는 wheelSize^n 틱을 덮는다. 먼 타이머는 높은 레벨에 두었다가
+// 그 슬롯의 구간이 시작될 때 한 단계씩 아래 레벨로 내려보내므로, 틱마다 만기된 슬롯 하나만 보면 된다.
+// 슬롯은 이중 연결 리스트라서 등록/취소/교체가 타이머 수와 무관하게 O(1)이다. 키마다 타이머는 하나뿐이다.
+// 모든 메서드는 이 객체의 모니터 안에서 실행된다 (만기된 값의 처리는 호출자가 모니터 밖에서 한다).
+public class TimingWheel<K, V> {
+
+    private final long tickMs;
+    private final int wheelSize;
+
+    // levels.get(n)[slot] = 슬롯의 센티넬 (비어 있으면 null), 필요한 레벨까지만 만든다
+    private final List<Timer<K, V>[]> levels = new ArrayList<>();
+    private final Map<K, Timer<K, V>> timers = new HashMap<>();
+    private long currentTick;
+
+    public TimingWheel(long tickMs, int wheelSize, long startMillis) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.currentTick = startMillis / tickMs;
+    }
+
+    // 키의 타이머 등록 (기존 타이머는 교체, 이미 지난 시각이면 다음 틱에 만기)
+    public synchronized void schedule(K key, long fireAtMillis, V value) {
+        cancel(key);
+        Timer<K, V> timer = new Timer<>(key, value, Math.max(fireAtMillis / tickMs, currentTick + 1));
+        timers.put(key, timer);
+        place(timer);
+    }
+
+    // 키의 타이머가 없을 때만 등록
+    public synchronized boolean scheduleIfAbsent(K key, long fireAtMillis, V value) {
+        if (timers.containsKey(key)) {
+            return false;
+        }
+        schedule(key, fireAtMillis, value);
+        return true;
+    }
+
+    public synchronized void cancel(K key) {
+        Timer<K, V> timer = timers.remove(key);
+        if (timer != null) {
+            unlink(timer);
+        }
+    }
+
+    public synchronized int size() {
+        return timers.size();
+    }
+
+    // 현재 시각까지 틱을 진행하고 만기된 값들을 반환
+    public synchronized List<V> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMs;
+        List<V> due = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+
+            // 구간이 시작되는 상위 레벨 슬롯을 위에서부터 한 단계씩 내려보냄
+            for (int level = levels.size() - 1; level >= 1; level--) {
+                long levelSpan = spanOf(level);
+                if (currentTick % levelSpan == 0) {
+                    for (Timer<K, V> timer : drain(level, (int) ((currentTick / levelSpan) % wheelSize))) {
+                        place(timer);
+                    }
+                }
+            }
+
+            for (Timer<K, V> timer : drain(0, (int) (currentTick % wheelSize))) {
+                timers.remove(timer.key);
+                due.add(timer.value);
+            }
+        }
+        return due;
+    }
+
+    // 만기까지 남은 틱 수에 맞는 레벨의 슬롯에 연결
+    private void place(Timer<K, V> timer) {
+        long delta = Math.max(0, timer.expireTick - currentTick);
+        int level = 0;
+        long span = 1;
+        while (delta / span >= wheelSize) {
+            level++;
+            span *= wheelSize;
+        }
+
+        Timer<K, V>[] slots = level(level);
+        int slot = (int) ((timer.expireTick / span) % wheelSize);
+        Timer<K, V> head = slots[slot];
+        if (head == null) {
+            head = new Timer<>(null, null, 0);
+            head.prev = head;
+            head.next = head;
+            slots[slot] = head;
+        }
+        timer.prev = head.prev;
+        timer.next = head;
+        head.prev.next = timer;
+        head.prev = timer;
+    }
+
+    // 슬롯을 비우고 들어 있던 타이머들을 반환
+    private List<Timer<K, V>> drain(int level, int slot) {
+        if (level >= levels.size()) {
+            return List.of();
+        }
+        Timer<K, V>[] slots = levels.get(level);
+        Timer<K, V> head = slots[slot];
+        if (head == null) {
+            return List.of();
+        }
+        slots[slot] = null;
+
+        List<Timer<K, V>> drained = new ArrayList<>();
+        for (Timer<K, V> timer = head.next; timer != head; ) {
+            Timer<K, V> next = timer.next;
+            timer.prev = null;
+            timer.next = null;
+            drained.add(timer);
+            timer = next;
+        }
+        return drained;
+    }
+
+    private void unlink(Timer<K, V> timer) {
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+            timer.next.prev = timer.prev;
+            timer.prev = null;
+            timer.next = null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Timer<K, V>[] level(int level) {
+        while (levels.size() <= level) {
+            levels.add(new Timer[wheelSize]);
+        }
+        return levels.get(level);
+    }
+
+    private long spanOf(int level) {
+        long span = 1;
+        for (int i = 0; i < level; i++) {
+            span *= wheelSize;
+        }
+        return span;
+    }
+
+    private static final class Timer<K, V> {
+        private final K key;
+        private final V value;
+        private final long expireTick;
+        private Timer<K, V> prev;
+        private Timer<K, V> next;
+
+        Timer(K key, V value, long expireTick) {
+            this.key = key;
+            this.value = value;
+            this.expireTick = expireTick;
+        }
+    }
+}
@@ -6,9 +6,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -21,7 +25,10 @@ public class TodoTaskService {
     private TeamRepository teamRepository;
 
     @Autowired
-    private TeamMembershipRepository teamMembershipRepository;
+    private TeamMembershipIndex membershipIndex;
+
+    @Autowired
+    private UserDirectory userDirectory;
 
     @Autowired
     private TaskHistoryRepository taskHistoryRepository;
@@ -29,25 +36,30 @@ public class TodoTaskService {
     @Autowired
     private RealtimeNotificationService notificationService;
 
+    @Autowired
+    private DeadlineReminderService deadlineReminderService;
+
     // 태스크 생성 및 할당
     public TodoTask createAndAssignTask(String title, String content, UUID requesterId, 
                                       UUID assigneeId, UUID teamId, LocalDateTime deadline) {
         
         // 권한 검증: 요청자가 해당 팀의 멤버인지 확인
-        if (!teamMembershipRepository.existsByTeamIdAndUserId(teamId, requesterId)) {
+        if (!membershipIndex.isMember(teamId, requesterId)) {
             throw new IllegalArgumentException("팀 멤버만 태스크를 생성할 수 있습니다.");
         }
 
         // 할당받을 사용자도 팀 멤버인지 확인
-        if (!teamMembershipRepository.existsByTeamIdAndUserId(teamId, assigneeId)) {
+        if (!membershipIndex.isMember(teamId, assigneeId)) {
             throw new IllegalArgumentException("팀 멤버에게만 태스크를 할당할 수 있습니다.");
         }
 
         Team team = teamRepository.findById(teamId)
                 .orElseThrow(() -> new IllegalArgumentException("팀을 찾을 수 없습니다."));
         
-        User requester = getUserById(requesterId);
-        User assignee = getUserById(assigneeId);
+        // 요청자/담당자 요약을 한 번에 적재 (이후 참조 생성과 알림 문구는 캐시에서 해결)
+        userDirectory.getAll(List.of(requesterId, assigneeId));
+        User requester = userDirectory.reference(requesterId);
+        User assignee = userDirectory.reference(assigneeId);
 
         // 태스크 생성
         TodoTask task = new TodoTask(title, content, requester, assignee, team, deadline);
@@ -55,18 +67,16 @@ public class TodoTaskService {
         
         TodoTask savedTask = todoTaskRepository.save(task);
 
-        // 히스토리 기록
+        // 히스토리 기록 (생성 + 할당, 커밋 시 하나의 배치로 INSERT)
         TaskHistory history = new TaskHistory(savedTask, requester, TaskHistory.ActionType.CREATED, 
                                             null, "PENDING", "태스크가 생성되었습니다.");
-        taskHistoryRepository.save(history);
-
-        // 할당 히스토리
         TaskHistory assignHistory = new TaskHistory(savedTask, requester, TaskHistory.ActionType.ASSIGNED, 
-                                                  null, assignee.getName(), "태스크가 할당되었습니다.");
-        taskHistoryRepository.save(assignHistory);
+                                                  null, userDirectory.nameOf(assignee), "태스크가 할당되었습니다.");
+        taskHistoryRepository.saveAll(List.of(history, assignHistory));
 
         // 실시간 알림 발송
         notificationService.notifyTaskAssigned(savedTask);
+        deadlineReminderService.scheduleAfterCommit(savedTask);
 
         return savedTask;
     }
@@ -101,13 +111,15 @@ public class TodoTaskService {
 
         // 실시간 완료 알림 발송
         notificationService.notifyTaskCompleted(savedTask);
+        deadlineReminderService.cancelAfterCommit(savedTask.getId());
 
         return savedTask;
     }
 
     // 태스크 상태 변경
     public TodoTask updateTaskStatus(UUID taskId, UUID userId, TodoTask.TodoTaskStatus newStatus) {
-        TodoTask task = todoTaskRepository.findById(taskId)
+        // 같은 태스크의 상태 변경을 직렬화 (이전 상태 기록과 상태 변경 알림 집계가 서로 덮어쓰지 않도록)
+        TodoTask task = todoTaskRepository.findByIdForUpdate(taskId)
                 .orElseThrow(() -> new IllegalArgumentException("태스크를 찾을 수 없습니다."));
 
         // 권한 체크: 할당된 사용자나 요청자만 상태 변경 가능
@@ -121,7 +133,7 @@ public class TodoTaskService {
         TodoTask savedTask = todoTaskRepository.save(task);
 
         // 히스토리 기록
-        User user = getUserById(userId);
+        User user = userDirectory.reference(userId);
         TaskHistory history = new TaskHistory(savedTask, user, TaskHistory.ActionType.STATUS_CHANGED,
                                             oldStatus.name(), newStatus.name(), "태스크 상태가 변경되었습니다.");
         taskHistoryRepository.save(history);
@@ -129,6 +141,9 @@ public class TodoTaskService {
         // 상태 변경 알림
         notificationService.notifyTaskStatusChanged(savedTask, oldStatus, newStatus, user);
 
+        // 완료/취소면 마감 알림 해제, 다시 열리면 재등록
+        deadlineReminderService.scheduleAfterCommit(savedTask);
+
         return savedTask;
     }
 
@@ -139,88 +154,174 @@ public class TodoTaskService {
 
         // 권한 체크: 원래 요청자나 팀 관리자만 재할당 가능
         boolean isOriginalRequester = task.getRequester().getId().equals(requesterId);
-        boolean isTeamAdmin = teamMembershipRepository.isUserTeamAdmin(task.getTeam().getId(), requesterId);
+        boolean isTeamAdmin = membershipIndex.isAdmin(task.getTeam().getId(), requesterId);
         
         if (!isOriginalRequester && !isTeamAdmin) {
             throw new IllegalArgumentException("태스크를 재할당할 권한이 없습니다.");
         }
 
         // 새 담당자가 팀 멤버인지 확인
-        if (!teamMembershipRepository.existsByTeamIdAndUserId(task.getTeam().getId(), newAssigneeId)) {
+        if (!membershipIndex.isMember(task.getTeam().getId(), newAssigneeId)) {
             throw new IllegalArgumentException("팀 멤버에게만 태스크를 할당할 수 있습니다.");
         }
 
         User oldAssignee = task.getAssignee();
-        User newAssignee = getUserById(newAssigneeId);
+        userDirectory.getAll(List.of(oldAssignee.getId(), newAssigneeId, requesterId));
+        User newAssignee = userDirectory.reference(newAssigneeId);
         task.setAssignee(newAssignee);
+        // 새 담당자는 아직 마감 임박 알림을 받지 않았으므로 남은 리드 타임부터 다시 보냄
+        task.setDeadlineRemindedMinutes(null);
 
         TodoTask savedTask = todoTaskRepository.save(task);
 
         // 히스토리 기록
-        User requester = getUserById(requesterId);
+        User requester = userDirectory.reference(requesterId);
         TaskHistory history = new TaskHistory(savedTask, requester, TaskHistory.ActionType.ASSIGNED,
-                                            oldAssignee.getName(), newAssignee.getName(), "태스크가 재할당되었습니다.");
+                                            userDirectory.nameOf(oldAssignee), userDirectory.nameOf(newAssignee), "태스크가 재할당되었습니다.");
         taskHistoryRepository.save(history);
 
         // 새 담당자에게 알림
         notificationService.notifyTaskAssigned(savedTask);
+        deadlineReminderService.scheduleAfterCommit(savedTask);
+
+        return savedTask;
+    }
+
+    // 태스크 마감일 변경
+    public TodoTask updateTaskDeadline(UUID taskId, UUID requesterId, LocalDateTime deadline) {
+        TodoTask task = todoTaskRepository.findById(taskId)
+                .orElseThrow(() -> new IllegalArgumentException("태스크를 찾을 수 없습니다."));
+
+        // 권한 체크: 원래 요청자나 팀 관리자만 마감일 변경 가능
+        boolean isOriginalRequester = task.getRequester().getId().equals(requesterId);
+        boolean isTeamAdmin = membershipIndex.isAdmin(task.getTeam().getId(), requesterId);
+
+        if (!isOriginalRequester && !isTeamAdmin) {
+            throw new IllegalArgumentException("태스크 마감일을 변경할 권한이 없습니다.");
+        }
+
+        LocalDateTime oldDeadline = task.getDeadline();
+        task.setDeadline(deadline);
+        // 새 마감일 기준으로 마감 임박 알림을 처음부터 다시 보냄
+        task.setDeadlineRemindedMinutes(null);
+
+        TodoTask savedTask = todoTaskRepository.save(task);
+
+        // 히스토리 기록
+        User requester = userDirectory.reference(requesterId);
+        TaskHistory history = new TaskHistory(savedTask, requester, TaskHistory.ActionType.UPDATED,
+                                            oldDeadline != null ? oldDeadline.toString() : null,
+                                            deadline != null ? deadline.toString() : null, "태스크 마감일이 변경되었습니다.");
+        taskHistoryRepository.save(history);
+
+        deadlineReminderService.scheduleAfterCommit(savedTask);
 
         return savedTask;
     }
 
     // 팀의 모든 태스크 조회
     @Transactional(readOnly = true)
-    public List<TodoTask> getTeamTasks(UUID teamId, UUID userId) {
+    public List<TodoTaskRepository.TaskRow> getTeamTasks(UUID teamId, UUID userId) {
         // 사용자가 해당 팀의 멤버인지 확인
-        if (!teamMembershipRepository.existsByTeamIdAndUserId(teamId, userId)) {
+        if (!membershipIndex.isMember(teamId, userId)) {
+            throw new IllegalArgumentException("팀 멤버만 팀의 태스크를 조회할 수 있습니다.");
+        }
+
+        return todoTaskRepository.findTeamTaskRows(teamId);
+    }
+
+    // 팀 태스크 조건 조회 (키셋 페이지네이션, 커서는 같은 정렬/필터로만 사용하며 다르면 IllegalArgumentException)
+    @Transactional(readOnly = true)
+    public CursorPage<TodoTaskRepository.TaskRow> queryTeamTasks(UUID userId, TodoTaskRepository.TeamTaskQuery query,
+                                                               String cursorToken, int size) {
+        if (size < 1 || size > 100) {
+            throw new IllegalArgumentException("size는 1에서 100 사이여야 합니다.");
+        }
+        if (query.getDeadlineFrom() != null && query.getDeadlineTo() != null
+                && !query.getDeadlineFrom().isBefore(query.getDeadlineTo())) {
+            throw new IllegalArgumentException("deadlineFrom은 deadlineTo보다 앞서야 합니다.");
+        }
+        checkTeamMember(query.getTeamId(), userId);
+
+        String scope = cursorScope(query);
+        // 커서가 없으면 첫 페이지 (같은 조건 객체를 다시 쓰는 호출자가 이전 위치를 이어받지 않도록 항상 덮어씀)
+        KeysetCursor cursor = KeysetCursor.decode(cursorToken, scope);
+        query.setAfterKey(cursor != null ? cursor.getKey() : null);
+        query.setAfterId(cursor != null ? cursor.getId() : null);
+
+        boolean byDeadline = query.getSort() == TodoTaskRepository.Sort.DEADLINE;
+        List<TodoTaskRepository.TaskRow> rows = todoTaskRepository.queryTeamTasks(query, size + 1);
+        return CursorPage.of(rows, size,
+                row -> new KeysetCursor(scope, byDeadline ? row.getDeadline() : row.getCreatedAt(), row.getId()));
+    }
+
+    // 커서 범위: 정렬 + 팀/필터 해시 (상태 필터는 순서와 중복을 무시)
+    private static String cursorScope(TodoTaskRepository.TeamTaskQuery query) {
+        List<TodoTask.TodoTaskStatus> statuses = query.getStatuses() == null
+                ? List.of() : query.getStatuses().stream().distinct().sorted().toList();
+        int filters = Objects.hash(query.getTeamId(), statuses, query.getAssigneeId(), query.getRequesterId(),
+                query.getDeadlineFrom(), query.getDeadlineTo());
+        return query.getSort() + ":" + Integer.toHexString(filters);
+    }
+
+    // 팀 태스크 스트리밍 전 권한 확인 (응답이 시작되기 전에 실패해야 400으로 응답할 수 있음)
+    @Transactional(readOnly = true)
+    public void checkTeamMember(UUID teamId, UUID userId) {
+        if (!membershipIndex.isMember(teamId, userId)) {
             throw new IllegalArgumentException("팀 멤버만 팀의 태스크를 조회할 수 있습니다.");
         }
+    }
+
+    // 팀의 모든 태스크를 NDJSON으로 스트리밍 (checkTeamMember 이후 호출)
+    @Transactional(readOnly = true)
+    public long streamTeamTasks(UUID teamId, OutputStream out) throws IOException {
+        try (Stream<TodoTaskRepository.TaskRow> rows = todoTaskRepository.streamByTeamId(teamId)) {
+            return NdjsonWriter.write(rows, out);
+        }
+    }
 
-        return todoTaskRepository.findByTeamIdOrderByCreatedAtDesc(teamId);
+    // 팀의 태스크 히스토리를 NDJSON으로 스트리밍 (checkTeamMember 이후 호출)
+    @Transactional(readOnly = true)
+    public long streamTeamHistory(UUID teamId, OutputStream out) throws IOException {
+        try (Stream<TaskHistoryRepository.HistoryRow> rows = taskHistoryRepository.streamByTeamId(teamId)) {
+            return NdjsonWriter.write(rows, out);
+        }
     }
 
     // 사용자의 태스크들 조회 (할당받은 것 + 요청한 것)
     @Transactional(readOnly = true)
     public UserTasksResponse getUserTasks(UUID userId) {
-        List<TodoTask> assignedTasks = todoTaskRepository.findByAssigneeIdOrderByCreatedAtDesc(userId);
-        List<TodoTask> requestedTasks = todoTaskRepository.findByRequesterIdOrderByCreatedAtDesc(userId);
+        List<TodoTaskRepository.TaskRow> assignedTasks = todoTaskRepository.findAssignedTaskRows(userId);
+        List<TodoTaskRepository.TaskRow> requestedTasks = todoTaskRepository.findRequestedTaskRows(userId);
         
         return new UserTasksResponse(assignedTasks, requestedTasks);
     }
 
     // 사용자의 완료되지 않은 태스크들 조회
     @Transactional(readOnly = true)
-    public List<TodoTask> getPendingTasksByUser(UUID userId) {
-        return todoTaskRepository.findPendingTasksByAssignee(userId);
+    public List<TodoTaskRepository.TaskRow> getPendingTasksByUser(UUID userId) {
+        return todoTaskRepository.findPendingTaskRowsByAssignee(userId);
     }
 
     // 마감일이 임박한 태스크들 조회
     @Transactional(readOnly = true)
-    public List<TodoTask> getUpcomingDeadlineTasks(UUID teamId) {
+    public List<TodoTaskRepository.TaskRow> getUpcomingDeadlineTasks(UUID teamId) {
         LocalDateTime tomorrow = LocalDateTime.now().plusDays(1);
-        return todoTaskRepository.findUpcomingDeadlineTasks(teamId, tomorrow);
+        return todoTaskRepository.findUpcomingDeadlineTaskRows(teamId, tomorrow);
     }
 
-    // Helper 메서드
-    private User getUserById(UUID userId) {
-        // UserRepository를 통해 사용자 조회 (추후 구현)
-        // 임시로 User 객체 생성
-        User user = new User();
-        user.setId(userId);
-        return user;
-    }
 
     // 응답 DTO 클래스
     public static class UserTasksResponse {
-        private final List<TodoTask> assigned;
-        private final List<TodoTask> requested;
+        private final List<TodoTaskRepository.TaskRow> assigned;
+        private final List<TodoTaskRepository.TaskRow> requested;
 
-        public UserTasksResponse(List<TodoTask> assigned, List<TodoTask> requested) {
+        public UserTasksResponse(List<TodoTaskRepository.TaskRow> assigned, List<TodoTaskRepository.TaskRow> requested) {
             this.assigned = assigned;
             this.requested = requested;
         }
 
-        public List<TodoTask> getAssigned() { return assigned; }
-        public List<TodoTask> getRequested() { return requested; }
+        public List<TodoTaskRepository.TaskRow> getAssigned() { return assigned; }
+        public List<TodoTaskRepository.TaskRow> getRequested() { return requested; }
     }
 }
\ No newline at end of file
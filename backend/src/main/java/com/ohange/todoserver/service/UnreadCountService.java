@@ -0,0 +1,284 @@
+package com.ohange.todoserver.service;
+
+import com.ohange.todoserver.repository.NotificationRepository;
+import com.ohange.todoserver.repository.UserRepository;
+import com.ohange.todoserver.websocket.BusEvent;
+import com.ohange.todoserver.websocket.MessagePayloads;
+import com.ohange.todoserver.websocket.RealtimeBus;
+import com.ohange.todoserver.websocket.TaskWebSocketHandler;
+import com.ohange.todoserver.websocket.WebSocketMessage;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 사용자별 읽지 않은 알림 수 캐시
+// 처음 조회할 때 DB에서 세고, 이후에는 알림 생성/읽음/삭제의 증감분을 커밋 이후에 반영한다.
+// 증감분은 실시간 버스로 모든 노드에 전달되고, 각 노드는 자신에게 접속한 사용자에게 새 개수를 UNREAD_COUNT로 push한다.
+//
+// 증감분과 DB 조회의 순서는 사용자별 스탬프(users.unread_seq)로 맞춘다.
+// 변경 트랜잭션은 커밋 직전에 스탬프를 1 올리고(커밋까지 사용자 행 잠금) 그 값을 증감분에 실어 보낸다.
+// DB 조회는 개수와 스탬프를 한 문장으로 읽으므로, 읽은 개수는 그 스탬프 이하의 변경을 정확히 포함한다.
+// 카운터는 반영한 스냅샷의 스탬프(watermark)를 기억해, 커밋은 됐지만 아직 도착하지 않은 증감분이
+// 이미 개수에 들어 있으면 도착했을 때 버리고, 스냅샷 이후의 증감분은 다음 재조정 때에도 다시 더한다.
+// 놓친 버스 메시지 등으로 생길 수 있는 오차는 주기적 재조정으로 바로잡는다.
+@Service
+public class UnreadCountService {
+
+    private static final String DELTA_TYPE = "UNREAD_COUNT_DELTA";
+    private static final String GAP_TYPE = "REALTIME_BUS_GAP";
+    private static final int RECONCILE_CHUNK_SIZE = 500;
+
+    // 스냅샷 이후 기억해 둘 증감분 수 상한 (넘으면 카운터를 비우고 다음 조회 때 다시 셈)
+    private static final int MAX_PENDING_DELTAS = 1000;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RealtimeBus realtimeBus;
+
+    @Autowired
+    private TaskWebSocketHandler webSocketHandler;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // userId -> 카운터
+    private final Map<UUID, Counter> counters = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void subscribeToBus() {
+        realtimeBus.subscribe(this::onBusEvent);
+    }
+
+    // 읽지 않은 알림 수 (캐시에 없으면 DB에서 세어 캐시)
+    public long getUnreadCount(UUID userId) {
+        Counter counter = counters.computeIfAbsent(userId, k -> new Counter());
+        synchronized (counter) {
+            if (counter.loaded) {
+                return counter.count();
+            }
+        }
+
+        List<Object[]> rows = notificationRepository.countUnreadWithSeqByUserIds(List.of(userId));
+        if (rows.isEmpty()) {
+            counters.remove(userId);
+            return 0;
+        }
+        long seq = (Long) rows.get(0)[1];
+        long fromDb = (Long) rows.get(0)[2];
+
+        // 쓰기 트랜잭션 안에서 읽은 개수는 아직 스탬프를 올리지 않은 자기 변경을 포함할 수 있으므로 캐시하지 않음
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return fromDb;
+        }
+        synchronized (counter) {
+            counter.seed(seq, fromDb);
+            return counter.count();
+        }
+    }
+
+    // 읽지 않은 알림 수 증감 기록
+    // 같은 트랜잭션의 증감분은 사용자별로 합쳐 커밋 직전에 스탬프를 올리고, 커밋된 뒤에 모든 노드로 전파한다.
+    public void recordChange(UUID userId, long delta) {
+        if (userId == null || delta == 0) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> recordChange(userId, delta));
+            return;
+        }
+
+        PendingChanges changes = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            changes = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(changes);
+        }
+        changes.deltas.merge(userId, delta, Long::sum);
+    }
+
+    // 다른 노드(자기 자신 포함)에서 커밋된 증감분 반영
+    private void onBusEvent(BusEvent event) {
+        // 버스 수신 공백 동안 놓친 증감분은 도착하지 않으므로 바로 재조정
+        if (event.getTarget() == BusEvent.Target.NODE && GAP_TYPE.equals(event.getMessage().getType())) {
+            reconcile();
+            return;
+        }
+        if (event.getTarget() != BusEvent.Target.NODE || !DELTA_TYPE.equals(event.getMessage().getType())
+                || !(event.getMessage().getData() instanceof MessagePayloads.UnreadCountDelta delta)) {
+            return;
+        }
+
+        UUID userId = UUID.fromString(event.getTargetId());
+        Long updated = applyDelta(userId, delta.seq(), delta.delta());
+
+        // 이 노드에 접속한 기기가 있으면 새 개수를 push (캐시에 없으면 이때 DB에서 셈)
+        if (webSocketHandler.isUserOnline(event.getTargetId())) {
+            long count = updated != null ? updated : getUnreadCount(userId);
+            webSocketHandler.sendToUser(event.getTargetId(), WebSocketMessage.unreadCount(count));
+        }
+    }
+
+    // 캐시된 카운터에만 반영, 반영된 새 값 반환 (캐시에 없거나 아직 적재 중이면 null)
+    private Long applyDelta(UUID userId, long seq, long delta) {
+        Counter counter = counters.get(userId);
+        if (counter == null) {
+            return null;
+        }
+        synchronized (counter) {
+            counter.apply(seq, delta);
+            if (counter.pending.size() > MAX_PENDING_DELTAS) {
+                counters.remove(userId, counter);
+                return null;
+            }
+            return counter.loaded ? counter.count() : null;
+        }
+    }
+
+    // 주기적 재조정: 이 노드에 접속하지 않은 사용자의 카운터는 비우고(다음 조회 때 다시 셈), 나머지는 DB 값으로 맞춤
+    @Scheduled(fixedDelayString = "${notification.unread.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        List<UUID> online = new ArrayList<>();
+        for (UUID userId : counters.keySet()) {
+            if (webSocketHandler.isUserOnline(userId.toString())) {
+                online.add(userId);
+            } else {
+                counters.remove(userId);
+            }
+        }
+
+        int corrected = 0;
+        for (int from = 0; from < online.size(); from += RECONCILE_CHUNK_SIZE) {
+            List<UUID> chunk = online.subList(from, Math.min(online.size(), from + RECONCILE_CHUNK_SIZE));
+            corrected += reconcileChunk(chunk);
+        }
+
+        if (corrected > 0) {
+            System.out.println("읽지 않은 알림 수 재조정: " + corrected + "명 보정");
+        }
+    }
+
+    private int reconcileChunk(List<UUID> userIds) {
+        int corrected = 0;
+        for (Object[] row : notificationRepository.countUnreadWithSeqByUserIds(userIds)) {
+            UUID userId = (UUID) row[0];
+            Counter counter = counters.get(userId);
+            if (counter == null) {
+                continue;
+            }
+
+            long count;
+            boolean changed;
+            synchronized (counter) {
+                boolean wasLoaded = counter.loaded;
+                long before = counter.count();
+                counter.seed((Long) row[1], (Long) row[2]);
+                count = counter.count();
+                changed = wasLoaded && count != before;
+            }
+
+            if (changed) {
+                corrected++;
+                webSocketHandler.sendToUser(userId.toString(), WebSocketMessage.unreadCount(count));
+            }
+        }
+        return corrected;
+    }
+
+    // 한 트랜잭션에서 기록된 사용자별 증감분
+    // 커밋 직전에 사용자 id 순서로 스탬프를 올려(잠금 순서 고정) 증감분에 싣고, 커밋된 뒤에 전파한다.
+    private class PendingChanges implements TransactionSynchronization {
+        private final Map<UUID, Long> deltas = new TreeMap<>();
+        private final List<BusEvent> events = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            for (Map.Entry<UUID, Long> entry : deltas.entrySet()) {
+                if (entry.getValue() == 0 || userRepository.incrementUnreadSeq(entry.getKey()) == 0) {
+                    continue;
+                }
+                long seq = userRepository.findUnreadSeq(entry.getKey());
+                events.add(BusEvent.toNodes(entry.getKey().toString(),
+                        WebSocketMessage.unreadCountDelta(entry.getValue(), seq)));
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            events.forEach(realtimeBus::publish);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(UnreadCountService.this);
+        }
+    }
+
+    // 카운터 상태는 인스턴스 모니터로 보호
+    private static class Counter {
+        // 스냅샷 개수 + 스냅샷 이후 반영한 증감분 (순서가 뒤바뀐 증감분 때문에 잠시 음수일 수 있어 읽을 때 0으로 자름)
+        private long value;
+        private boolean loaded;
+        // value가 포함하는 변경의 마지막 스탬프 (이하 스탬프의 증감분은 이미 반영됨)
+        private long watermark;
+        // watermark 이후에 받은 증감분 (스탬프 -> 증감분), 더 최신 스냅샷을 반영할 때 그 스냅샷에 없는 것만 다시 더함
+        private final TreeMap<Long, Long> pending = new TreeMap<>();
+
+        long count() {
+            return Math.max(0, value);
+        }
+
+        // 증감분 반영 (이미 반영된 스탬프면 무시, 적재 전이면 기억만 해 둠)
+        void apply(long seq, long delta) {
+            if ((loaded && seq <= watermark) || pending.putIfAbsent(seq, delta) != null) {
+                return;
+            }
+            if (loaded) {
+                value += delta;
+                advance();
+            }
+        }
+
+        // 스탬프 seq 시점의 DB 개수 반영 (이미 더 최신 시점을 반영했으면 무시)
+        void seed(long seq, long count) {
+            if (loaded && seq < watermark) {
+                return;
+            }
+            pending.headMap(seq, true).clear();
+            long sum = count;
+            for (long delta : pending.values()) {
+                sum += delta;
+            }
+            value = sum;
+            watermark = seq;
+            loaded = true;
+            advance();
+        }
+
+        // watermark 바로 다음부터 빈틈없이 이어진 증감분은 watermark로 흡수 (스탬프는 사용자별로 1씩 증가)
+        private void advance() {
+            while (!pending.isEmpty() && pending.firstKey() == watermark + 1) {
+                pending.pollFirstEntry();
+                watermark++;
+            }
+        }
+    }
+}
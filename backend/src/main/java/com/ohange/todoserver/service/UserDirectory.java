@@ -0,0 +1,126 @@
+package com.ohange.todoserver.service;
+
+import com.ohange.todoserver.entity.User;
+import com.ohange.todoserver.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+// 사용자 요약(id, 이름, 이메일) 조회기
+// 최근에 쓴 사용자 요약을 고정 크기 LRU 캐시에 두고, 캐시에 없는 사용자들은 IN 쿼리 한 번으로 읽는다.
+// 연관관계 저장에는 getReferenceById 참조를 쓰고 이름은 요약에서만 읽어, 이름 때문에 User 엔티티를 로딩하지 않는다.
+// 사용자 정보 수정 경로가 아직 없으므로 무효화 대신 TTL로 오래된 요약을 다시 읽는다.
+@Component
+public class UserDirectory {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // 캐시에 유지할 최대 사용자 수
+    @Value("${user.cache.max-size:10000}")
+    private int maxSize;
+
+    // 요약을 다시 읽기까지의 시간
+    @Value("${user.cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    // userId -> 요약 (접근 순서, 가장 오래 안 쓴 항목부터 제거)
+    private final LinkedHashMap<UUID, CachedSummary> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, CachedSummary> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    // 사용자 요약 조회 (없는 사용자면 예외)
+    public UserSummary get(UUID userId) {
+        UserSummary summary = getAll(List.of(userId)).get(userId);
+        if (summary == null) {
+            throw new IllegalArgumentException("사용자를 찾을 수 없습니다.");
+        }
+        return summary;
+    }
+
+    // 여러 사용자 요약 일괄 조회 (캐시에 없는 사용자만 한 번에 읽음, 없는 사용자는 결과에서 빠짐)
+    public Map<UUID, UserSummary> getAll(Collection<UUID> userIds) {
+        Map<UUID, UserSummary> result = new HashMap<>();
+        Set<UUID> missing = new LinkedHashSet<>();
+        long now = System.currentTimeMillis();
+
+        synchronized (cache) {
+            for (UUID userId : userIds) {
+                CachedSummary cached = cache.get(userId);
+                if (cached != null && cached.expiresAt > now) {
+                    result.put(userId, cached.summary);
+                } else {
+                    missing.add(userId);
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        List<UserSummary> loaded = new ArrayList<>(missing.size());
+        for (UserRepository.UserSummaryRow row : userRepository.findSummariesByIdIn(missing)) {
+            loaded.add(new UserSummary(row.getId(), row.getName(), row.getEmail()));
+        }
+
+        long expiresAt = now + ttlSeconds * 1000;
+        synchronized (cache) {
+            for (UserSummary summary : loaded) {
+                cache.put(summary.getId(), new CachedSummary(summary, expiresAt));
+                result.put(summary.getId(), summary);
+            }
+        }
+        return result;
+    }
+
+    // 연관관계 저장용 User 참조 (존재 여부는 요약으로 확인하고 엔티티는 로딩하지 않음)
+    public User reference(UUID userId) {
+        get(userId);
+        return userRepository.getReferenceById(userId);
+    }
+
+    // User(참조 프록시 포함)의 이름 (id만 읽으므로 프록시를 초기화하지 않음)
+    public String nameOf(User user) {
+        return user != null ? get(user.getId()).getName() : null;
+    }
+
+    private static class CachedSummary {
+        private final UserSummary summary;
+        private final long expiresAt;
+
+        CachedSummary(UserSummary summary, long expiresAt) {
+            this.summary = summary;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    // 사용자 요약 DTO
+    public static class UserSummary {
+        private final UUID id;
+        private final String name;
+        private final String email;
+
+        public UserSummary(UUID id, String name, String email) {
+            this.id = id;
+            this.name = name;
+            this.email = email;
+        }
+
+        public UUID getId() { return id; }
+        public String getName() { return name; }
+        public String getEmail() { return email; }
+    }
+}
@@ -0,0 +1,72 @@
+package com.ohange.todoserver.websocket;
+
+// 노드 간에 전달되는 실시간 이벤트 (수신 노드는 자신에게 연결된 세션에만 전달)
+public class BusEvent {
+    private Target target;
+    private String targetId;
+    private WebSocketMessage message;
+
+    // 수신 대상 enum
+    public enum Target {
+        USER,   // 특정 사용자의 모든 기기
+        TEAM,   // 팀 채널 구독자 전체
+        NODE    // 노드 내부 상태 동기화 (세션에 직접 전달하지 않음, targetId는 이벤트별 의미)
+    }
+
+    // 기본 생성자 (JSON 역직렬화용)
+    public BusEvent() {}
+
+    // 생성자
+    public BusEvent(Target target, String targetId, WebSocketMessage message) {
+        this.target = target;
+        this.targetId = targetId;
+        this.message = message;
+    }
+
+    // 정적 팩토리 메서드들
+    public static BusEvent toUser(String userId, WebSocketMessage message) {
+        return new BusEvent(Target.USER, userId, message);
+    }
+
+    public static BusEvent toTeam(String teamId, WebSocketMessage message) {
+        return new BusEvent(Target.TEAM, teamId, message);
+    }
+
+    public static BusEvent toNodes(String targetId, WebSocketMessage message) {
+        return new BusEvent(Target.NODE, targetId, message);
+    }
+
+    // Getters and Setters
+    public Target getTarget() {
+        return target;
+    }
+
+    public void setTarget(Target target) {
+        this.target = target;
+    }
+
+    public String getTargetId() {
+        return targetId;
+    }
+
+    public void setTargetId(String targetId) {
+        this.targetId = targetId;
+    }
+
+    public WebSocketMessage getMessage() {
+        return message;
+    }
+
+    public void setMessage(WebSocketMessage message) {
+        this.message = message;
+    }
+
+    @Override
+    public String toString() {
+        return "BusEvent{" +
+                "target=" + target +
+                ", targetId='" + targetId + '\'' +
+                ", message=" + message +
+                '}';
+    }
+}
@@ -0,0 +1,13 @@
+package com.ohange.todoserver.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+// 클라이언트가 WebSocket으로 보내는 명령 프레임 처리기 (예: {"type": "MARK_READ", ...})
+// 서비스 계층이 TaskWebSocketHandler.registerCommand로 등록한다 (핸들러가 서비스에 직접 의존하지 않도록).
+// 반환한 메시지는 요청한 세션에만 응답으로 보내며, null이면 응답하지 않는다.
+// IllegalArgumentException은 ERROR 메시지로 바뀌어 요청한 세션에 전달된다.
+@FunctionalInterface
+public interface ClientCommandHandler {
+
+    WebSocketMessage handle(String userId, JsonNode frame);
+}
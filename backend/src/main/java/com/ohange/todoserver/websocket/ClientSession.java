@@ -0,0 +1,244 @@
+package com.ohange.todoserver.websocket;
+
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+// 세션별 송신 큐
+// 브로드캐스트 호출 스레드는 큐에 넣기만 하고, 실제 전송은 세션 전용 송신 작업이 순서대로 처리한다.
+// 버퍼가 가득 차면 메시지 타입별 DeliveryPolicy에 따라 교체/삭제하고,
+// 버릴 수 없는 메시지도 들어갈 수 없거나 전송 시간 한도를 넘긴 느린 클라이언트는 다른 세션을 막지 않도록 연결을 끊는다.
+public class ClientSession {
+
+    private final WebSocketSession session;
+    private final String userId;
+    private final Executor sendExecutor;
+    private final long sendTimeLimitMs;
+    private final int bufferSizeLimit;
+    private final int queueCapacity;
+    private final DeliveryStats deliveryStats;
+
+    // 이 세션이 구독 중인 팀 채널들
+    private final Set<String> teamIds = ConcurrentHashMap.newKeySet();
+
+    // 아래 필드들은 queue 모니터로 보호된다 (텍스트 프레임과 ping 프레임이 같은 순서로 나감)
+    private final Deque<OutboundMessage> queue = new ArrayDeque<>();
+    private int bufferedBytes;
+    private boolean draining;
+
+    // 진행 중인 전송의 시작 시각 (0 = 전송 중 아님)
+    private volatile long sendStartTime;
+    private volatile boolean closing;
+
+    // 하트비트 상태: 응답 없이 실제로 전송된 ping 수, 하트비트 휠 슬롯 번호
+    private volatile int missedPongs;
+    private volatile int heartbeatSlot = -1;
+
+    public ClientSession(WebSocketSession session, String userId, Executor sendExecutor,
+                         long sendTimeLimitMs, int bufferSizeLimit, int queueCapacity,
+                         DeliveryStats deliveryStats) {
+        this.session = session;
+        this.userId = userId;
+        this.sendExecutor = sendExecutor;
+        this.sendTimeLimitMs = sendTimeLimitMs;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.queueCapacity = queueCapacity;
+        this.deliveryStats = deliveryStats;
+    }
+
+    // 메시지를 송신 큐에 추가 (호출 스레드는 블로킹되지 않음, 정책에 따라 버려졌으면 false)
+    public boolean enqueue(OutboundMessage message) {
+        if (closing || !session.isOpen()) {
+            return false;
+        }
+
+        if (closeIfSendStalled()) {
+            return false;
+        }
+
+        boolean accepted;
+        boolean startDrain = false;
+        synchronized (queue) {
+            accepted = fits(message) || makeRoom(message);
+            if (accepted) {
+                queue.add(message);
+                bufferedBytes += message.getPayloadLength();
+                startDrain = !draining;
+                draining = true;
+            }
+        }
+
+        if (!accepted) {
+            if (message.getPolicy().isDroppable()) {
+                deliveryStats.dropped(message.getType());
+            } else {
+                deliveryStats.overflowClosed(message.getType());
+                close(CloseStatus.SESSION_NOT_RELIABLE, "송신 버퍼 한도 초과 (" + queueCapacity + "개 / " + bufferSizeLimit + " bytes)");
+            }
+            return false;
+        }
+
+        if (startDrain) {
+            sendExecutor.execute(this::drain);
+        }
+        return true;
+    }
+
+    // queue 모니터 안에서 호출
+    private boolean fits(OutboundMessage message) {
+        return queue.size() < queueCapacity && bufferedBytes + message.getPayloadLength() <= bufferSizeLimit;
+    }
+
+    // 버퍼가 가득 찼을 때 정책 적용 (queue 모니터 안에서 호출)
+    // 1. LATEST_PER_KEY: 같은 키의 이전 메시지를 빼고 그 자리를 씀
+    // 2. 그래도 부족하면 큐 앞쪽(오래된 쪽)부터 버릴 수 있는 메시지를 밀어냄
+    private boolean makeRoom(OutboundMessage message) {
+        if (message.getPolicy() == DeliveryPolicy.LATEST_PER_KEY && message.getConflationKey() != null) {
+            Iterator<OutboundMessage> it = queue.descendingIterator();
+            while (it.hasNext()) {
+                OutboundMessage queued = it.next();
+                if (message.getConflationKey().equals(queued.getConflationKey())) {
+                    it.remove();
+                    bufferedBytes -= queued.getPayloadLength();
+                    deliveryStats.replaced(queued.getType());
+                    break;
+                }
+            }
+            if (fits(message)) {
+                return true;
+            }
+        }
+
+        Iterator<OutboundMessage> it = queue.iterator();
+        while (!fits(message) && it.hasNext()) {
+            OutboundMessage queued = it.next();
+            if (queued.getPolicy().isDroppable()) {
+                it.remove();
+                bufferedBytes -= queued.getPayloadLength();
+                deliveryStats.dropped(queued.getType());
+            }
+        }
+        return fits(message);
+    }
+
+    // 큐가 빌 때까지 순서대로 전송 (세션당 동시에 하나만 실행됨)
+    private void drain() {
+        while (true) {
+            OutboundMessage next;
+            synchronized (queue) {
+                next = queue.poll();
+                if (next == null) {
+                    draining = false;
+                    return;
+                }
+                bufferedBytes -= next.getPayloadLength();
+            }
+
+            try {
+                sendStartTime = System.currentTimeMillis();
+                session.sendMessage(next.getFrame());
+                // 버퍼가 가득 차 버려진 ping은 세지 않도록 실제로 쓴 뒤에만 무응답 횟수를 올림
+                if (next.getFrame() instanceof PingMessage) {
+                    missedPongs++;
+                }
+            } catch (IOException | RuntimeException e) {
+                // 전송에 실패한 소켓은 이후 메시지도 보낼 수 없으므로 세션을 닫아 인덱스에서 정리되게 함
+                System.err.println("메시지 전송 실패 - Session: " + session.getId() + ", Error: " + e.getMessage());
+                close(CloseStatus.SESSION_NOT_RELIABLE, "메시지 전송 실패");
+                return;
+            } finally {
+                sendStartTime = 0;
+            }
+        }
+    }
+
+    // 진행 중인 전송이 시간 한도를 넘겼으면 세션 종료 (enqueue와 주기 점검에서 호출, 종료했으면 true)
+    // 새 메시지가 오지 않는 세션도 막힌 전송이 감지되도록 핸들러 스케줄러가 주기적으로 호출한다
+    public boolean closeIfSendStalled() {
+        long start = sendStartTime;
+        if (start > 0 && System.currentTimeMillis() - start > sendTimeLimitMs) {
+            close(CloseStatus.SESSION_NOT_RELIABLE, "전송 시간 한도 초과 (" + sendTimeLimitMs + "ms)");
+            return true;
+        }
+        return false;
+    }
+
+    // 세션 종료 (느린 클라이언트, 하트비트 무응답 등)
+    public void close(CloseStatus status, String reason) {
+        if (closing) {
+            return;
+        }
+        closing = true;
+        clearQueue();
+        System.err.println("WebSocket 세션 강제 종료 - Session: " + session.getId() + ", 사유: " + reason);
+
+        // close 역시 소켓 쓰기이므로 호출 스레드가 아닌 송신 스레드에서 수행
+        sendExecutor.execute(() -> {
+            try {
+                session.close(status);
+            } catch (IOException e) {
+                System.err.println("세션 종료 실패 - Session: " + session.getId() + ", Error: " + e.getMessage());
+            }
+        });
+    }
+
+    private void clearQueue() {
+        synchronized (queue) {
+            queue.clear();
+            bufferedBytes = 0;
+            draining = false;
+        }
+    }
+
+    public WebSocketSession getSession() {
+        return session;
+    }
+
+    public String getId() {
+        return session.getId();
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public Set<String> getTeamIds() {
+        return teamIds;
+    }
+
+    public boolean isOpen() {
+        return !closing && session.isOpen();
+    }
+
+    // 클라이언트로부터 pong 또는 메시지를 받음
+    public void markAlive() {
+        missedPongs = 0;
+    }
+
+    // 마지막 pong/메시지 이후 전송된 ping 수
+    public int getMissedPongs() {
+        return missedPongs;
+    }
+
+    public int getHeartbeatSlot() {
+        return heartbeatSlot;
+    }
+
+    public void setHeartbeatSlot(int heartbeatSlot) {
+        this.heartbeatSlot = heartbeatSlot;
+    }
+
+    public int getQueuedMessageCount() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+}
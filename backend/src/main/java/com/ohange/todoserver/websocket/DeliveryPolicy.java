@@ -0,0 +1,38 @@
+package com.ohange.todoserver.websocket;
+
+// 메시지 타입별 전달 정책 (세션 송신 버퍼가 가득 찼을 때만 적용)
+public enum DeliveryPolicy {
+
+    // 버리지 않음: 버릴 수 있는 메시지를 먼저 밀어내고, 그래도 자리가 없으면 세션을 끊어 재연결/재동기화를 유도
+    RELIABLE,
+
+    // 큐에서 가장 오래된 버릴 수 있는 메시지부터 버림, 밀어낼 것이 없으면 새 메시지를 버림
+    // (팀 스트림 프레임은 클라이언트가 seq 공백을 보고 RESUME으로 복구할 수 있음)
+    DROP_OLDEST,
+
+    // 같은 키(태스크, 읽지 않은 알림 수)의 이전 메시지가 큐에 남아 있으면 새 메시지로 교체, 없으면 DROP_OLDEST와 같음
+    LATEST_PER_KEY;
+
+    public boolean isDroppable() {
+        return this != RELIABLE;
+    }
+
+    // 메시지 타입 -> 전달 정책 (알 수 없는 타입은 버리지 않음)
+    public static DeliveryPolicy forType(String type) {
+        if (type == null) {
+            return RELIABLE;
+        }
+        switch (type) {
+            case "TEAM_TASK_UPDATE":
+            case "UNREAD_COUNT":
+                return LATEST_PER_KEY;
+            case "TEAM_TASK_UPDATE_BATCH":
+            case "PING":
+                return DROP_OLDEST;
+            default:
+                // TASK_ASSIGNED, TASK_COMPLETED, TASK_STATUS_CHANGED, NOTIFICATION,
+                // CONNECTION_SUCCESS, SUBSCRIBED, RESYNC_REQUIRED, PRESENCE_DIFF, ERROR 등
+                return RELIABLE;
+        }
+    }
+}
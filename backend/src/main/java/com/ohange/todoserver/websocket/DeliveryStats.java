@@ -0,0 +1,62 @@
+package com.ohange.todoserver.websocket;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// 메시지 타입별 백프레셔 카운터 (버퍼 한도/정책 튜닝용, 노드 기동 이후 누적값)
+public class DeliveryStats {
+
+    private final Map<String, Counters> byType = new ConcurrentHashMap<>();
+
+    // 버퍼가 가득 차 버려진 메시지
+    public void dropped(String type) {
+        countersOf(type).dropped.increment();
+    }
+
+    // 같은 태스크의 최신 메시지로 교체되어 빠진 메시지
+    public void replaced(String type) {
+        countersOf(type).replaced.increment();
+    }
+
+    // 버릴 수 없는 메시지가 들어갈 자리가 없어 세션을 끊은 횟수
+    public void overflowClosed(String type) {
+        countersOf(type).overflowClosed.increment();
+    }
+
+    private Counters countersOf(String type) {
+        return byType.computeIfAbsent(type != null ? type : "UNKNOWN", k -> new Counters());
+    }
+
+    // 타입별 현재 누적값 (타입 이름순)
+    public Map<String, TypeStats> snapshot() {
+        Map<String, TypeStats> snapshot = new TreeMap<>();
+        byType.forEach((type, counters) -> snapshot.put(type, new TypeStats(
+                counters.dropped.sum(), counters.replaced.sum(), counters.overflowClosed.sum())));
+        return snapshot;
+    }
+
+    private static class Counters {
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder replaced = new LongAdder();
+        private final LongAdder overflowClosed = new LongAdder();
+    }
+
+    // 타입별 카운터 DTO
+    public static class TypeStats {
+        private final long dropped;
+        private final long replaced;
+        private final long overflowClosed;
+
+        public TypeStats(long dropped, long replaced, long overflowClosed) {
+            this.dropped = dropped;
+            this.replaced = replaced;
+            this.overflowClosed = overflowClosed;
+        }
+
+        public long getDropped() { return dropped; }
+        public long getReplaced() { return replaced; }
+        public long getOverflowClosed() { return overflowClosed; }
+    }
+}
@@ -0,0 +1,84 @@
+package com.ohange.todoserver.websocket;
+
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.sockjs.transport.SockJsSession;
+
+import java.nio.ByteBuffer;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// 서버 주도 하트비트 (타이밍 휠)
+// 세션을 슬롯에 나눠 담고, 매 틱마다 한 슬롯의 세션에만 ping을 보낸다.
+// 한 바퀴(= 하트비트 주기) 동안 모든 세션이 한 번씩 처리되므로 세션 수와 무관하게 틱 비용이 고르게 분산된다.
+// 실제로 전송된 ping이 maxMissedPongs번 연속 응답을 받지 못하면 deadHandler로 넘겨 모든 인덱스에서 한 번에 정리한다.
+// ping은 송신 큐에서 버릴 수 있는 메시지이므로, 백프레셔로 버려진 ping은 무응답으로 세지 않는다 (ClientSession.drain).
+public class HeartbeatWheel {
+
+    private final Set<ClientSession>[] slots;
+    private final int maxMissedPongs;
+    private final Consumer<ClientSession> deadHandler;
+    private int cursor;
+
+    @SuppressWarnings("unchecked")
+    public HeartbeatWheel(int slotCount, int maxMissedPongs, Consumer<ClientSession> deadHandler) {
+        this.slots = new Set[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.maxMissedPongs = maxMissedPongs;
+        this.deadHandler = deadHandler;
+    }
+
+    // 틱 스케줄 시작 (틱 간격 = 하트비트 주기 / 슬롯 수)
+    public void start(ScheduledExecutorService scheduler, long intervalMs) {
+        long tickMs = Math.max(1, intervalMs / slots.length);
+        scheduler.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    // 세션 추가 (세션 ID 해시로 슬롯을 골라 접속 폭주 시에도 고르게 분산)
+    public void add(ClientSession session) {
+        int slot = Math.floorMod(session.getId().hashCode(), slots.length);
+        session.setHeartbeatSlot(slot);
+        slots[slot].add(session);
+    }
+
+    public void remove(ClientSession session) {
+        int slot = session.getHeartbeatSlot();
+        if (slot >= 0) {
+            slots[slot].remove(session);
+        }
+    }
+
+    private void tick() {
+        Set<ClientSession> slot = slots[cursor];
+        cursor = (cursor + 1) % slots.length;
+
+        for (ClientSession session : slot) {
+            try {
+                if (!session.isOpen()) {
+                    slot.remove(session);
+                    deadHandler.accept(session);
+                    continue;
+                }
+
+                // SockJS는 자체 하트비트 프레임을 사용하며 ping 프레임을 지원하지 않음
+                if (session.getSession() instanceof SockJsSession) {
+                    continue;
+                }
+
+                if (session.getMissedPongs() >= maxMissedPongs) {
+                    slot.remove(session);
+                    deadHandler.accept(session);
+                    continue;
+                }
+
+                session.enqueue(OutboundMessage.control(new PingMessage(ByteBuffer.allocate(0)), "PING"));
+            } catch (Exception e) {
+                System.err.println("하트비트 처리 실패 - Session: " + session.getId() + ", Error: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.ohange.todoserver.websocket;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+
+// JVM 내부 버스 (단일 노드 운영 및 테스트용)
+// 같은 JVM에 뜬 여러 Spring 컨텍스트가 같은 채널을 쓰면 서로 다른 노드처럼 이벤트를 주고받는다.
+@Component
+@ConditionalOnProperty(name = "realtime.bus.type", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRealtimeBus implements RealtimeBus {
+
+    // JVM 전체에서 공유되는 노드 목록
+    private static final Set<InMemoryRealtimeBus> NODES = new CopyOnWriteArraySet<>();
+
+    @Value("${realtime.bus.channel:realtime_events}")
+    private String channel;
+
+    private final List<Consumer<BusEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    @PostConstruct
+    public void join() {
+        NODES.add(this);
+    }
+
+    @PreDestroy
+    public void leave() {
+        NODES.remove(this);
+    }
+
+    @Override
+    public void publish(BusEvent event) {
+        for (InMemoryRealtimeBus node : NODES) {
+            if (node.channel.equals(channel)) {
+                node.deliverLocally(event);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<BusEvent> listener) {
+        listeners.add(listener);
+    }
+
+    private void deliverLocally(BusEvent event) {
+        for (Consumer<BusEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (Exception e) {
+                System.err.println("버스 이벤트 처리 실패 - Event: " + event + ", Error: " + e.getMessage());
+            }
+        }
+    }
+}
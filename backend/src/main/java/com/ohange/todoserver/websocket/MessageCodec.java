@@ -0,0 +1,74 @@
+package com.ohange.todoserver.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// WebSocketMessage / 페이로드 직렬화 (노드 전체에서 하나의 ObjectMapper와 미리 만든 writer/reader를 공유)
+// 전송 프레임, 아웃박스 payload, 클러스터 버스가 모두 같은 설정을 쓰므로 날짜 형식 등이 경로마다 달라지지 않는다.
+public final class MessageCodec {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            // 롤링 배포 중 새 버전 노드가 필드를 추가해도 이전 버전 노드가 읽을 수 있도록
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private static final ObjectWriter MESSAGE_WRITER = MAPPER.writerFor(WebSocketMessage.class);
+
+    // 페이로드 타입별 reader (MessagePayloads.typeOf 결과 기준)
+    private static final Map<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+
+    private MessageCodec() {}
+
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    // 전송 프레임용 직렬화
+    public static byte[] encode(WebSocketMessage message) throws JsonProcessingException {
+        return MESSAGE_WRITER.writeValueAsBytes(message);
+    }
+
+    // 아웃박스 저장용 payload JSON
+    public static String writePayload(Object payload) throws JsonProcessingException {
+        return MAPPER.writeValueAsString(payload);
+    }
+
+    // 메시지 타입에 맞는 페이로드 객체로 복원 (알 수 없는 타입은 Map)
+    public static Object readPayload(String messageType, String json) throws JsonProcessingException {
+        if (json == null) {
+            return null;
+        }
+        return readerFor(messageType).readValue(json);
+    }
+
+    public static Object readPayload(String messageType, JsonNode node) throws IOException {
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        return readerFor(messageType).readValue(node);
+    }
+
+    // 알림 엔티티처럼 Map으로 저장해야 하는 곳에서 사용
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> toMap(Object payload) {
+        if (payload == null || payload instanceof Map) {
+            return (Map<String, Object>) payload;
+        }
+        return MAPPER.convertValue(payload, Map.class);
+    }
+
+    private static ObjectReader readerFor(String messageType) {
+        return READERS.computeIfAbsent(MessagePayloads.typeOf(messageType), MAPPER::readerFor);
+    }
+}
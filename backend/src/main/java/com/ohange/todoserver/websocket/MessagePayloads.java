@@ -0,0 +1,85 @@
+package com.ohange.todoserver.websocket;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// 메시지 타입별 data 페이로드
+// 레코드는 Jackson이 속성 직렬화기를 한 번만 만들어 재사용하므로, 이벤트마다 HashMap을 만들어 직렬화하던 것보다 할당과 CPU가 적다.
+// 날짜는 LocalDateTime 그대로 두고 직렬화 시 ISO-8601(yyyy-MM-ddTHH:mm:ss) 문자열로 쓴다 (MessageCodec 설정).
+public final class MessagePayloads {
+
+    private MessagePayloads() {}
+
+    // 사용자 요약 (팀 브로드캐스트용)
+    public record UserRef(String id, String name) {}
+
+    // 태스크 요약 (팀 브로드캐스트용)
+    public record TaskSummary(String id, String title, String content, String status,
+                              UserRef requester, UserRef assignee,
+                              LocalDateTime deadline, LocalDateTime createdAt, LocalDateTime completedAt) {}
+
+    // TEAM_TASK_UPDATE
+    public record TeamTaskUpdate(String action, TaskSummary task) {}
+
+    // TEAM_TASK_UPDATE_BATCH
+    public record TeamTaskUpdateBatch(List<?> updates) {}
+
+    // TASK_ASSIGNED
+    public record TaskAssigned(String taskId, String title, String content, String requester,
+                               LocalDateTime deadline, String teamId, String teamName) {}
+
+    // TASK_COMPLETED
+    public record TaskCompleted(String taskId, String title, String assignee, LocalDateTime completedAt,
+                                String completionNote, String teamId, String teamName) {}
+
+    // TASK_STATUS_CHANGED (count: 읽지 않은 상태로 합쳐진 상태 변경 수, 클라이언트는 같은 태스크의 기존 항목을 교체)
+    public record TaskStatusChanged(String taskId, String title, String oldStatus, String newStatus,
+                                    String changedBy, String teamId, int count) {}
+
+    // TASK_DEADLINE_NEAR (leadMinutes: 마감 몇 분 전 알림인지)
+    public record TaskDeadlineNear(String taskId, String title, LocalDateTime deadline, int leadMinutes,
+                                   String teamId, String teamName) {}
+
+    // UNREAD_COUNT (클라이언트에 보내는 읽지 않은 알림 수)
+    public record UnreadCount(long count) {}
+
+    // UNREAD_COUNT_DELTA (노드 간 카운터 동기화용, 클라이언트에는 보내지 않음)
+    // seq: 이 변경을 커밋한 트랜잭션이 올린 사용자의 unread_seq 값
+    public record UnreadCountDelta(long delta, long seq) {}
+
+    // NOTIFICATIONS_READ (MARK_READ 요청에 대한 응답, 요청의 requestId를 그대로 돌려줌)
+    public record NotificationsRead(String requestId, int updated, long unreadCount) {}
+
+    // PRESENCE_NODE_DIFF (노드 간 presence 동기화용, 클라이언트에는 보내지 않음, 버스 targetId는 teamId)
+    // 보낸 노드에서 한 flush 주기 동안 온라인/오프라인으로 바뀐 사용자
+    public record PresenceNodeDiff(String nodeId, List<String> online, List<String> offline) {}
+
+    // PRESENCE_NODE_STATE (노드의 팀별 온라인 사용자 전체, teams가 비어 있으면 노드가 빠짐)
+    public record PresenceNodeState(String nodeId, Map<String, List<String>> teams) {}
+
+    // PRESENCE_NODE_ALIVE (노드 생존 알림) / PRESENCE_SYNC_REQUEST (전체 상태 요청, 버스 targetId는 응답할 노드 또는 "*")
+    public record PresenceNode(String nodeId) {}
+
+    // 메시지 타입 -> 페이로드 타입 (아웃박스/버스에서 역직렬화할 때 사용, 없으면 Map)
+    static Class<?> typeOf(String messageType) {
+        if (messageType == null) {
+            return Map.class;
+        }
+        switch (messageType) {
+            case "TEAM_TASK_UPDATE": return TeamTaskUpdate.class;
+            case "TASK_ASSIGNED": return TaskAssigned.class;
+            case "TASK_COMPLETED": return TaskCompleted.class;
+            case "TASK_STATUS_CHANGED": return TaskStatusChanged.class;
+            case "TASK_DEADLINE_NEAR": return TaskDeadlineNear.class;
+            case "UNREAD_COUNT": return UnreadCount.class;
+            case "UNREAD_COUNT_DELTA": return UnreadCountDelta.class;
+            case "NOTIFICATIONS_READ": return NotificationsRead.class;
+            case "PRESENCE_NODE_DIFF": return PresenceNodeDiff.class;
+            case "PRESENCE_NODE_STATE": return PresenceNodeState.class;
+            case "PRESENCE_NODE_ALIVE":
+            case "PRESENCE_SYNC_REQUEST": return PresenceNode.class;
+            default: return Map.class;
+        }
+    }
+}
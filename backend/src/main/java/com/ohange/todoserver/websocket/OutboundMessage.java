@@ -0,0 +1,73 @@
+package com.ohange.todoserver.websocket;
+
+import org.springframework.web.socket.AbstractWebSocketMessage;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.Map;
+
+// 세션 송신 큐에 들어가는 프레임과 전달 정책
+// 팀 브로드캐스트에서는 한 인스턴스를 모든 수신 세션이 공유하므로 불변으로 유지한다.
+public final class OutboundMessage {
+
+    private final AbstractWebSocketMessage<?> frame;
+    private final String type;
+    private final DeliveryPolicy policy;
+    private final String conflationKey;
+
+    private OutboundMessage(AbstractWebSocketMessage<?> frame, String type, String conflationKey) {
+        this.frame = frame;
+        this.type = type;
+        this.policy = DeliveryPolicy.forType(type);
+        this.conflationKey = conflationKey;
+    }
+
+    // 직렬화된 애플리케이션 메시지 (TEAM_TASK_UPDATE는 태스크 ID로, UNREAD_COUNT는 하나의 키로 교체됨)
+    public static OutboundMessage of(WebSocketMessage message, TextMessage frame) {
+        return new OutboundMessage(frame, message.getType(), conflationKeyOf(message));
+    }
+
+    // ping 등 제어 프레임
+    public static OutboundMessage control(AbstractWebSocketMessage<?> frame, String type) {
+        return new OutboundMessage(frame, type, null);
+    }
+
+    private static String conflationKeyOf(WebSocketMessage message) {
+        if ("UNREAD_COUNT".equals(message.getType())) {
+            return "unread";
+        }
+        Object taskId = taskIdOf(message);
+        return taskId != null ? "task:" + taskId : null;
+    }
+
+    // 팀 업데이트 data.task.id (없으면 null)
+    static Object taskIdOf(WebSocketMessage message) {
+        Object data = message.getData();
+        if (data instanceof MessagePayloads.TeamTaskUpdate update) {
+            return update.task() != null ? update.task().id() : null;
+        }
+        if (data instanceof Map<?, ?> map && map.get("task") instanceof Map<?, ?> task) {
+            return task.get("id");
+        }
+        return null;
+    }
+
+    public AbstractWebSocketMessage<?> getFrame() {
+        return frame;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public DeliveryPolicy getPolicy() {
+        return policy;
+    }
+
+    public String getConflationKey() {
+        return conflationKey;
+    }
+
+    public int getPayloadLength() {
+        return frame.getPayloadLength();
+    }
+}
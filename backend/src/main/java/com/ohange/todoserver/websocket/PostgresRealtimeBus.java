@@ -0,0 +1,211 @@
+package com.ohange.todoserver.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// PostgreSQL LISTEN/NOTIFY 기반 버스 (다중 레플리카 운영용)
+// 발행은 pg_notify로, 수신은 노드마다 하나의 전용 커넥션에서 LISTEN 한다.
+// 발행한 노드도 자신의 NOTIFY를 받으므로 로컬 전달은 수신 경로에서만 일어난다.
+// NOTIFY 한도를 넘는 이벤트는 realtime_bus_payloads 테이블에 저장하고 행 id만 NOTIFY로 보낸다.
+// LISTEN 커넥션이 끊겨 있던 동안의 NOTIFY는 PostgreSQL이 보관하지 않으므로 복구할 수 없다.
+// 재연결하면 로컬 리스너에 REALTIME_BUS_GAP 이벤트를 전달해 클라이언트와 노드 캐시가 다시 동기화하도록 한다.
+@Component
+@ConditionalOnProperty(name = "realtime.bus.type", havingValue = "postgres")
+public class PostgresRealtimeBus implements RealtimeBus {
+
+    // NOTIFY 페이로드 한도는 8000 bytes
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+
+    // 참조로 보낸 NOTIFY 페이로드의 접두어 (이벤트 JSON은 항상 '{'로 시작)
+    private static final String REFERENCE_PREFIX = "@";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${realtime.bus.channel:realtime_events}")
+    private String channel;
+
+    // 참조로 보낸 이벤트 행 보관 시간 (모든 노드가 읽을 수 있도록 충분히 길게)
+    @Value("${realtime.bus.payload-retention-ms:300000}")
+    private long payloadRetentionMs;
+
+    private final ObjectMapper objectMapper = MessageCodec.mapper();
+    private final List<Consumer<BusEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    @PostConstruct
+    public void start() {
+        // LISTEN 채널명은 바인딩할 수 없으므로 식별자 형식만 허용
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalStateException("잘못된 realtime.bus.channel 값입니다: " + channel);
+        }
+
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "realtime-bus-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    @Override
+    public void publish(BusEvent event) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event);
+        } catch (IOException e) {
+            System.err.println("버스 이벤트 직렬화 실패 - Event: " + event + ", Error: " + e.getMessage());
+            return;
+        }
+
+        // 한도를 넘는 이벤트는 테이블에 저장하고 참조만 NOTIFY (같은 트랜잭션이면 커밋 시점에 함께 보임)
+        // 저장 실패는 예외로 호출자에게 전달 (아웃박스 릴레이는 재시도)
+        if (json.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+            UUID id = UUID.randomUUID();
+            jdbcTemplate.update("INSERT INTO realtime_bus_payloads (id, payload, created_at) VALUES (?, ?, ?)",
+                    id, json, Timestamp.valueOf(LocalDateTime.now()));
+            notify(REFERENCE_PREFIX + id);
+            return;
+        }
+
+        notify(json);
+    }
+
+    private void notify(String payload) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", (ResultSetExtractor<Void>) rs -> null, channel, payload);
+    }
+
+    @Override
+    public void subscribe(Consumer<BusEvent> listener) {
+        listeners.add(listener);
+    }
+
+    // 전용 커넥션에서 LISTEN, 끊기면 재연결
+    private void listenLoop() {
+        boolean listenedBefore = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                System.out.println("실시간 버스 LISTEN 시작 - Channel: " + channel);
+
+                // 끊겨 있던 동안 놓친 이벤트가 있을 수 있으므로 재동기화 요청
+                if (listenedBefore) {
+                    signalGap();
+                }
+                listenedBefore = true;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(500);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        handleNotification(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                System.err.println("실시간 버스 LISTEN 연결 실패, 재시도합니다: " + e.getMessage());
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void handleNotification(String payload) {
+        if (payload.startsWith(REFERENCE_PREFIX)) {
+            payload = loadReferenced(payload.substring(REFERENCE_PREFIX.length()));
+            if (payload == null) {
+                signalGap();
+                return;
+            }
+        }
+
+        try {
+            deliverLocally(objectMapper.readValue(payload, BusEvent.class));
+        } catch (IOException e) {
+            System.err.println("버스 이벤트 역직렬화 실패: " + e.getMessage());
+        }
+    }
+
+    // 참조로 보낸 이벤트 읽기 (보관 시간이 지나 지워졌거나 읽지 못하면 null)
+    private String loadReferenced(String id) {
+        try {
+            return jdbcTemplate.query("SELECT payload FROM realtime_bus_payloads WHERE id = ?",
+                    (ResultSetExtractor<String>) rs -> rs.next() ? rs.getString(1) : null, UUID.fromString(id));
+        } catch (RuntimeException e) {
+            System.err.println("참조 버스 이벤트 조회 실패 - Id: " + id + ", Error: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void signalGap() {
+        System.err.println("실시간 버스 이벤트 누락 가능, 재동기화를 요청합니다 - Channel: " + channel);
+        deliverLocally(BusEvent.toNodes(channel, WebSocketMessage.realtimeBusGap()));
+    }
+
+    // 보관 시간이 지난 참조 이벤트 행 정리
+    @Scheduled(fixedDelayString = "${realtime.bus.payload-cleanup-interval-ms:60000}")
+    public void purgeReferencedPayloads() {
+        int deleted = jdbcTemplate.update("DELETE FROM realtime_bus_payloads WHERE created_at < ?",
+                Timestamp.valueOf(LocalDateTime.now().minus(Duration.ofMillis(payloadRetentionMs))));
+        if (deleted > 0) {
+            System.out.println("참조 버스 이벤트 정리: " + deleted + "개");
+        }
+    }
+
+    private void deliverLocally(BusEvent event) {
+        for (Consumer<BusEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (Exception e) {
+                System.err.println("버스 이벤트 처리 실패 - Event: " + event + ", Error: " + e.getMessage());
+            }
+        }
+    }
+}
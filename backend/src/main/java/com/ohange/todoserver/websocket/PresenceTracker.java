@@ -0,0 +1,123 @@
+package com.ohange.todoserver.websocket;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 팀별 온라인 사용자 집합 (이 노드에 연결된 세션 기준, 클러스터 전체는 PresenceService가 노드별 집합을 합쳐 계산)
+// 사용자는 팀 채널을 구독한 세션이 하나라도 있으면 온라인이다 (여러 기기는 세션 수로 센다).
+// 변경은 즉시 내보내지 않고 마지막 flush 시점 상태와 비교한 순변화만 diff로 모은다.
+// 그래서 flush 주기 안에서 끊겼다 다시 붙은 클라이언트는 이벤트를 만들지 않는다.
+@Component
+public class PresenceTracker {
+
+    // teamId -> (userId -> 팀 채널을 구독 중인 세션 수)
+    private final Map<String, Map<String, Integer>> online = new ConcurrentHashMap<>();
+
+    // teamId -> (userId -> 마지막 flush 시점의 온라인 여부), 상태가 바뀐 사용자만 기록
+    private final Map<String, Map<String, Boolean>> pending = new ConcurrentHashMap<>();
+
+    // 세션이 팀 채널에 들어옴
+    public void join(String teamId, String userId) {
+        change(teamId, userId, 1);
+    }
+
+    // 세션이 팀 채널에서 나감 (구독 해제 또는 연결 종료)
+    public void leave(String teamId, String userId) {
+        change(teamId, userId, -1);
+    }
+
+    private void change(String teamId, String userId, int delta) {
+        online.compute(teamId, (k, users) -> {
+            if (users == null) {
+                users = new ConcurrentHashMap<>();
+            }
+            int before = users.getOrDefault(userId, 0);
+            int after = Math.max(0, before + delta);
+            if (after == 0) {
+                users.remove(userId);
+            } else {
+                users.put(userId, after);
+            }
+
+            // 온라인 여부가 바뀐 경우에만, 처음 바뀌기 전 상태를 기억
+            if ((before > 0) != (after > 0)) {
+                pending.computeIfAbsent(teamId, t -> new ConcurrentHashMap<>()).putIfAbsent(userId, before > 0);
+            }
+            return users.isEmpty() ? null : users;
+        });
+    }
+
+    public boolean isOnline(String teamId, String userId) {
+        Map<String, Integer> users = online.get(teamId);
+        return users != null && users.containsKey(userId);
+    }
+
+    // 팀의 현재 온라인 사용자 스냅샷
+    public Set<String> snapshot(String teamId) {
+        Map<String, Integer> users = online.get(teamId);
+        return users != null ? Set.copyOf(users.keySet()) : Set.of();
+    }
+
+    // 모든 팀의 현재 온라인 사용자 (다른 노드의 전체 상태 요청에 응답할 때 사용)
+    public Map<String, List<String>> snapshotAll() {
+        Map<String, List<String>> teams = new HashMap<>();
+        for (Map.Entry<String, Map<String, Integer>> entry : online.entrySet()) {
+            List<String> users = List.copyOf(entry.getValue().keySet());
+            if (!users.isEmpty()) {
+                teams.put(entry.getKey(), users);
+            }
+        }
+        return teams;
+    }
+
+    // 마지막 flush 이후 순변화가 있는 팀들의 diff를 꺼냄
+    public List<PresenceDiff> drainDiffs() {
+        List<PresenceDiff> diffs = new ArrayList<>();
+        for (String teamId : pending.keySet()) {
+            Map<String, Boolean> changes = pending.remove(teamId);
+            if (changes == null) {
+                continue;
+            }
+
+            List<String> cameOnline = new ArrayList<>();
+            List<String> wentOffline = new ArrayList<>();
+            for (Map.Entry<String, Boolean> change : changes.entrySet()) {
+                boolean wasOnline = change.getValue();
+                boolean nowOnline = isOnline(teamId, change.getKey());
+                if (nowOnline && !wasOnline) {
+                    cameOnline.add(change.getKey());
+                } else if (!nowOnline && wasOnline) {
+                    wentOffline.add(change.getKey());
+                }
+            }
+
+            if (!cameOnline.isEmpty() || !wentOffline.isEmpty()) {
+                diffs.add(new PresenceDiff(teamId, cameOnline, wentOffline));
+            }
+        }
+        return diffs;
+    }
+
+    // 팀별 presence 변화
+    public static class PresenceDiff {
+        private final String teamId;
+        private final List<String> online;
+        private final List<String> offline;
+
+        public PresenceDiff(String teamId, List<String> online, List<String> offline) {
+            this.teamId = teamId;
+            this.online = online;
+            this.offline = offline;
+        }
+
+        public String getTeamId() { return teamId; }
+        public List<String> getOnline() { return online; }
+        public List<String> getOffline() { return offline; }
+    }
+}
@@ -0,0 +1,18 @@
+package com.ohange.todoserver.websocket;
+
+import java.util.function.Consumer;
+
+// 클러스터 전체 실시간 이벤트 버스
+// publish된 이벤트는 모든 노드(발행한 노드 포함)의 리스너에게 전달되고,
+// 각 노드는 자신에게 연결된 세션에만 전송한다.
+// 이벤트를 놓쳤을 수 있으면(수신 연결 재수립 등) 구현체는 로컬 리스너에 NODE 대상
+// REALTIME_BUS_GAP 이벤트를 전달하고, 리스너는 캐시를 비우거나 클라이언트에 재동기화를 요청한다.
+// 구현체는 realtime.bus.type 설정으로 선택 (memory | postgres)
+public interface RealtimeBus {
+
+    // 모든 노드에 이벤트 발행
+    void publish(BusEvent event);
+
+    // 이 노드로 들어오는 이벤트 구독
+    void subscribe(Consumer<BusEvent> listener);
+}
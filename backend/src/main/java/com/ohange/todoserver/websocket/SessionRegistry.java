@@ -0,0 +1,145 @@
+package com.ohange.todoserver.websocket;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 세션 인덱스 (sessionId / userId / teamId)
+// 한 사용자가 여러 기기로 동시에 접속할 수 있으므로 사용자별로 세션 집합을 유지한다.
+// 세션 제거는 각 인덱스에서 키로 바로 찾아 지우므로 전체 맵을 순회하지 않는다.
+public class SessionRegistry {
+
+    // sessionId -> ClientSession
+    private final Map<String, ClientSession> sessions = new ConcurrentHashMap<>();
+
+    // userId -> Set<ClientSession> (기기별 세션)
+    private final Map<String, Set<ClientSession>> userSessions = new ConcurrentHashMap<>();
+
+    // teamId -> Set<ClientSession>
+    private final Map<String, Set<ClientSession>> teamSessions = new ConcurrentHashMap<>();
+
+    // 팀 채널 입장/퇴장 리스너 (presence 추적용, 세션이 실제로 추가/제거된 경우에만 한 번씩 호출)
+    private volatile ChannelListener channelListener;
+
+    public interface ChannelListener {
+        void onJoin(String teamId, String userId);
+        void onLeave(String teamId, String userId);
+    }
+
+    public void setChannelListener(ChannelListener channelListener) {
+        this.channelListener = channelListener;
+    }
+
+    // 세션 등록 (팀 채널 구독은 subscribe로 별도 수행)
+    public void register(ClientSession session) {
+        sessions.put(session.getId(), session);
+        addTo(userSessions, session.getUserId(), session);
+    }
+
+    // 세션 제거 (이미 제거된 경우 null), 구독 중이던 팀 채널에서도 모두 제거
+    public ClientSession unregister(String sessionId) {
+        ClientSession session = sessions.get(sessionId);
+        if (session != null) {
+            evict(session);
+        }
+        return session;
+    }
+
+    // 모든 인덱스에서 세션 제거 (여러 번 호출해도 안전)
+    // 닫히는 중에 구독이 끼어들어도 남은 팀 인덱스까지 정리되도록 세션이 가진 구독 목록 기준으로 지운다
+    public void evict(ClientSession session) {
+        sessions.remove(session.getId(), session);
+        removeFrom(userSessions, session.getUserId(), session);
+        for (String teamId : session.getTeamIds()) {
+            if (removeFrom(teamSessions, teamId, session)) {
+                notifyLeave(teamId, session);
+            }
+        }
+    }
+
+    // 팀 채널 구독 (이미 구독 중이면 false)
+    public boolean subscribe(ClientSession session, String teamId) {
+        if (!session.getTeamIds().add(teamId)) {
+            return false;
+        }
+        addTo(teamSessions, teamId, session);
+        ChannelListener listener = channelListener;
+        if (listener != null) {
+            listener.onJoin(teamId, session.getUserId());
+        }
+        return true;
+    }
+
+    // 팀 채널 구독 해제 (구독 중이 아니면 false)
+    public boolean unsubscribe(ClientSession session, String teamId) {
+        if (!session.getTeamIds().remove(teamId)) {
+            return false;
+        }
+        if (removeFrom(teamSessions, teamId, session)) {
+            notifyLeave(teamId, session);
+        }
+        return true;
+    }
+
+    public ClientSession get(String sessionId) {
+        return sessions.get(sessionId);
+    }
+
+    // 이 노드의 모든 세션
+    public Collection<ClientSession> getSessions() {
+        return sessions.values();
+    }
+
+    // 사용자의 모든 기기 세션
+    public Set<ClientSession> getUserSessions(String userId) {
+        Set<ClientSession> set = userSessions.get(userId);
+        return set != null ? set : Set.of();
+    }
+
+    // 팀의 모든 세션
+    public Set<ClientSession> getTeamSessions(String teamId) {
+        Set<ClientSession> set = teamSessions.get(teamId);
+        return set != null ? set : Set.of();
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    public int getUserCount() {
+        return userSessions.size();
+    }
+
+    public int getTeamCount() {
+        return teamSessions.size();
+    }
+
+    // compute 안에서 추가/제거해야 빈 집합 제거와 새 세션 추가가 경합하지 않는다
+    private static void addTo(Map<String, Set<ClientSession>> index, String key, ClientSession session) {
+        index.compute(key, (k, set) -> {
+            if (set == null) {
+                set = ConcurrentHashMap.newKeySet();
+            }
+            set.add(session);
+            return set;
+        });
+    }
+
+    // 실제로 제거했으면 true (동시에 여러 경로에서 제거해도 한 번만 true)
+    private static boolean removeFrom(Map<String, Set<ClientSession>> index, String key, ClientSession session) {
+        boolean[] removed = {false};
+        index.computeIfPresent(key, (k, set) -> {
+            removed[0] = set.remove(session);
+            return set.isEmpty() ? null : set;
+        });
+        return removed[0];
+    }
+
+    private void notifyLeave(String teamId, ClientSession session) {
+        ChannelListener listener = channelListener;
+        if (listener != null) {
+            listener.onLeave(teamId, session.getUserId());
+        }
+    }
+}
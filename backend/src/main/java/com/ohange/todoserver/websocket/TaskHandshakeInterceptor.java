@@ -0,0 +1,50 @@
+package com.ohange.todoserver.websocket;
+
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Map;
+
+// 핸드셰이크 시점에 쿼리 파라미터를 한 번만 파싱해서 세션 속성에 저장
+// (userId 필수, teamId는 선택 - 연결 직후 자동 구독할 팀)
+@Component
+public class TaskHandshakeInterceptor implements HandshakeInterceptor {
+
+    public static final String ATTR_USER_ID = "userId";
+    public static final String ATTR_TEAM_ID = "teamId";
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        try {
+            MultiValueMap<String, String> params = UriComponentsBuilder.fromUri(request.getURI())
+                    .build()
+                    .getQueryParams();
+
+            String userId = params.getFirst("userId");
+            if (userId != null && !userId.isBlank()) {
+                attributes.put(ATTR_USER_ID, userId);
+            }
+
+            String teamId = params.getFirst("teamId");
+            if (teamId != null && !teamId.isBlank()) {
+                attributes.put(ATTR_TEAM_ID, teamId);
+            }
+        } catch (Exception e) {
+            System.err.println("핸드셰이크 파라미터 추출 실패: " + e.getMessage());
+        }
+
+        // userId 누락 시에는 핸들러에서 BAD_DATA로 종료 (기존 동작 유지)
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+}
@@ -1,90 +1,386 @@
 package com.ohange.todoserver.websocket;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ohange.todoserver.service.TeamMembershipIndex;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PongMessage;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
 import java.io.IOException;
-import java.net.URI;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class TaskWebSocketHandler extends TextWebSocketHandler {
 
     private final ObjectMapper objectMapper = new ObjectMapper();
-    
-    // 사용자별 세션 저장 (userId -> WebSocketSession)
-    private final Map<String, WebSocketSession> userSessions = new ConcurrentHashMap<>();
-    
-    // 팀별 세션 그룹 관리 (teamId -> Set<WebSocketSession>)
-    private final Map<String, Set<WebSocketSession>> teamSessions = new ConcurrentHashMap<>();
-    
-    // 세션별 사용자 정보 저장 (sessionId -> UserInfo)
-    private final Map<String, UserInfo> sessionUserInfo = new ConcurrentHashMap<>();
+
+    @Autowired
+    private TeamMembershipIndex membershipIndex;
+
+    // 클러스터 버스로 들어온 이벤트를 이 노드의 세션에 전달
+    @Autowired
+    private RealtimeBus realtimeBus;
+
+    // 팀 채널 입퇴장을 presence로 반영
+    @Autowired
+    private PresenceTracker presenceTracker;
+
+    // 세션별 송신 큐를 비우는 전용 송신 스레드 (느린 소켓이 스레드 풀을 고갈시키지 않도록 가상 스레드 사용)
+    private final ExecutorService sendExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // 한 번의 전송이 이 시간을 넘기면 세션을 종료
+    @Value("${websocket.outbound.send-time-limit-ms:10000}")
+    private long sendTimeLimitMs;
+
+    // 세션별 송신 버퍼 한도 (UTF-8 인코딩된 프레임 bytes 합계 기준)
+    @Value("${websocket.outbound.buffer-size-limit:524288}")
+    private int bufferSizeLimit;
+
+    // 세션별 송신 큐에 쌓일 수 있는 최대 메시지 수
+    @Value("${websocket.outbound.queue-capacity:1000}")
+    private int queueCapacity;
+
+    // 메시지 타입별 버림/교체/강제 종료 카운터
+    private final DeliveryStats deliveryStats = new DeliveryStats();
+
+    // 세션 인덱스 (sessionId / userId -> 기기별 세션 집합 / teamId -> 세션 집합)
+    private final SessionRegistry registry = new SessionRegistry();
+
+    // TEAM_TASK_UPDATE 병합 윈도우 (0이면 병합하지 않고 즉시 전송)
+    @Value("${websocket.team-update.coalesce-window-ms:100}")
+    private long coalesceWindowMs;
+
+    // 병합 윈도우 flush, 스트림 정리 등 주기 작업용 스케줄러
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "websocket-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private TeamUpdateCoalescer teamUpdateCoalescer;
+
+    // 팀별 재전송 링 버퍼 크기 (재연결 시 이보다 많이 놓쳤으면 RESYNC_REQUIRED)
+    @Value("${websocket.replay.buffer-size:256}")
+    private int replayBufferSize;
+
+    // 구독자가 없는 팀 스트림을 보관하는 시간
+    @Value("${websocket.replay.retention-ms:300000}")
+    private long replayRetentionMs;
+
+    // 팀별 seq 스트림 (teamId -> TeamStream)
+    private final Map<String, TeamStream> teamStreams = new ConcurrentHashMap<>();
+
+    // 서버 ping 주기 (모든 세션이 이 주기마다 한 번씩 ping을 받음)
+    @Value("${websocket.heartbeat.interval-ms:30000}")
+    private long heartbeatIntervalMs;
+
+    // 연속으로 pong이 없으면 세션을 정리하는 ping 횟수
+    @Value("${websocket.heartbeat.max-missed-pongs:2}")
+    private int maxMissedPongs;
+
+    // 하트비트 휠 슬롯 수 (틱 간격 = 주기 / 슬롯 수)
+    @Value("${websocket.heartbeat.wheel-slots:64}")
+    private int heartbeatWheelSlots;
+
+    private HeartbeatWheel heartbeatWheel;
+
+    // 서비스 계층이 등록한 클라이언트 명령 처리기 (type -> 처리기)
+    private final Map<String, ClientCommandHandler> commands = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void subscribeToBus() {
+        registry.setChannelListener(new SessionRegistry.ChannelListener() {
+            @Override
+            public void onJoin(String teamId, String userId) {
+                presenceTracker.join(teamId, userId);
+            }
+
+            @Override
+            public void onLeave(String teamId, String userId) {
+                presenceTracker.leave(teamId, userId);
+            }
+        });
+        teamUpdateCoalescer = new TeamUpdateCoalescer(coalesceWindowMs, scheduler, this::broadcastToTeam);
+        scheduler.scheduleWithFixedDelay(this::evictIdleStreams, 1, 1, TimeUnit.MINUTES);
+        long stallCheckMs = Math.max(100, sendTimeLimitMs / 2);
+        scheduler.scheduleWithFixedDelay(this::closeStalledSessions, stallCheckMs, stallCheckMs, TimeUnit.MILLISECONDS);
+        heartbeatWheel = new HeartbeatWheel(heartbeatWheelSlots, maxMissedPongs, this::reap);
+        heartbeatWheel.start(scheduler, heartbeatIntervalMs);
+        realtimeBus.subscribe(this::deliver);
+    }
+
+    // 버스 이벤트를 로컬 세션에 전달
+    // 팀 태스크 업데이트는 병합 윈도우를 거치고, 사용자 직접 알림은 즉시 전달
+    private void deliver(BusEvent event) {
+        switch (event.getTarget()) {
+            case USER:
+                sendToUser(event.getTargetId(), event.getMessage());
+                break;
+            case TEAM:
+                if ("TEAM_TASK_UPDATE".equals(event.getMessage().getType())) {
+                    teamUpdateCoalescer.submit(event.getTargetId(), event.getMessage());
+                } else {
+                    broadcastToTeam(event.getTargetId(), event.getMessage());
+                }
+                break;
+            case NODE:
+                // 노드 내부 상태 이벤트는 해당 구독자(UnreadCountService 등)가 처리
+                if ("REALTIME_BUS_GAP".equals(event.getMessage().getType())) {
+                    resyncAll();
+                }
+                break;
+        }
+    }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
         System.out.println("=== WebSocket 연결 시도 감지 ===");
-        String userId = getUserIdFromSession(session);
-        String teamId = getTeamIdFromSession(session);
+        // 쿼리 파라미터는 핸드셰이크 인터셉터에서 이미 파싱됨
+        String userId = (String) session.getAttributes().get(TaskHandshakeInterceptor.ATTR_USER_ID);
+        String teamId = (String) session.getAttributes().get(TaskHandshakeInterceptor.ATTR_TEAM_ID);
         
-        if (userId == null || teamId == null) {
-            session.close(CloseStatus.BAD_DATA.withReason("userId와 teamId 파라미터가 필요합니다."));
+        if (userId == null) {
+            session.close(CloseStatus.BAD_DATA.withReason("userId 파라미터가 필요합니다."));
             return;
         }
 
-        // 사용자별 세션 저장
-        userSessions.put(userId, session);
-        
-        // 팀별 세션 그룹에 추가
-        teamSessions.computeIfAbsent(teamId, k -> ConcurrentHashMap.newKeySet()).add(session);
-        
-        // 세션 정보 저장
-        sessionUserInfo.put(session.getId(), new UserInfo(userId, teamId));
+        // 같은 사용자의 다른 기기 세션은 유지된 채로 추가 등록
+        ClientSession clientSession = new ClientSession(session, userId, sendExecutor,
+                sendTimeLimitMs, bufferSizeLimit, queueCapacity, deliveryStats);
+        registry.register(clientSession);
+        heartbeatWheel.add(clientSession);
         
         System.out.println("WebSocket 연결 성공 - User: " + userId + ", Team: " + teamId + ", Session: " + session.getId());
         
         // 연결 성공 메시지 전송
-        sendToSession(session, new WebSocketMessage("CONNECTION_SUCCESS", 
-                Map.of("message", "실시간 알림 연결이 성공했습니다.", "userId", userId, "teamId", teamId)));
+        Map<String, Object> data = new HashMap<>();
+        data.put("message", "실시간 알림 연결이 성공했습니다.");
+        data.put("userId", userId);
+        data.put("teamId", teamId);
+        sendToSession(clientSession, new WebSocketMessage("CONNECTION_SUCCESS", data));
+
+        // 핸드셰이크에 teamId가 있으면 해당 팀 채널을 바로 구독 (기존 클라이언트 호환)
+        if (teamId != null) {
+            subscribe(clientSession, teamId);
+        }
     }
 
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
-        UserInfo userInfo = sessionUserInfo.remove(session.getId());
+        ClientSession clientSession = registry.unregister(session.getId());
         
-        if (userInfo != null) {
-            // 사용자별 세션에서 제거
-            userSessions.remove(userInfo.getUserId(), session);
-            
-            // 팀별 세션 그룹에서 제거
-            Set<WebSocketSession> teamSessionSet = teamSessions.get(userInfo.getTeamId());
-            if (teamSessionSet != null) {
-                teamSessionSet.remove(session);
-                if (teamSessionSet.isEmpty()) {
-                    teamSessions.remove(userInfo.getTeamId());
-                }
-            }
-            
-            System.out.println("WebSocket 연결 종료 - User: " + userInfo.getUserId() + 
-                             ", Team: " + userInfo.getTeamId() + ", Session: " + session.getId());
+        if (clientSession != null) {
+            heartbeatWheel.remove(clientSession);
+            System.out.println("WebSocket 연결 종료 - User: " + clientSession.getUserId() + 
+                             ", Teams: " + clientSession.getTeamIds() + ", Session: " + session.getId());
         }
     }
 
     @Override
     public void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
-        // 클라이언트로부터의 메시지 처리 (필요시 구현)
-        System.out.println("클라이언트 메시지 수신: " + message.getPayload());
-        
+        ClientSession clientSession = registry.get(session.getId());
+        if (clientSession == null) {
+            return;
+        }
+
+        clientSession.markAlive();
+        String payload = message.getPayload();
+
         // Ping-Pong 메시지 처리
-        if ("ping".equals(message.getPayload())) {
-            sendToSession(session, new WebSocketMessage("PONG", Map.of("timestamp", System.currentTimeMillis())));
+        if ("ping".equals(payload)) {
+            sendToSession(clientSession, new WebSocketMessage("PONG", Map.of("timestamp", System.currentTimeMillis())));
+            return;
+        }
+
+        // 제어 프레임 처리: {"type": "SUBSCRIBE" | "UNSUBSCRIBE", "teamId": "..."}
+        //                   {"type": "RESUME", "teamId": "...", "streamId": "...", "lastSeq": n}
+        // 그 밖의 타입은 registerCommand로 등록된 명령 처리기로 넘김
+        JsonNode frame;
+        try {
+            frame = objectMapper.readTree(payload);
+        } catch (IOException e) {
+            sendToSession(clientSession, WebSocketMessage.error("잘못된 메시지 형식입니다."));
+            return;
+        }
+
+        String type = frame.path("type").asText("");
+        String teamId = frame.path("teamId").asText(null);
+
+        switch (type) {
+            case "SUBSCRIBE":
+                subscribe(clientSession, teamId);
+                break;
+            case "UNSUBSCRIBE":
+                unsubscribe(clientSession, teamId);
+                break;
+            case "RESUME":
+                resume(clientSession, teamId, frame.path("streamId").asText(null), frame.path("lastSeq").asLong(-1));
+                break;
+            default:
+                ClientCommandHandler command = commands.get(type);
+                if (command != null) {
+                    runCommand(clientSession, command, frame);
+                    break;
+                }
+                System.out.println("알 수 없는 클라이언트 메시지 - Session: " + session.getId() + ", Type: " + type);
+                sendToSession(clientSession, WebSocketMessage.error("지원하지 않는 메시지 타입입니다: " + type));
+        }
+    }
+
+    // 클라이언트 명령 처리기 등록 (SUBSCRIBE 등 내장 제어 프레임 타입은 등록할 수 없음)
+    public void registerCommand(String type, ClientCommandHandler command) {
+        if (Set.of("SUBSCRIBE", "UNSUBSCRIBE", "RESUME").contains(type)) {
+            throw new IllegalArgumentException("내장 제어 프레임 타입입니다: " + type);
+        }
+        commands.put(type, command);
+    }
+
+    // 명령 실행 후 결과를 요청한 세션에만 응답
+    private void runCommand(ClientSession clientSession, ClientCommandHandler command, JsonNode frame) {
+        try {
+            WebSocketMessage reply = command.handle(clientSession.getUserId(), frame);
+            if (reply != null) {
+                sendToSession(clientSession, reply);
+            }
+        } catch (IllegalArgumentException e) {
+            sendToSession(clientSession, WebSocketMessage.error(e.getMessage()));
+        } catch (Exception e) {
+            System.err.println("클라이언트 명령 처리 실패 - Session: " + clientSession.getId() +
+                             ", Type: " + frame.path("type").asText("") + ", Error: " + e.getMessage());
+            sendToSession(clientSession, WebSocketMessage.error("요청을 처리하지 못했습니다."));
+        }
+    }
+
+    @Override
+    protected void handlePongMessage(WebSocketSession session, PongMessage message) throws Exception {
+        ClientSession clientSession = registry.get(session.getId());
+        if (clientSession != null) {
+            clientSession.markAlive();
+        }
+    }
+
+    // 하트비트 무응답 또는 이미 끊긴 세션 정리 (모든 인덱스에서 한 번에 제거)
+    private void reap(ClientSession clientSession) {
+        registry.evict(clientSession);
+        clientSession.close(CloseStatus.SESSION_NOT_RELIABLE, "하트비트 응답 없음");
+        System.out.println("WebSocket 세션 정리 - User: " + clientSession.getUserId() +
+                         ", Teams: " + clientSession.getTeamIds() + ", Session: " + clientSession.getId());
+    }
+
+    // 팀 채널 구독 (구독 시 한 번만 멤버십 확인)
+    private void subscribe(ClientSession clientSession, String teamId) {
+        if (teamId == null || teamId.isBlank()) {
+            sendToSession(clientSession, WebSocketMessage.error("teamId가 필요합니다."));
+            return;
+        }
+
+        if (!isTeamMember(teamId, clientSession.getUserId())) {
+            sendToSession(clientSession, WebSocketMessage.error("팀 멤버만 팀 채널을 구독할 수 있습니다."));
+            return;
+        }
+
+        // 구독과 SUBSCRIBED 응답을 스트림 잠금 안에서 처리해 응답의 seq 이후 메시지만 라이브로 받도록 함
+        TeamStream stream = streamOf(teamId);
+        synchronized (stream) {
+            registry.subscribe(clientSession, teamId);
+            sendToSession(clientSession, new WebSocketMessage("SUBSCRIBED",
+                    Map.of("teamId", teamId, "streamId", stream.getStreamId(), "seq", stream.getLastSeq())));
+        }
+        System.out.println("팀 채널 구독 - User: " + clientSession.getUserId() + ", Team: " + teamId);
+    }
+
+    // 재연결 후 누락분 재전송 (구독 중이 아니면 구독도 함께 수행)
+    // 클라이언트는 이미 받은 seq 이하의 메시지는 무시해야 한다
+    // 스트림은 노드별이므로 다른 노드에서 받은 streamId로 RESUME하면 항상 RESYNC_REQUIRED (TeamStream 참고)
+    private void resume(ClientSession clientSession, String teamId, String streamId, long lastSeq) {
+        if (teamId == null || teamId.isBlank()) {
+            sendToSession(clientSession, WebSocketMessage.error("teamId가 필요합니다."));
+            return;
+        }
+
+        if (!clientSession.getTeamIds().contains(teamId) && !isTeamMember(teamId, clientSession.getUserId())) {
+            sendToSession(clientSession, WebSocketMessage.error("팀 멤버만 팀 채널을 구독할 수 있습니다."));
+            return;
+        }
+
+        TeamStream stream = streamOf(teamId);
+        synchronized (stream) {
+            registry.subscribe(clientSession, teamId);
+
+            List<OutboundMessage> missed = stream.getStreamId().equals(streamId) ? stream.since(lastSeq) : null;
+            if (missed == null) {
+                // 스트림이 바뀌었거나 링에서 이미 밀려남 -> 전체 목록을 다시 조회해야 함
+                sendToSession(clientSession, new WebSocketMessage("RESYNC_REQUIRED",
+                        Map.of("teamId", teamId, "streamId", stream.getStreamId(), "seq", stream.getLastSeq())));
+                return;
+            }
+
+            for (OutboundMessage frame : missed) {
+                clientSession.enqueue(frame);
+            }
+            System.out.println("팀 채널 재전송 - User: " + clientSession.getUserId() + ", Team: " + teamId +
+                             ", 재전송: " + missed.size() + "개");
+        }
+    }
+
+    // 버스 수신 공백 이후 전체 재동기화
+    // 놓친 팀 메시지는 스트림에도 없으므로 팀 스트림을 새로 시작해 이전 seq로의 RESUME도 RESYNC_REQUIRED가 되게 하고,
+    // 모든 세션에 사용자 단위(알림, 읽지 않은 수)와 구독 중인 팀별 재동기화를 요청한다
+    private void resyncAll() {
+        for (Map.Entry<String, TeamStream> entry : teamStreams.entrySet()) {
+            // 진행 중인 브로드캐스트가 끝난 뒤 제거해 이후 메시지는 새 스트림으로만 나가도록 함
+            synchronized (entry.getValue()) {
+                teamStreams.remove(entry.getKey(), entry.getValue());
+            }
+        }
+
+        for (ClientSession clientSession : registry.getSessions()) {
+            sendToSession(clientSession, new WebSocketMessage("RESYNC_REQUIRED", Map.of("reason", "BUS_GAP")));
+            for (String teamId : clientSession.getTeamIds()) {
+                TeamStream stream = streamOf(teamId);
+                synchronized (stream) {
+                    sendToSession(clientSession, new WebSocketMessage("RESYNC_REQUIRED",
+                            Map.of("teamId", teamId, "streamId", stream.getStreamId(), "seq", stream.getLastSeq())));
+                }
+            }
+        }
+        System.out.println("실시간 버스 공백으로 재동기화 요청: " + registry.getSessionCount() + "개 세션");
+    }
+
+    // 팀 채널 구독 해제
+    private void unsubscribe(ClientSession clientSession, String teamId) {
+        if (teamId == null || teamId.isBlank()) {
+            sendToSession(clientSession, WebSocketMessage.error("teamId가 필요합니다."));
+            return;
+        }
+
+        registry.unsubscribe(clientSession, teamId);
+        System.out.println("팀 채널 구독 해제 - User: " + clientSession.getUserId() + ", Team: " + teamId);
+        sendToSession(clientSession, new WebSocketMessage("UNSUBSCRIBED", Map.of("teamId", teamId)));
+    }
+
+    private boolean isTeamMember(String teamId, String userId) {
+        try {
+            return membershipIndex.isMember(UUID.fromString(teamId), UUID.fromString(userId));
+        } catch (IllegalArgumentException e) {
+            return false;
         }
     }
 
@@ -94,113 +390,146 @@ public class TaskWebSocketHandler extends TextWebSocketHandler {
         session.close(CloseStatus.SERVER_ERROR);
     }
 
-    // 특정 사용자에게 메시지 전송
+    // 특정 사용자에게 메시지 전송 (이 노드에 접속 중인 모든 기기로, 클러스터 전체 전송은 RealtimeBus 사용)
     public void sendToUser(String userId, WebSocketMessage message) {
-        WebSocketSession session = userSessions.get(userId);
-        if (session != null && session.isOpen()) {
-            sendToSession(session, message);
+        Set<ClientSession> sessions = registry.getUserSessions(userId);
+        if (!sessions.isEmpty()) {
+            OutboundMessage frame = outbound(message);
+            if (frame != null) {
+                fanOut(sessions, frame);
+            }
         } else {
             System.out.println("사용자 " + userId + "의 활성 세션을 찾을 수 없습니다.");
         }
     }
 
-    // 팀 전체에게 브로드캐스트
+    // 팀 전체에게 브로드캐스트 (이 노드의 구독자에게만, 클러스터 전체 전송은 RealtimeBus 사용)
+    // 팀 스트림의 seq를 붙여 한 번만 직렬화하고, 같은 프레임 인스턴스를 모든 수신자가 공유한다
+    // 현재 구독자가 없어도 재연결 클라이언트를 위해 스트림에는 기록한다
     public void broadcastToTeam(String teamId, WebSocketMessage message) {
-        Set<WebSocketSession> sessions = teamSessions.get(teamId);
-        if (sessions != null) {
-            sessions.removeIf(session -> !session.isOpen()); // 비활성 세션 제거
-            
-            for (WebSocketSession session : sessions) {
-                sendToSession(session, message);
-            }
-            
-            System.out.println("팀 " + teamId + "에 메시지 브로드캐스트: " + sessions.size() + "개 세션");
-        } else {
-            System.out.println("팀 " + teamId + "의 활성 세션을 찾을 수 없습니다.");
+        TeamStream stream = streamOf(teamId);
+        synchronized (stream) {
+            OutboundMessage frame = stream.append(message, this::encode);
+            if (frame == null) {
+                return;
+            }
+
+            Set<ClientSession> sessions = registry.getTeamSessions(teamId);
+            if (!sessions.isEmpty()) {
+                int delivered = fanOut(sessions, frame);
+                System.out.println("팀 " + teamId + "에 메시지 브로드캐스트: " + delivered + "개 세션");
+            } else {
+                System.out.println("팀 " + teamId + "의 활성 세션을 찾을 수 없습니다.");
+            }
         }
     }
 
-    // 세션에 메시지 전송 (내부 메서드)
-    private void sendToSession(WebSocketSession session, WebSocketMessage message) {
-        try {
-            if (session.isOpen()) {
-                String jsonMessage = objectMapper.writeValueAsString(message);
-                session.sendMessage(new TextMessage(jsonMessage));
+    // 재전송 스트림에 남기지 않는 일시적 팀 메시지 전송 (presence 등, seq 없음)
+    public void broadcastEphemeralToTeam(String teamId, WebSocketMessage message) {
+        Set<ClientSession> sessions = registry.getTeamSessions(teamId);
+        if (!sessions.isEmpty()) {
+            OutboundMessage frame = outbound(message);
+            if (frame != null) {
+                fanOut(sessions, frame);
             }
-        } catch (IOException e) {
-            System.err.println("메시지 전송 실패 - Session: " + session.getId() + ", Error: " + e.getMessage());
         }
     }
 
-    // URL에서 userId 파라미터 추출
-    private String getUserIdFromSession(WebSocketSession session) {
-        try {
-            URI uri = session.getUri();
-            if (uri != null) {
-                String query = uri.getQuery();
-                if (query != null) {
-                    for (String param : query.split("&")) {
-                        String[] pair = param.split("=");
-                        if (pair.length == 2 && "userId".equals(pair[0])) {
-                            return pair[1];
-                        }
-                    }
-                }
+    private TeamStream streamOf(String teamId) {
+        return teamStreams.computeIfAbsent(teamId, k -> new TeamStream(replayBufferSize));
+    }
+
+    // 구독자가 없고 보관 시간이 지난 팀 스트림 정리
+    private void evictIdleStreams() {
+        long now = System.currentTimeMillis();
+        teamStreams.entrySet().removeIf(entry ->
+                registry.getTeamSessions(entry.getKey()).isEmpty()
+                        && now - entry.getValue().getLastActivity() > replayRetentionMs);
+    }
+
+    // 전송이 시간 한도를 넘겨 멈춘 세션 종료 (이후 메시지가 없어 enqueue에서 감지되지 않는 경우)
+    private void closeStalledSessions() {
+        for (ClientSession session : registry.getSessions()) {
+            if (session.closeIfSendStalled()) {
+                registry.evict(session);
             }
-        } catch (Exception e) {
-            System.err.println("userId 파라미터 추출 실패: " + e.getMessage());
         }
-        return null;
     }
 
-    // URL에서 teamId 파라미터 추출
-    private String getTeamIdFromSession(WebSocketSession session) {
+    // 세션 집합에 프레임 전달, 닫힌 세션은 발견 즉시 인덱스에서 제거
+    private int fanOut(Set<ClientSession> sessions, OutboundMessage frame) {
+        int delivered = 0;
+        for (ClientSession session : sessions) {
+            if (!session.isOpen()) {
+                registry.evict(session);
+                continue;
+            }
+            if (session.enqueue(frame)) {
+                delivered++;
+            }
+        }
+        return delivered;
+    }
+
+    // 메시지를 전송용 프레임으로 한 번만 직렬화 (실패 시 null)
+    public TextMessage encode(WebSocketMessage message) {
         try {
-            URI uri = session.getUri();
-            if (uri != null) {
-                String query = uri.getQuery();
-                if (query != null) {
-                    for (String param : query.split("&")) {
-                        String[] pair = param.split("=");
-                        if (pair.length == 2 && "teamId".equals(pair[0])) {
-                            return pair[1];
-                        }
-                    }
-                }
+            return new TextMessage(MessageCodec.encode(message));
+        } catch (IOException e) {
+            System.err.println("메시지 직렬화 실패 - Type: " + message.getType() + ", Error: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // 직렬화된 프레임에 메시지 타입의 전달 정책을 붙임 (실패 시 null)
+    private OutboundMessage outbound(WebSocketMessage message) {
+        TextMessage frame = encode(message);
+        return frame != null ? OutboundMessage.of(message, frame) : null;
+    }
+
+    // 세션 송신 큐에 메시지 추가 (내부 메서드, 실제 전송은 송신 스레드가 수행)
+    private void sendToSession(ClientSession session, WebSocketMessage message) {
+        if (session.isOpen()) {
+            OutboundMessage frame = outbound(message);
+            if (frame != null) {
+                session.enqueue(frame);
             }
-        } catch (Exception e) {
-            System.err.println("teamId 파라미터 추출 실패: " + e.getMessage());
         }
-        return null;
     }
 
     // 현재 연결된 사용자 수 조회
     public int getConnectedUserCount() {
-        return userSessions.size();
+        return registry.getUserCount();
+    }
+
+    // 현재 연결된 세션 수 조회 (기기 단위)
+    public int getConnectedSessionCount() {
+        return registry.getSessionCount();
     }
 
     // 현재 활성 팀 수 조회
     public int getActiveTeamCount() {
-        return teamSessions.size();
+        return registry.getTeamCount();
     }
 
-    // 특정 사용자가 온라인인지 확인
-    public boolean isUserOnline(String userId) {
-        WebSocketSession session = userSessions.get(userId);
-        return session != null && session.isOpen();
+    // 메시지 타입별 백프레셔 카운터 조회
+    public Map<String, DeliveryStats.TypeStats> getDeliveryStats() {
+        return deliveryStats.snapshot();
     }
 
-    // 사용자 정보 내부 클래스
-    private static class UserInfo {
-        private final String userId;
-        private final String teamId;
-
-        public UserInfo(String userId, String teamId) {
-            this.userId = userId;
-            this.teamId = teamId;
+    // 특정 사용자가 온라인인지 확인 (열린 기기 세션이 하나라도 있으면 온라인)
+    public boolean isUserOnline(String userId) {
+        for (ClientSession session : registry.getUserSessions(userId)) {
+            if (session.isOpen()) {
+                return true;
+            }
         }
+        return false;
+    }
 
-        public String getUserId() { return userId; }
-        public String getTeamId() { return teamId; }
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        sendExecutor.shutdownNow();
     }
 }
\ No newline at end of file
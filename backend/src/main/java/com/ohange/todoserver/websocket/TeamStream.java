@@ -0,0 +1,72 @@
+package com.ohange.todoserver.websocket;
+
+import org.springframework.web.socket.TextMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+// 팀 채널 스트림
+// 팀으로 나가는 메시지마다 단조 증가 seq를 붙이고, 최근 프레임을 고정 크기 링 버퍼에 보관한다.
+// 재연결한 클라이언트는 마지막으로 받은 seq 이후 프레임만 다시 받는다.
+// streamId는 스트림이 만들어질 때마다 새로 발급되므로 서버 재시작이나 다른 노드 재연결은 streamId 불일치로 감지된다.
+// 스트림과 seq는 노드마다 따로 있으므로 재전송은 끊기기 전과 같은 노드에 다시 붙었을 때만 가능하다.
+// 클러스터 버스(RealtimeBus)로 여러 노드를 띄운 경우 로드 밸런서가 다른 노드로 보낸 재연결은
+// 놓친 메시지 수와 관계없이 항상 RESYNC_REQUIRED를 받는다 (sticky session이면 대부분 재전송으로 끝남).
+// 버스 공백 뒤의 resyncAll이나 구독자 없는 스트림 정리(evictIdleStreams)도 스트림을 새로 만들어 같은 결과가 된다.
+// append/since와 팀 fan-out은 이 객체의 모니터 안에서 수행해 세션별 전송 순서가 seq 순서와 같도록 한다.
+public class TeamStream {
+
+    private final String streamId = UUID.randomUUID().toString();
+    private final OutboundMessage[] ring;
+    private long lastSeq;
+    private volatile long lastActivity = System.currentTimeMillis();
+
+    public TeamStream(int capacity) {
+        this.ring = new OutboundMessage[capacity];
+    }
+
+    // 메시지에 다음 seq를 붙여 인코딩하고 전달 정책과 함께 링에 보관 (인코딩 실패 시 null, seq는 소비하지 않음)
+    public synchronized OutboundMessage append(WebSocketMessage message, Function<WebSocketMessage, TextMessage> encoder) {
+        WebSocketMessage sequenced = message.withSequence(streamId, lastSeq + 1);
+        TextMessage frame = encoder.apply(sequenced);
+        if (frame == null) {
+            return null;
+        }
+        OutboundMessage outbound = OutboundMessage.of(sequenced, frame);
+        lastSeq++;
+        ring[(int) (lastSeq % ring.length)] = outbound;
+        lastActivity = System.currentTimeMillis();
+        return outbound;
+    }
+
+    // seq 이후의 프레임들 (이미 링에서 밀려났거나 알 수 없는 seq면 null = 재동기화 필요)
+    public synchronized List<OutboundMessage> since(long seq) {
+        if (seq < 0 || seq > lastSeq) {
+            return null;
+        }
+        long oldest = Math.max(1, lastSeq - ring.length + 1);
+        if (seq + 1 < oldest) {
+            return null;
+        }
+
+        List<OutboundMessage> frames = new ArrayList<>((int) (lastSeq - seq));
+        for (long s = seq + 1; s <= lastSeq; s++) {
+            frames.add(ring[(int) (s % ring.length)]);
+        }
+        return frames;
+    }
+
+    public String getStreamId() {
+        return streamId;
+    }
+
+    public synchronized long getLastSeq() {
+        return lastSeq;
+    }
+
+    public long getLastActivity() {
+        return lastActivity;
+    }
+}
@@ -0,0 +1,113 @@
+package com.ohange.todoserver.websocket;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+// 팀별 TEAM_TASK_UPDATE 병합기
+// 한동안 조용하던 팀의 첫 업데이트는 바로 전송하고 윈도우를 연다. 윈도우 동안 들어온 업데이트는 모아서
+// 같은 태스크는 최신 상태만 남기고, 윈도우가 끝나면 한 프레임으로 전송한 뒤 윈도우를 한 번 더 연다.
+// 따라서 드문 변경은 윈도우만큼 기다리지 않고, 연속 변경은 팀당 윈도우마다 최대 한 프레임으로 묶인다.
+// 윈도우 안에 업데이트가 하나뿐이면 기존 TEAM_TASK_UPDATE 형식 그대로 전송한다.
+public class TeamUpdateCoalescer {
+
+    private final long windowMs;
+    private final ScheduledExecutorService scheduler;
+    private final BiConsumer<String, WebSocketMessage> sink;
+
+    // teamId -> 윈도우 동안 모인 업데이트
+    private final Map<String, PendingUpdates> pending = new ConcurrentHashMap<>();
+
+    public TeamUpdateCoalescer(long windowMs, ScheduledExecutorService scheduler,
+                               BiConsumer<String, WebSocketMessage> sink) {
+        this.windowMs = windowMs;
+        this.scheduler = scheduler;
+        this.sink = sink;
+    }
+
+    // 팀 업데이트 추가 (윈도우가 0 이하면 즉시 전송)
+    public void submit(String teamId, WebSocketMessage update) {
+        if (windowMs <= 0) {
+            sink.accept(teamId, update);
+            return;
+        }
+
+        boolean[] leading = {false};
+        pending.compute(teamId, (k, updates) -> {
+            if (updates == null) {
+                // 열린 윈도우가 없으면 이 업데이트는 바로 보내고, 이후 업데이트를 모을 빈 윈도우를 연다
+                leading[0] = true;
+                return new PendingUpdates();
+            }
+            updates.add(update);
+            return updates;
+        });
+
+        if (leading[0]) {
+            send(teamId, List.of(update));
+            scheduler.schedule(() -> flush(teamId), windowMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // 윈도우 종료: 모인 게 없으면 윈도우를 닫고, 있으면 전송 후 다음 윈도우를 연다
+    private void flush(String teamId) {
+        PendingUpdates[] drained = {null};
+        pending.computeIfPresent(teamId, (k, updates) -> {
+            if (updates.isEmpty()) {
+                return null;
+            }
+            drained[0] = updates;
+            return new PendingUpdates();
+        });
+        if (drained[0] == null) {
+            return;
+        }
+
+        send(teamId, drained[0].merged());
+        scheduler.schedule(() -> flush(teamId), windowMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void send(String teamId, List<WebSocketMessage> merged) {
+        try {
+            if (merged.size() == 1) {
+                sink.accept(teamId, merged.get(0));
+            } else {
+                List<Object> batch = new ArrayList<>(merged.size());
+                for (WebSocketMessage message : merged) {
+                    batch.add(message.getData());
+                }
+                sink.accept(teamId, WebSocketMessage.teamTaskUpdateBatch(batch));
+            }
+        } catch (Exception e) {
+            System.err.println("팀 업데이트 전송 실패 - Team: " + teamId + ", Error: " + e.getMessage());
+        }
+    }
+
+    // compute 안에서만 변경되고, 교체된 이후에는 flush 스레드만 읽는다
+    private static class PendingUpdates {
+        // taskId -> 최신 업데이트 (마지막으로 바뀐 순서 유지)
+        private final LinkedHashMap<Object, WebSocketMessage> byTask = new LinkedHashMap<>();
+
+        void add(WebSocketMessage update) {
+            Object key = OutboundMessage.taskIdOf(update);
+            if (key == null) {
+                key = new Object(); // 태스크를 알 수 없는 업데이트는 병합하지 않음
+            }
+            byTask.remove(key);
+            byTask.put(key, update);
+        }
+
+        boolean isEmpty() {
+            return byTask.isEmpty();
+        }
+
+        List<WebSocketMessage> merged() {
+            return new ArrayList<>(byTask.values());
+        }
+    }
+}
@@ -1,41 +1,115 @@
 package com.ohange.todoserver.websocket;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 
 public class WebSocketMessage {
     private String type;
-    private Map<String, Object> data;
+    // MessagePayloads의 타입별 레코드, 제어 메시지(SUBSCRIBED 등)는 Map
+    private Object data;
     private long timestamp;
 
+    // 팀 채널 메시지에만 붙는 스트림 ID / 순번 (재연결 시 누락분 재전송에 사용)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String streamId;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long seq;
+
     // 기본 생성자
     public WebSocketMessage() {
         this.timestamp = System.currentTimeMillis();
     }
 
     // 생성자
-    public WebSocketMessage(String type, Map<String, Object> data) {
+    public WebSocketMessage(String type, Object data) {
         this.type = type;
         this.data = data;
         this.timestamp = System.currentTimeMillis();
     }
 
+    // 클러스터 버스에서 받은 JSON 복원 (type을 보고 data를 타입별 레코드로 읽음)
+    @JsonCreator
+    static WebSocketMessage fromJson(@JsonProperty("type") String type,
+                                     @JsonProperty("data") JsonNode data) throws IOException {
+        return new WebSocketMessage(type, MessageCodec.readPayload(type, data));
+    }
+
     // 정적 팩토리 메서드들
-    public static WebSocketMessage taskAssigned(Map<String, Object> taskData) {
+    public static WebSocketMessage taskAssigned(MessagePayloads.TaskAssigned taskData) {
         return new WebSocketMessage("TASK_ASSIGNED", taskData);
     }
 
-    public static WebSocketMessage taskCompleted(Map<String, Object> taskData) {
+    public static WebSocketMessage taskCompleted(MessagePayloads.TaskCompleted taskData) {
         return new WebSocketMessage("TASK_COMPLETED", taskData);
     }
 
-    public static WebSocketMessage taskStatusChanged(Map<String, Object> taskData) {
+    public static WebSocketMessage taskStatusChanged(MessagePayloads.TaskStatusChanged taskData) {
         return new WebSocketMessage("TASK_STATUS_CHANGED", taskData);
     }
 
-    public static WebSocketMessage teamTaskUpdate(Map<String, Object> taskData) {
+    public static WebSocketMessage taskDeadlineNear(MessagePayloads.TaskDeadlineNear taskData) {
+        return new WebSocketMessage("TASK_DEADLINE_NEAR", taskData);
+    }
+
+    public static WebSocketMessage teamTaskUpdate(MessagePayloads.TeamTaskUpdate taskData) {
         return new WebSocketMessage("TEAM_TASK_UPDATE", taskData);
     }
 
+    // 병합된 팀 업데이트 묶음 (updates: TEAM_TASK_UPDATE data 목록)
+    public static WebSocketMessage teamTaskUpdateBatch(List<?> updates) {
+        return new WebSocketMessage("TEAM_TASK_UPDATE_BATCH", new MessagePayloads.TeamTaskUpdateBatch(updates));
+    }
+
+    public static WebSocketMessage presenceDiff(PresenceTracker.PresenceDiff presenceData) {
+        return new WebSocketMessage("PRESENCE_DIFF", presenceData);
+    }
+
+    // 노드 간 presence 동기화 메시지들 (클라이언트에는 보내지 않음)
+    public static WebSocketMessage presenceNodeDiff(String nodeId, List<String> online, List<String> offline) {
+        return new WebSocketMessage("PRESENCE_NODE_DIFF", new MessagePayloads.PresenceNodeDiff(nodeId, online, offline));
+    }
+
+    public static WebSocketMessage presenceNodeState(String nodeId, Map<String, List<String>> teams) {
+        return new WebSocketMessage("PRESENCE_NODE_STATE", new MessagePayloads.PresenceNodeState(nodeId, teams));
+    }
+
+    public static WebSocketMessage presenceNodeAlive(String nodeId) {
+        return new WebSocketMessage("PRESENCE_NODE_ALIVE", new MessagePayloads.PresenceNode(nodeId));
+    }
+
+    public static WebSocketMessage presenceSyncRequest(String nodeId) {
+        return new WebSocketMessage("PRESENCE_SYNC_REQUEST", new MessagePayloads.PresenceNode(nodeId));
+    }
+
+    public static WebSocketMessage unreadCount(long count) {
+        return new WebSocketMessage("UNREAD_COUNT", new MessagePayloads.UnreadCount(count));
+    }
+
+    public static WebSocketMessage unreadCountDelta(long delta, long seq) {
+        return new WebSocketMessage("UNREAD_COUNT_DELTA", new MessagePayloads.UnreadCountDelta(delta, seq));
+    }
+
+    // 팀 멤버십 변경 (노드 간 멤버십 인덱스 무효화용, 클라이언트에는 보내지 않음)
+    public static WebSocketMessage teamMembershipChanged() {
+        return new WebSocketMessage("TEAM_MEMBERSHIP_CHANGED", null);
+    }
+
+    // 버스 수신 공백 (수신 노드 내부에서만 생성, 노드 캐시 비우기와 클라이언트 재동기화 요청용)
+    public static WebSocketMessage realtimeBusGap() {
+        return new WebSocketMessage("REALTIME_BUS_GAP", null);
+    }
+
+    public static WebSocketMessage notificationsRead(String requestId, int updated, long unreadCount) {
+        return new WebSocketMessage("NOTIFICATIONS_READ", new MessagePayloads.NotificationsRead(requestId, updated, unreadCount));
+    }
+
     public static WebSocketMessage notification(Map<String, Object> notificationData) {
         return new WebSocketMessage("NOTIFICATION", notificationData);
     }
@@ -44,6 +118,15 @@ public class WebSocketMessage {
         return new WebSocketMessage("ERROR", Map.of("message", errorMessage));
     }
 
+    // 스트림 순번이 붙은 사본 생성 (원본은 여러 노드/팀이 공유할 수 있으므로 변경하지 않음)
+    public WebSocketMessage withSequence(String streamId, long seq) {
+        WebSocketMessage copy = new WebSocketMessage(type, data);
+        copy.timestamp = this.timestamp;
+        copy.streamId = streamId;
+        copy.seq = seq;
+        return copy;
+    }
+
     // Getters and Setters
     public String getType() {
         return type;
@@ -53,11 +136,11 @@ public class WebSocketMessage {
         this.type = type;
     }
 
-    public Map<String, Object> getData() {
+    public Object getData() {
         return data;
     }
 
-    public void setData(Map<String, Object> data) {
+    public void setData(Object data) {
         this.data = data;
     }
 
@@ -69,12 +152,29 @@ public class WebSocketMessage {
         this.timestamp = timestamp;
     }
 
+    public String getStreamId() {
+        return streamId;
+    }
+
+    public void setStreamId(String streamId) {
+        this.streamId = streamId;
+    }
+
+    public Long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(Long seq) {
+        this.seq = seq;
+    }
+
     @Override
     public String toString() {
         return "WebSocketMessage{" +
                 "type='" + type + '\'' +
                 ", data=" + data +
                 ", timestamp=" + timestamp +
+                (seq != null ? ", streamId='" + streamId + '\'' + ", seq=" + seq : "") +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+-- 기존 운영 DB의 알림 인덱스 교체 (schema.sql로 새로 만든 DB나 notifications-partitioning.sql을 적용한 DB에는 필요 없음)
+-- idx_notifications_user는 idx_notifications_user_created의 앞부분과 중복이고,
+-- idx_notifications_unread(user_id, is_read)는 읽지 않은 행만 담는 idx_notifications_user_unread로 대체된다.
+-- 대체 인덱스를 먼저 만든 뒤 이전 인덱스를 지우며, 운영 중인 테이블의 쓰기를 막지 않도록 모두 CONCURRENTLY로 실행한다.
+--
+-- CONCURRENTLY는 트랜잭션 안에서 실행할 수 없으므로 psql 기본(자동 커밋) 모드로 파일을 실행한다:
+--   psql "$DATABASE_URL" -f backend/src/main/resources/db/notifications-indexes.sql
+--   docker compose exec -T postgres psql -U fluttertodo -d fluttertodo < backend/src/main/resources/db/notifications-indexes.sql
+-- 중간에 실패해 INVALID 인덱스가 남았으면 해당 인덱스를 DROP INDEX CONCURRENTLY로 지우고 다시 실행한다.
+-- 모든 문장이 IF [NOT] EXISTS이므로 여러 번 실행해도 된다.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notifications_user_created
+    ON notifications(user_id, created_at DESC, id DESC);                  -- 알림 피드 키셋 페이지네이션
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notifications_user_unread
+    ON notifications(user_id, created_at DESC) WHERE is_read = false;     -- 읽지 않은 알림
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notifications_read_created
+    ON notifications(created_at) WHERE is_read = true;                    -- 보존 기간 정리
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_notifications_user;
+DROP INDEX CONCURRENTLY IF EXISTS idx_notifications_unread;
@@ -0,0 +1,71 @@
+-- notifications 테이블을 created_at 기준 월별 파티션 테이블로 전환 (한 번만 수동 실행, 쓰기가 적은 시간에 실행)
+-- 적용 후 notification.partitioning.enabled=true로 설정하면 NotificationRetentionService가
+-- 앞으로 쓸 파티션을 미리 만들고, drop-after-months보다 오래된 파티션을 DROP TABLE로 지운다.
+-- 파티션 키가 기본 키에 포함되어야 하므로 기본 키는 (id, created_at)이 된다 (JPA 매핑은 id 그대로 사용).
+-- DEFAULT 파티션은 만들지 않는다 (DEFAULT에 행이 있으면 같은 범위의 새 파티션을 만들 수 없음).
+-- schema.sql을 먼저 적용한 뒤 실행한다 (last_event_at 등 이후에 추가된 컬럼을 그대로 옮김).
+
+BEGIN;
+
+ALTER TABLE notifications RENAME TO notifications_legacy;
+ALTER TABLE notifications_legacy RENAME CONSTRAINT notifications_pkey TO notifications_legacy_pkey;
+DROP INDEX IF EXISTS idx_notifications_user;
+DROP INDEX IF EXISTS idx_notifications_unread;
+DROP INDEX IF EXISTS idx_notifications_user_created;
+DROP INDEX IF EXISTS idx_notifications_user_unread;
+DROP INDEX IF EXISTS idx_notifications_read_created;
+
+CREATE TABLE notifications (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    task_id UUID REFERENCES todo_tasks(id) ON DELETE CASCADE,
+    type VARCHAR(50) NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    message TEXT,
+    data JSONB,
+    is_read BOOLEAN NOT NULL DEFAULT FALSE,
+    aggregate_count INT NOT NULL DEFAULT 1,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_event_at TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- 기존 데이터의 가장 오래된 달부터 두 달 뒤까지 월 파티션 생성 (notifications_pYYYYMM)
+DO $$
+DECLARE
+    m DATE := date_trunc('month', COALESCE((SELECT MIN(created_at) FROM notifications_legacy), now()));
+    last_month DATE := date_trunc('month', now()) + INTERVAL '2 months';
+BEGIN
+    WHILE m <= last_month LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF notifications FOR VALUES FROM (%L) TO (%L)',
+                       'notifications_p' || to_char(m, 'YYYYMM'), m, (m + INTERVAL '1 month')::date);
+        m := (m + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+-- 부모 테이블에 만든 인덱스는 모든 파티션(이후 생성되는 파티션 포함)에 자동으로 만들어진다
+CREATE INDEX idx_notifications_user_created ON notifications(user_id, created_at DESC, id DESC);
+CREATE INDEX idx_notifications_user_unread ON notifications(user_id, created_at DESC) WHERE is_read = false;
+CREATE INDEX idx_notifications_read_created ON notifications(created_at) WHERE is_read = true;
+
+-- 받는 사람이 없는 알림(user_id IS NULL, 이전 스키마에서 허용)은 새 테이블에 넣을 수 없으므로
+-- notifications_without_user로 옮겨 두고 건수를 출력한다 (확인 후 직접 삭제)
+CREATE TABLE notifications_without_user AS
+SELECT * FROM notifications_legacy WHERE user_id IS NULL;
+
+DO $$
+DECLARE
+    orphaned BIGINT := (SELECT COUNT(*) FROM notifications_without_user);
+BEGIN
+    RAISE NOTICE '받는 사람이 없는 알림 % 건을 notifications_without_user로 옮겼습니다', orphaned;
+END $$;
+
+INSERT INTO notifications (id, user_id, task_id, type, title, message, data, is_read, aggregate_count, created_at, last_event_at)
+SELECT id, user_id, task_id, type, title, message, data, COALESCE(is_read, false), aggregate_count, COALESCE(created_at, now()),
+       COALESCE(last_event_at, created_at, now())
+FROM notifications_legacy
+WHERE user_id IS NOT NULL;
+
+DROP TABLE notifications_legacy;
+
+COMMIT;
@@ -0,0 +1,21 @@
+-- 팀 태스크 조건 조회(GET /api/tasks/team/{teamId}/query)용 복합 인덱스
+-- 정렬마다 (team_id, [필터 컬럼,] 정렬 키, id) 순서라서 키셋 조건과 ORDER BY를 인덱스 순서대로 읽고 LIMIT에서 멈춘다.
+-- 운영 중인 테이블을 잠그지 않도록 CONCURRENTLY로 만든다 (트랜잭션 밖에서 한 문장씩 실행).
+-- 새 DB는 schema.sql에 아래 인덱스가 모두 있으므로 필요 없다 (인덱스 정의는 두 파일을 같이 고칠 것).
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todo_tasks_team_created
+    ON todo_tasks(team_id, created_at DESC, id DESC);                      -- 기본 보드 (최신순)
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todo_tasks_team_status_created
+    ON todo_tasks(team_id, status, created_at DESC, id DESC);              -- 상태 필터 + 최신순
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todo_tasks_team_assignee_created
+    ON todo_tasks(team_id, assignee_id, created_at DESC, id DESC);         -- 담당자 필터 + 최신순
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todo_tasks_team_deadline
+    ON todo_tasks(team_id, deadline, id) WHERE deadline IS NOT NULL;       -- 마감일순, 마감일 범위 필터
+
+-- 마감 임박 알림 스케줄러가 기동 시 한 번 읽는 미완료 태스크의 마감일 순서 (DeadlineReminderService)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todo_tasks_pending_deadline
+    ON todo_tasks(deadline, id)
+    WHERE deadline IS NOT NULL AND status NOT IN ('COMPLETED', 'CANCELLED');
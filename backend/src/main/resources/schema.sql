@@ -6,9 +6,30 @@ CREATE TABLE IF NOT EXISTS users (
     email VARCHAR(255) UNIQUE NOT NULL,
     password VARCHAR(255) NOT NULL,
     name VARCHAR(100) NOT NULL,
+    unread_seq BIGINT NOT NULL DEFAULT 0,   -- 읽지 않은 알림 수 변경 스탬프 (캐시와 증감분의 순서 판단)
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
+ALTER TABLE users ADD COLUMN IF NOT EXISTS unread_seq BIGINT NOT NULL DEFAULT 0;
+
+-- Teams 테이블
+CREATE TABLE IF NOT EXISTS teams (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    name VARCHAR(100) NOT NULL,
+    description TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Team Memberships 테이블 (팀별 멤버와 역할)
+CREATE TABLE IF NOT EXISTS team_memberships (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    team_id UUID NOT NULL REFERENCES teams(id),
+    user_id UUID NOT NULL REFERENCES users(id),
+    role VARCHAR(255) NOT NULL,             -- ADMIN, MEMBER
+    joined_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE (team_id, user_id)
+);
 
 -- TodoTasks 테이블 (TaskModel 기반)
 CREATE TABLE IF NOT EXISTS todo_tasks (
@@ -19,9 +40,17 @@ CREATE TABLE IF NOT EXISTS todo_tasks (
     assignee_id UUID REFERENCES users(id) ON DELETE CASCADE,   -- 할당받은 사람
     status VARCHAR(50) DEFAULT 'PENDING',   -- PENDING, IN_PROGRESS, COMPLETED, CANCELLED
     deadline TIMESTAMP,
+    deadline_reminded_minutes INT,          -- 현재 마감일에 대해 이미 보낸 가장 짧은 마감 임박 알림 리드 타임 (분)
+    team_id UUID REFERENCES teams(id),      -- 소속 팀
+    completion_note TEXT,
+    completed_at TIMESTAMP,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
+ALTER TABLE todo_tasks ADD COLUMN IF NOT EXISTS deadline_reminded_minutes INT;
+ALTER TABLE todo_tasks ADD COLUMN IF NOT EXISTS team_id UUID REFERENCES teams(id);
+ALTER TABLE todo_tasks ADD COLUMN IF NOT EXISTS completion_note TEXT;
+ALTER TABLE todo_tasks ADD COLUMN IF NOT EXISTS completed_at TIMESTAMP;
 
 -- Notifications 테이블 (알림 시스템)
 CREATE TABLE IF NOT EXISTS notifications (
@@ -32,8 +61,12 @@ CREATE TABLE IF NOT EXISTS notifications (
     title VARCHAR(255) NOT NULL,
     message TEXT,
     is_read BOOLEAN DEFAULT FALSE,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    aggregate_count INT NOT NULL DEFAULT 1, -- 합쳐진 이벤트 수 (같은 태스크의 읽지 않은 상태 변경 알림 집계)
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    last_event_at TIMESTAMP                 -- 마지막으로 합쳐진 이벤트 시각 (created_at은 집계되어도 그대로)
 );
+ALTER TABLE notifications ADD COLUMN IF NOT EXISTS aggregate_count INT NOT NULL DEFAULT 1;
+ALTER TABLE notifications ADD COLUMN IF NOT EXISTS last_event_at TIMESTAMP;
 
 -- Task History 테이블 (상태 변경 추적)
 CREATE TABLE IF NOT EXISTS task_history (
@@ -46,12 +79,45 @@ CREATE TABLE IF NOT EXISTS task_history (
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Outbox Events 테이블 (커밋 이후 WebSocket 전송 대기 이벤트)
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    target_type VARCHAR(10) NOT NULL,       -- USER, TEAM
+    target_id VARCHAR(64) NOT NULL,         -- userId 또는 teamId
+    message_type VARCHAR(50) NOT NULL,      -- TASK_ASSIGNED, TEAM_TASK_UPDATE 등
+    payload JSONB,
+    dedup_key VARCHAR(200),                 -- 같은 키의 미전송 이벤트는 마지막 것만 전송
+    attempts INT NOT NULL DEFAULT 0,
+    seq BIGSERIAL,                          -- 릴레이 순서 (DB 시퀀스가 부여, 노드 시계와 무관)
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS seq BIGSERIAL;
+
+-- 실시간 버스 참조 이벤트 테이블 (NOTIFY 한도를 넘는 이벤트 본문, PostgresRealtimeBus가 보관 시간 후 삭제)
+CREATE TABLE IF NOT EXISTS realtime_bus_payloads (
+    id UUID PRIMARY KEY,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
 -- 인덱스 생성 (성능 최적화)
 CREATE INDEX IF NOT EXISTS idx_users_email ON users(email);
 CREATE INDEX IF NOT EXISTS idx_todo_tasks_requester ON todo_tasks(requester_id);
 CREATE INDEX IF NOT EXISTS idx_todo_tasks_assignee ON todo_tasks(assignee_id);
 CREATE INDEX IF NOT EXISTS idx_todo_tasks_status ON todo_tasks(status);
-CREATE INDEX IF NOT EXISTS idx_notifications_user ON notifications(user_id);
-CREATE INDEX IF NOT EXISTS idx_notifications_unread ON notifications(user_id, is_read);
+-- 팀 태스크 조건 조회 키셋 인덱스 (기존 운영 DB는 db/todo-task-indexes.sql로 CONCURRENTLY 생성, 두 파일을 같이 고칠 것)
+CREATE INDEX IF NOT EXISTS idx_todo_tasks_team_created ON todo_tasks(team_id, created_at DESC, id DESC); -- 기본 보드 (최신순)
+CREATE INDEX IF NOT EXISTS idx_todo_tasks_team_status_created ON todo_tasks(team_id, status, created_at DESC, id DESC); -- 상태 필터 + 최신순
+CREATE INDEX IF NOT EXISTS idx_todo_tasks_team_assignee_created ON todo_tasks(team_id, assignee_id, created_at DESC, id DESC); -- 담당자 필터 + 최신순
+CREATE INDEX IF NOT EXISTS idx_todo_tasks_team_deadline ON todo_tasks(team_id, deadline, id) WHERE deadline IS NOT NULL; -- 마감일순, 마감일 범위 필터
+CREATE INDEX IF NOT EXISTS idx_todo_tasks_pending_deadline ON todo_tasks(deadline, id) WHERE deadline IS NOT NULL AND status NOT IN ('COMPLETED', 'CANCELLED'); -- 마감 임박 알림 기동 시 적재 (DeadlineReminderService)
+CREATE INDEX IF NOT EXISTS idx_notifications_user_created ON notifications(user_id, created_at DESC, id DESC); -- 알림 피드 키셋 페이지네이션
+CREATE INDEX IF NOT EXISTS idx_notifications_user_unread ON notifications(user_id, created_at DESC) WHERE is_read = false; -- 읽지 않은 알림 (읽은 알림이 쌓여도 크기 일정)
+CREATE INDEX IF NOT EXISTS idx_notifications_read_created ON notifications(created_at) WHERE is_read = true; -- 보존 기간 정리
+-- 기존 DB의 이전 알림 인덱스(idx_notifications_user, idx_notifications_unread) 교체는 db/notifications-indexes.sql로 따로 실행
 CREATE INDEX IF NOT EXISTS idx_task_history_task ON task_history(task_id);
-CREATE INDEX IF NOT EXISTS idx_task_history_user ON task_history(user_id);
\ No newline at end of file
+CREATE INDEX IF NOT EXISTS idx_task_history_user ON task_history(user_id);
+CREATE INDEX IF NOT EXISTS idx_outbox_events_seq ON outbox_events(seq); -- 릴레이 순서
+DROP INDEX IF EXISTS idx_outbox_events_created; -- 이전 릴레이 순서 (미전송 행만 있는 작은 테이블이라 바로 지움)
+CREATE INDEX IF NOT EXISTS idx_outbox_events_dedup ON outbox_events(dedup_key) WHERE dedup_key IS NOT NULL; -- 같은 키의 이전/이후 이벤트 확인 (OutboxRelay)
+CREATE INDEX IF NOT EXISTS idx_realtime_bus_payloads_created ON realtime_bus_payloads(created_at);
\ No newline at end of file
@@ -0,0 +1,326 @@
+package com.ohange.todoserver.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ohange.todoserver.entity.Notification;
+import com.ohange.todoserver.entity.Team;
+import com.ohange.todoserver.entity.TodoTask;
+import com.ohange.todoserver.entity.User;
+import com.ohange.todoserver.repository.NotificationRepository;
+import com.ohange.todoserver.websocket.MessageCodec;
+import com.ohange.todoserver.websocket.TaskHandshakeInterceptor;
+import com.ohange.todoserver.websocket.TaskWebSocketHandler;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 여러 알림 읽음 처리를 REST(PUT /api/notifications/my/read)와 WebSocket(MARK_READ) 양쪽에서 검증
+// 알림 생성 시각을 두 개씩 겹치게 해 upToId 기준 (createdAt, id) 비교가 id로 갈리는 경계를 만든다.
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:notificationread;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;INIT=CREATE DOMAIN IF NOT EXISTS JSONB AS JSON",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.sql.init.mode=never",
+		"realtime.bus.type=memory",
+		"outbox.relay.poll-interval-ms=3600000",
+		"notification.unread.reconcile-interval-ms=3600000",
+		"notification.deadline.enabled=false"
+})
+@AutoConfigureMockMvc
+class NotificationReadTests {
+
+	private static final int ALICE_NOTIFICATIONS = 8;
+	private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private TaskWebSocketHandler webSocketHandler;
+
+	@Autowired
+	private NotificationRepository notificationRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private UUID alice;
+	private UUID bob;
+
+	// 생성 순서대로 (두 개씩 같은 생성 시각)
+	private final List<Notification> aliceNotifications = new ArrayList<>();
+	private final List<Notification> bobNotifications = new ArrayList<>();
+
+	@BeforeEach
+	void seed() {
+		String suffix = UUID.randomUUID().toString();
+		transactionTemplate.executeWithoutResult(status -> {
+			Team team = new Team("read-team-" + suffix, null);
+			User aliceUser = new User("read-alice-" + suffix + "@example.com", "password", "alice");
+			User bobUser = new User("read-bob-" + suffix + "@example.com", "password", "bob");
+			entityManager.persist(team);
+			entityManager.persist(aliceUser);
+			entityManager.persist(bobUser);
+			TodoTask task = new TodoTask("read-task", null, aliceUser, bobUser, team, null);
+			entityManager.persist(task);
+
+			for (int i = 0; i < ALICE_NOTIFICATIONS; i++) {
+				aliceNotifications.add(persist(aliceUser, task, i, BASE.plusMinutes(i / 2)));
+			}
+			for (int i = 0; i < 2; i++) {
+				bobNotifications.add(persist(bobUser, task, i, BASE.plusMinutes(i)));
+			}
+			alice = aliceUser.getId();
+			bob = bobUser.getId();
+		});
+	}
+
+	@Test
+	void restMarksOnlyOwnUnreadIdsAndReturnsCounts() throws Exception {
+		UUID first = aliceNotifications.get(0).getId();
+		UUID second = aliceNotifications.get(1).getId();
+		List<UUID> ids = List.of(first, second, first, bobNotifications.get(0).getId(), UUID.randomUUID());
+
+		mockMvc.perform(put("/api/notifications/my/read").contentType(MediaType.APPLICATION_JSON).content(byIds(alice, ids)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.updated").value(2))
+				.andExpect(jsonPath("$.unreadCount").value(ALICE_NOTIFICATIONS - 2));
+
+		assertThat(isRead(first)).isTrue();
+		assertThat(isRead(second)).isTrue();
+		assertThat(isRead(bobNotifications.get(0).getId())).isFalse();
+
+		// 이미 읽은 알림은 다시 세지 않음
+		mockMvc.perform(put("/api/notifications/my/read").contentType(MediaType.APPLICATION_JSON).content(byIds(alice, ids)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.updated").value(0))
+				.andExpect(jsonPath("$.unreadCount").value(ALICE_NOTIFICATIONS - 2));
+	}
+
+	@Test
+	void restUpToIdMarksMarkerAndEverythingBeforeItInFeedOrder() throws Exception {
+		// 생성 시각이 같은 쌍 중 하나를 기준으로 삼아, 같은 시각의 다른 알림은 id 비교로 갈리게 함
+		Notification marker = aliceNotifications.get(5);
+		List<UUID> expected = upTo(marker);
+
+		mockMvc.perform(put("/api/notifications/my/read").contentType(MediaType.APPLICATION_JSON)
+						.content(upToId(alice, marker.getId())))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.updated").value(expected.size()))
+				.andExpect(jsonPath("$.unreadCount").value(ALICE_NOTIFICATIONS - expected.size()));
+
+		for (Notification notification : aliceNotifications) {
+			assertThat(isRead(notification.getId())).as(notification.getTitle())
+					.isEqualTo(expected.contains(notification.getId()));
+		}
+		assertThat(isRead(bobNotifications.get(0).getId())).isFalse();
+		assertThat(isRead(bobNotifications.get(1).getId())).isFalse();
+	}
+
+	@Test
+	void restRejectsBadRequestsWithErrorText() throws Exception {
+		List<UUID> tooMany = new ArrayList<>();
+		for (int i = 0; i < 501; i++) {
+			tooMany.add(UUID.randomUUID());
+		}
+		mockMvc.perform(put("/api/notifications/my/read").contentType(MediaType.APPLICATION_JSON).content(byIds(alice, tooMany)))
+				.andExpect(status().isBadRequest())
+				.andExpect(content().string("한 번에 최대 500개까지 읽음 처리할 수 있습니다."));
+
+		// 다른 사용자의 알림을 기준으로 삼을 수 없음
+		mockMvc.perform(put("/api/notifications/my/read").contentType(MediaType.APPLICATION_JSON)
+						.content(upToId(alice, bobNotifications.get(1).getId())))
+				.andExpect(status().isBadRequest())
+				.andExpect(content().string("알림을 찾을 수 없습니다."));
+
+		mockMvc.perform(put("/api/notifications/my/read").contentType(MediaType.APPLICATION_JSON).content(json(Map.of("userId", alice))))
+				.andExpect(status().isBadRequest())
+				.andExpect(content().string("notificationIds와 upToId 중 하나만 지정해야 합니다."));
+
+		assertThat(aliceNotifications).noneMatch(notification -> isRead(notification.getId()));
+	}
+
+	@Test
+	void restAcceptsExactlyTheIdCap() throws Exception {
+		List<UUID> ids = new ArrayList<>();
+		ids.add(aliceNotifications.get(0).getId());
+		while (ids.size() < 500) {
+			ids.add(UUID.randomUUID());
+		}
+
+		mockMvc.perform(put("/api/notifications/my/read").contentType(MediaType.APPLICATION_JSON).content(byIds(alice, ids)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.updated").value(1));
+	}
+
+	@Test
+	void webSocketMarkReadByIdsRepliesToRequestingSession() throws Exception {
+		StubSession session = connect(alice);
+
+		send(session, Map.of("type", "MARK_READ", "requestId", "r-1", "notificationIds",
+				List.of(aliceNotifications.get(0).getId(), bobNotifications.get(0).getId())));
+
+		JsonNode reply = session.await("NOTIFICATIONS_READ").path("data");
+		assertThat(reply.path("requestId").asText()).isEqualTo("r-1");
+		assertThat(reply.path("updated").asInt()).isEqualTo(1);
+		assertThat(reply.path("unreadCount").asLong()).isEqualTo(ALICE_NOTIFICATIONS - 1);
+		assertThat(isRead(bobNotifications.get(0).getId())).isFalse();
+	}
+
+	@Test
+	void webSocketMarkReadUpToIdMatchesFeedOrder() throws Exception {
+		StubSession session = connect(alice);
+		Notification marker = aliceNotifications.get(2);
+		List<UUID> expected = upTo(marker);
+
+		send(session, Map.of("type", "MARK_READ", "requestId", "r-2", "upToId", marker.getId()));
+
+		JsonNode reply = session.await("NOTIFICATIONS_READ").path("data");
+		assertThat(reply.path("updated").asInt()).isEqualTo(expected.size());
+		assertThat(reply.path("unreadCount").asLong()).isEqualTo(ALICE_NOTIFICATIONS - expected.size());
+		for (Notification notification : aliceNotifications) {
+			assertThat(isRead(notification.getId())).isEqualTo(expected.contains(notification.getId()));
+		}
+	}
+
+	@Test
+	void webSocketMarkReadRejectsBadRequestsWithError() throws Exception {
+		StubSession session = connect(alice);
+		List<UUID> tooMany = new ArrayList<>();
+		for (int i = 0; i < 501; i++) {
+			tooMany.add(UUID.randomUUID());
+		}
+
+		send(session, Map.of("type", "MARK_READ", "requestId", "r-3", "notificationIds", tooMany));
+		assertThat(session.await("ERROR").path("data").path("message").asText())
+				.isEqualTo("한 번에 최대 500개까지 읽음 처리할 수 있습니다.");
+
+		send(session, Map.of("type", "MARK_READ", "requestId", "r-4", "upToId", bobNotifications.get(0).getId()));
+		session.awaitCount("ERROR", 2);
+		assertThat(session.frames("ERROR").get(1).path("data").path("message").asText()).isEqualTo("알림을 찾을 수 없습니다.");
+
+		assertThat(session.frames("NOTIFICATIONS_READ")).isEmpty();
+		assertThat(aliceNotifications).noneMatch(notification -> isRead(notification.getId()));
+	}
+
+	private Notification persist(User user, TodoTask task, int index, LocalDateTime createdAt) {
+		Notification notification = new Notification(user, task, Notification.NotificationType.TASK_ASSIGNED,
+				"title-" + index, "message-" + index, Map.of());
+		entityManager.persist(notification);
+		entityManager.flush();
+		entityManager.createNativeQuery("UPDATE notifications SET created_at = :createdAt WHERE id = :id")
+				.setParameter("createdAt", createdAt)
+				.setParameter("id", notification.getId())
+				.executeUpdate();
+		notification.setCreatedAt(createdAt);
+		return notification;
+	}
+
+	// 피드 정렬 (createdAt, id)에서 기준 알림 이하인 alice의 알림 (UUID 문자열 비교 = DB의 uuid 바이트 비교)
+	private List<UUID> upTo(Notification marker) {
+		List<UUID> ids = new ArrayList<>();
+		for (Notification notification : aliceNotifications) {
+			int byTime = notification.getCreatedAt().compareTo(marker.getCreatedAt());
+			if (byTime < 0 || (byTime == 0 && notification.getId().toString().compareTo(marker.getId().toString()) <= 0)) {
+				ids.add(notification.getId());
+			}
+		}
+		return ids;
+	}
+
+	private boolean isRead(UUID notificationId) {
+		return notificationRepository.findById(notificationId).orElseThrow().getIsRead();
+	}
+
+	private static String byIds(UUID userId, List<UUID> ids) throws Exception {
+		return json(Map.of("userId", userId, "notificationIds", ids));
+	}
+
+	private static String upToId(UUID userId, UUID markerId) throws Exception {
+		return json(Map.of("userId", userId, "upToId", markerId));
+	}
+
+	private static String json(Map<String, ?> body) throws Exception {
+		return MessageCodec.mapper().writeValueAsString(new LinkedHashMap<>(body));
+	}
+
+	private void send(StubSession stub, Map<String, ?> frame) throws Exception {
+		webSocketHandler.handleTextMessage(stub.session, new TextMessage(json(frame)));
+	}
+
+	private StubSession connect(UUID userId) throws Exception {
+		StubSession stub = new StubSession();
+		Map<String, Object> attributes = new HashMap<>();
+		attributes.put(TaskHandshakeInterceptor.ATTR_USER_ID, userId.toString());
+
+		when(stub.session.getId()).thenReturn(UUID.randomUUID().toString());
+		when(stub.session.isOpen()).thenReturn(true);
+		when(stub.session.getAttributes()).thenReturn(attributes);
+		// 하트비트 ping 같은 제어 프레임은 기록하지 않음 (TextMessage로 캐스팅하면 전송 실패로 세션이 닫힘)
+		doAnswer(invocation -> {
+			if (invocation.getArgument(0) instanceof TextMessage message) {
+				stub.frames.add(MessageCodec.mapper().readTree(message.getPayload()));
+			}
+			return null;
+		}).when(stub.session).sendMessage(any());
+
+		webSocketHandler.afterConnectionEstablished(stub.session);
+		stub.await("CONNECTION_SUCCESS");
+		return stub;
+	}
+
+	// 보낸 프레임을 기록하는 세션 (전송은 송신 스레드에서 비동기로 일어나므로 기다려서 확인)
+	private static class StubSession {
+		private final WebSocketSession session = mock(WebSocketSession.class);
+		private final List<JsonNode> frames = new CopyOnWriteArrayList<>();
+
+		List<JsonNode> frames(String type) {
+			return frames.stream().filter(frame -> type.equals(frame.path("type").asText())).toList();
+		}
+
+		JsonNode await(String type) throws InterruptedException {
+			awaitCount(type, 1);
+			return frames(type).get(0);
+		}
+
+		void awaitCount(String type, int expected) throws InterruptedException {
+			long deadline = System.currentTimeMillis() + 5000;
+			while (frames(type).size() < expected && System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+			assertThat(frames(type)).hasSize(expected);
+		}
+	}
+}
@@ -0,0 +1,176 @@
+package com.ohange.todoserver.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ohange.todoserver.entity.Notification;
+import com.ohange.todoserver.entity.TaskHistory;
+import com.ohange.todoserver.entity.Team;
+import com.ohange.todoserver.entity.TeamMembership;
+import com.ohange.todoserver.entity.TodoTask;
+import com.ohange.todoserver.entity.User;
+import com.ohange.todoserver.websocket.MessageCodec;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// NDJSON 스트리밍 엔드포인트 검증
+// 응답이 한 줄에 JSON 객체 하나씩 모든 행을 담는지, 권한이 없으면 본문을 시작하기 전에 400인지,
+// 동시 스트림 한도(여기서는 1)를 넘은 요청이 503이고 끝난 스트림의 슬롯은 반납되는지 확인한다.
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:streaming;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;INIT=CREATE DOMAIN IF NOT EXISTS JSONB AS JSON",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.sql.init.mode=never",
+		"realtime.bus.type=memory",
+		"outbox.relay.poll-interval-ms=3600000",
+		"notification.unread.reconcile-interval-ms=3600000",
+		"notification.deadline.enabled=false",
+		"streaming.max-concurrent=1"
+})
+@AutoConfigureMockMvc
+class StreamingEndpointTests {
+
+	private static final int TASKS = 5;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private StreamingLimiter streamingLimiter;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private UUID teamId;
+	private UUID memberId;
+	private UUID outsiderId;
+	private final Set<String> taskIds = new HashSet<>();
+	private final Set<String> historyIds = new HashSet<>();
+	private final Set<String> notificationIds = new HashSet<>();
+
+	@BeforeEach
+	void seed() {
+		String suffix = UUID.randomUUID().toString();
+		transactionTemplate.executeWithoutResult(status -> {
+			Team team = new Team("stream-team-" + suffix, null);
+			User member = new User("stream-member-" + suffix + "@example.com", "password", "member");
+			User outsider = new User("stream-outsider-" + suffix + "@example.com", "password", "outsider");
+			entityManager.persist(team);
+			entityManager.persist(member);
+			entityManager.persist(outsider);
+			entityManager.persist(new TeamMembership(team, member, TeamMembership.Role.ADMIN));
+
+			for (int i = 0; i < TASKS; i++) {
+				TodoTask task = new TodoTask("stream-task-" + i, null, member, member, team, null);
+				entityManager.persist(task);
+				TaskHistory history = new TaskHistory(task, member, TaskHistory.ActionType.CREATED, null, null, null);
+				entityManager.persist(history);
+				Notification notification = new Notification(member, task, Notification.NotificationType.TASK_ASSIGNED,
+						"title-" + i, "message-" + i, Map.of());
+				entityManager.persist(notification);
+				taskIds.add(task.getId().toString());
+				historyIds.add(history.getId().toString());
+				notificationIds.add(notification.getId().toString());
+			}
+
+			teamId = team.getId();
+			memberId = member.getId();
+			outsiderId = outsider.getId();
+		});
+	}
+
+	@Test
+	void teamTaskStreamWritesOneTaskPerLine() throws Exception {
+		List<JsonNode> lines = stream("/api/tasks/team/" + teamId + "/stream?userId=" + memberId);
+
+		assertThat(lines).extracting(line -> line.path("id").asText()).containsExactlyInAnyOrderElementsOf(taskIds);
+	}
+
+	@Test
+	void teamHistoryStreamWritesOneHistoryPerLine() throws Exception {
+		List<JsonNode> lines = stream("/api/tasks/team/" + teamId + "/history/stream?userId=" + memberId);
+
+		assertThat(lines).extracting(line -> line.path("id").asText()).containsExactlyInAnyOrderElementsOf(historyIds);
+	}
+
+	@Test
+	void notificationStreamWritesOneNotificationPerLine() throws Exception {
+		List<JsonNode> lines = stream("/api/notifications/my/stream?userId=" + memberId);
+
+		assertThat(lines).extracting(line -> line.path("id").asText()).containsExactlyInAnyOrderElementsOf(notificationIds);
+	}
+
+	@Test
+	void nonMemberIsRejectedBeforeStreamStarts() throws Exception {
+		for (String path : List.of("/api/tasks/team/" + teamId + "/stream", "/api/tasks/team/" + teamId + "/history/stream")) {
+			mockMvc.perform(get(path).param("userId", outsiderId.toString()))
+					.andExpect(request().asyncNotStarted())
+					.andExpect(status().isBadRequest())
+					.andExpect(content().string(""));
+		}
+		assertThat(streamingLimiter.getActiveCount()).isZero();
+	}
+
+	@Test
+	void streamOverLimitIsRejectedAndSlotIsReturnedWhenStreamEnds() throws Exception {
+		MvcResult first = mockMvc.perform(get("/api/tasks/team/" + teamId + "/stream").param("userId", memberId.toString()))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		assertThat(streamingLimiter.getActiveCount()).isEqualTo(1);
+
+		mockMvc.perform(get("/api/notifications/my/stream").param("userId", memberId.toString()))
+				.andExpect(request().asyncNotStarted())
+				.andExpect(status().isServiceUnavailable());
+
+		mockMvc.perform(asyncDispatch(first)).andExpect(status().isOk());
+		assertThat(streamingLimiter.getActiveCount()).isZero();
+
+		assertThat(stream("/api/notifications/my/stream?userId=" + memberId)).hasSize(TASKS);
+	}
+
+	// 스트리밍 요청을 끝까지 받아 줄 단위 JSON 객체로 돌려줌
+	private List<JsonNode> stream(String url) throws Exception {
+		MvcResult started = mockMvc.perform(get(url))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		MvcResult result = mockMvc.perform(asyncDispatch(started))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType("application/x-ndjson"))
+				.andReturn();
+
+		String body = result.getResponse().getContentAsString();
+		assertThat(body).endsWith("\n");
+		List<JsonNode> lines = new ArrayList<>();
+		for (String line : body.split("\n")) {
+			JsonNode node = MessageCodec.mapper().readTree(line);
+			assertThat(node.isObject()).as(line).isTrue();
+			lines.add(node);
+		}
+		return lines;
+	}
+}
@@ -0,0 +1,255 @@
+package com.ohange.todoserver.service;
+
+import com.ohange.todoserver.entity.Team;
+import com.ohange.todoserver.entity.TodoTask;
+import com.ohange.todoserver.entity.User;
+import com.ohange.todoserver.repository.TodoTaskRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// 마감 임박 알림 발송(fire)과 재등록 검증
+// 각 노드는 같은 DB를 쓰는 별도의 DeadlineReminderService 인스턴스이고, 알림 발송은 목으로 기록한다.
+// 틱 스레드 대신 휠을 직접 원하는 시각까지 진행시키고, 만기된 타이머를 fire로 넘긴다.
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:deadlinereminder;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;INIT=CREATE DOMAIN IF NOT EXISTS JSONB AS JSON",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.sql.init.mode=never",
+		"realtime.bus.type=memory",
+		"outbox.relay.poll-interval-ms=3600000",
+		"notification.unread.reconcile-interval-ms=3600000",
+		"notification.deadline.enabled=false"
+})
+class DeadlineReminderServiceTests {
+
+	private static final long DAY_MS = 24 * 60 * 60_000L;
+
+	@Autowired
+	private TodoTaskRepository todoTaskRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private final RealtimeNotificationService notificationService = mock(RealtimeNotificationService.class);
+	private final List<DeadlineReminderService> nodes = new ArrayList<>();
+
+	private User requester;
+	private Team team;
+
+	@BeforeEach
+	void setUp() {
+		String suffix = UUID.randomUUID().toString();
+		transactionTemplate.executeWithoutResult(status -> {
+			team = new Team("deadline-team-" + suffix, null);
+			requester = new User("deadline-" + suffix + "@example.com", "password", "requester");
+			entityManager.persist(team);
+			entityManager.persist(requester);
+		});
+	}
+
+	@AfterEach
+	void tearDown() {
+		nodes.forEach(DeadlineReminderService::shutdown);
+	}
+
+	@Test
+	void fireSendsEachLeadTimeOnceAndSchedulesTheNext() {
+		DeadlineReminderService node = node();
+		TodoTask task = createTask(inDays(2));
+		node.scheduleAfterCommit(task);
+		assertThat(node.getPendingCount()).isEqualTo(1);
+
+		Object dayBefore = single(due(node, millis(task.getDeadline()) - DAY_MS), task.getId());
+		assertThat(leadOf(dayBefore)).isEqualTo(1440);
+		fire(node, dayBefore);
+
+		verify(notificationService).notifyTaskDeadlineNear(argThat(t -> t.getId().equals(task.getId())), eq(1440));
+		assertThat(remindedMinutes(task.getId())).isEqualTo(1440);
+		assertThat(node.getPendingCount()).isEqualTo(1);
+
+		Object hourBefore = single(due(node, millis(task.getDeadline())), task.getId());
+		assertThat(leadOf(hourBefore)).isEqualTo(60);
+		fire(node, hourBefore);
+
+		verify(notificationService).notifyTaskDeadlineNear(argThat(t -> t.getId().equals(task.getId())), eq(60));
+		assertThat(remindedMinutes(task.getId())).isEqualTo(60);
+		assertThat(node.getPendingCount()).isZero();
+	}
+
+	@Test
+	void sameReminderFiredOnTwoNodesIsSentOnce() {
+		DeadlineReminderService nodeA = node();
+		DeadlineReminderService nodeB = node();
+		TodoTask task = createTask(inDays(2));
+		nodeA.scheduleAfterCommit(task);
+		nodeB.scheduleAfterCommit(task);
+
+		long dayBefore = millis(task.getDeadline()) - DAY_MS;
+		fire(nodeA, single(due(nodeA, dayBefore), task.getId()));
+		fire(nodeB, single(due(nodeB, dayBefore), task.getId()));
+
+		verify(notificationService, times(1)).notifyTaskDeadlineNear(any(), eq(1440));
+		// 두 노드 모두 다음 리드 타임을 기다림
+		assertThat(leadOf(single(due(nodeA, millis(task.getDeadline())), task.getId()))).isEqualTo(60);
+		assertThat(leadOf(single(due(nodeB, millis(task.getDeadline())), task.getId()))).isEqualTo(60);
+	}
+
+	@Test
+	void deadlineMovedOnOtherNodeIsRescheduledInsteadOfSent() {
+		DeadlineReminderService node = node();
+		TodoTask task = createTask(inDays(2));
+		node.scheduleAfterCommit(task);
+
+		// 다른 노드가 마감일을 이틀 미룸 (이 노드의 타이머는 갱신되지 않음)
+		LocalDateTime moved = inDays(4);
+		update(task.getId(), current -> current.setDeadline(moved));
+
+		fire(node, single(due(node, millis(task.getDeadline()) - DAY_MS), task.getId()));
+
+		verify(notificationService, never()).notifyTaskDeadlineNear(any(), anyInt());
+		assertThat(node.getPendingCount()).isEqualTo(1);
+
+		Object rescheduled = single(due(node, millis(moved) - DAY_MS), task.getId());
+		assertThat(deadlineOf(rescheduled)).isEqualTo(millis(moved));
+		assertThat(leadOf(rescheduled)).isEqualTo(1440);
+		fire(node, rescheduled);
+
+		verify(notificationService).notifyTaskDeadlineNear(argThat(t -> t.getId().equals(task.getId())), eq(1440));
+	}
+
+	@Test
+	void taskCompletedOnOtherNodeIsDroppedAtFire() {
+		DeadlineReminderService node = node();
+		TodoTask task = createTask(inDays(2));
+		node.scheduleAfterCommit(task);
+
+		update(task.getId(), current -> current.setStatus(TodoTask.TodoTaskStatus.COMPLETED));
+		fire(node, single(due(node, millis(task.getDeadline()) - DAY_MS), task.getId()));
+
+		verify(notificationService, never()).notifyTaskDeadlineNear(any(), anyInt());
+		assertThat(node.getPendingCount()).isZero();
+	}
+
+	@Test
+	void loadingDoesNotOverwriteTimerRegisteredByCommitDuringLoad() {
+		DeadlineReminderService node = node();
+		TodoTask changed = createTask(inDays(2));
+		TodoTask untouched = createTask(inDays(2));
+
+		// 적재가 마감일을 읽은 뒤에 커밋된 변경: DB에서 읽은 값(이틀 뒤)보다 커밋된 값(사흘 뒤)이 최신
+		LocalDateTime committed = inDays(3);
+		changed.setDeadline(committed);
+		node.scheduleAfterCommit(changed);
+		ReflectionTestUtils.invokeMethod(node, "loadPendingDeadlines");
+
+		List<Object> dayBeforeLoaded = due(node, millis(untouched.getDeadline()) - DAY_MS);
+		assertThat(leadOf(single(dayBeforeLoaded, untouched.getId()))).isEqualTo(1440);
+		assertThat(dayBeforeLoaded).noneMatch(reminder -> changed.getId().equals(taskIdOf(reminder)));
+
+		Object reminder = single(due(node, millis(committed) - DAY_MS), changed.getId());
+		assertThat(deadlineOf(reminder)).isEqualTo(millis(committed));
+	}
+
+	// 같은 DB를 쓰는 노드 하나 (리드 타임 1일, 1시간)
+	private DeadlineReminderService node() {
+		DeadlineReminderService node = new DeadlineReminderService();
+		ReflectionTestUtils.setField(node, "todoTaskRepository", todoTaskRepository);
+		ReflectionTestUtils.setField(node, "notificationService", notificationService);
+		ReflectionTestUtils.setField(node, "transactionManager", transactionManager);
+		ReflectionTestUtils.setField(node, "enabled", true);
+		ReflectionTestUtils.setField(node, "leadTimesMinutes", "1440,60");
+		ReflectionTestUtils.setField(node, "tickMs", 60_000L);
+		ReflectionTestUtils.setField(node, "wheelSize", 64);
+		ReflectionTestUtils.setField(node, "workers", 1);
+		node.init();
+		nodes.add(node);
+		return node;
+	}
+
+	private TodoTask createTask(LocalDateTime deadline) {
+		return transactionTemplate.execute(status -> {
+			TodoTask task = new TodoTask("deadline-task", null, requester, requester, team, deadline);
+			entityManager.persist(task);
+			return task;
+		});
+	}
+
+	private void update(UUID taskId, Consumer<TodoTask> change) {
+		transactionTemplate.executeWithoutResult(status -> change.accept(entityManager.find(TodoTask.class, taskId)));
+	}
+
+	private Integer remindedMinutes(UUID taskId) {
+		return todoTaskRepository.findById(taskId).orElseThrow().getDeadlineRemindedMinutes();
+	}
+
+	// 휠을 주어진 시각까지 진행시키고 만기된 타이머를 꺼냄
+	@SuppressWarnings("unchecked")
+	private static List<Object> due(DeadlineReminderService node, long nowMillis) {
+		TimingWheel<UUID, Object> wheel = (TimingWheel<UUID, Object>) ReflectionTestUtils.getField(node, "wheel");
+		return wheel.advance(nowMillis);
+	}
+
+	private static void fire(DeadlineReminderService node, Object reminder) {
+		ReflectionTestUtils.invokeMethod(node, "fire", reminder);
+	}
+
+	private static Object single(List<Object> reminders, UUID taskId) {
+		List<Object> matching = reminders.stream().filter(reminder -> taskId.equals(taskIdOf(reminder))).toList();
+		assertThat(matching).hasSize(1);
+		return matching.get(0);
+	}
+
+	private static Object taskIdOf(Object reminder) {
+		return ReflectionTestUtils.getField(reminder, "taskId");
+	}
+
+	private static int leadOf(Object reminder) {
+		return (int) ReflectionTestUtils.getField(reminder, "leadMinutes");
+	}
+
+	private static long deadlineOf(Object reminder) {
+		return (long) ReflectionTestUtils.getField(reminder, "deadlineMillis");
+	}
+
+	private static LocalDateTime inDays(int days) {
+		return LocalDateTime.now().plusDays(days).truncatedTo(ChronoUnit.SECONDS);
+	}
+
+	private static long millis(LocalDateTime time) {
+		return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+	}
+}
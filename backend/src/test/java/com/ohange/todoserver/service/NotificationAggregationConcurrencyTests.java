@@ -0,0 +1,101 @@
+package com.ohange.todoserver.service;
+
+import com.ohange.todoserver.entity.Notification;
+import com.ohange.todoserver.entity.Team;
+import com.ohange.todoserver.entity.TeamMembership;
+import com.ohange.todoserver.entity.TodoTask;
+import com.ohange.todoserver.entity.User;
+import com.ohange.todoserver.repository.NotificationRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 같은 태스크의 상태 변경이 동시에 커밋돼도 받는 사람의 읽지 않은 상태 변경 알림이 한 행으로 합쳐지는지 검증
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:aggregation;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;INIT=CREATE DOMAIN IF NOT EXISTS JSONB AS JSON",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.sql.init.mode=never",
+		"realtime.bus.type=memory",
+		"outbox.relay.poll-interval-ms=3600000",
+		"notification.unread.reconcile-interval-ms=3600000",
+		"notification.deadline.enabled=false"
+})
+class NotificationAggregationConcurrencyTests {
+
+	private static final int CHANGES = 8;
+
+	@Autowired
+	private TodoTaskService todoTaskService;
+
+	@Autowired
+	private NotificationRepository notificationRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void concurrentStatusChangesAggregateIntoOneRow() throws Exception {
+		String suffix = UUID.randomUUID().toString();
+		UUID[] ids = transactionTemplate.execute(status -> {
+			Team team = new Team("aggregation-team-" + suffix, null);
+			User requester = new User("agg-requester-" + suffix + "@example.com", "password", "requester");
+			User assignee = new User("agg-assignee-" + suffix + "@example.com", "password", "assignee");
+			entityManager.persist(team);
+			entityManager.persist(requester);
+			entityManager.persist(assignee);
+			entityManager.persist(new TeamMembership(team, requester, TeamMembership.Role.ADMIN));
+			entityManager.persist(new TeamMembership(team, assignee, TeamMembership.Role.MEMBER));
+			return new UUID[]{team.getId(), requester.getId(), assignee.getId()};
+		});
+		UUID requesterId = ids[1];
+		UUID assigneeId = ids[2];
+		UUID taskId = todoTaskService.createAndAssignTask("aggregation", "content", requesterId, assigneeId, ids[0], null).getId();
+
+		// 요청자가 상태를 여러 번 동시에 바꿈 -> 모두 담당자에게 가는 상태 변경 알림
+		ExecutorService executor = Executors.newFixedThreadPool(CHANGES);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < CHANGES; i++) {
+			TodoTask.TodoTaskStatus next = i % 2 == 0 ? TodoTask.TodoTaskStatus.IN_PROGRESS : TodoTask.TodoTaskStatus.PENDING;
+			futures.add(executor.submit(() -> {
+				start.await();
+				todoTaskService.updateTaskStatus(taskId, requesterId, next);
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		executor.shutdown();
+
+		List<Notification> rows = transactionTemplate.execute(status ->
+				notificationRepository.findByUserIdAndIsReadFalseOrderByCreatedAtDesc(assigneeId).stream()
+						.filter(n -> n.getType() == Notification.NotificationType.TASK_STATUS_CHANGED)
+						.toList());
+
+		assertThat(rows).hasSize(1);
+		Notification aggregated = rows.get(0);
+		assertThat(aggregated.getAggregateCount()).isEqualTo(CHANGES);
+		assertThat(aggregated.getLastEventAt()).isAfter(aggregated.getCreatedAt());
+	}
+}
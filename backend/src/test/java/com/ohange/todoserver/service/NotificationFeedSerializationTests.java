@@ -0,0 +1,90 @@
+package com.ohange.todoserver.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ohange.todoserver.entity.Notification;
+import com.ohange.todoserver.entity.Team;
+import com.ohange.todoserver.entity.TodoTask;
+import com.ohange.todoserver.entity.User;
+import com.ohange.todoserver.repository.NotificationRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 알림 피드 페이지가 트랜잭션 밖에서 직렬화되고, 사용자/태스크 엔티티(비밀번호 포함)를 내보내지 않는지 검증
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:notificationfeed;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;INIT=CREATE DOMAIN IF NOT EXISTS JSONB AS JSON",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.sql.init.mode=never",
+		"realtime.bus.type=memory",
+		"outbox.relay.poll-interval-ms=3600000",
+		"notification.unread.reconcile-interval-ms=3600000"
+})
+class NotificationFeedSerializationTests {
+
+	@Autowired
+	private NotificationService notificationService;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void feedPageSerializesRowsWithoutEntities() throws Exception {
+		UUID[] ids = transactionTemplate.execute(status -> {
+			Team team = new Team("feed-team", null);
+			User user = new User("feed@example.com", "secret-password", "feed-user");
+			entityManager.persist(team);
+			entityManager.persist(user);
+			TodoTask task = new TodoTask("feed-task", null, user, user, team, null);
+			task.setStatus(TodoTask.TodoTaskStatus.PENDING);
+			entityManager.persist(task);
+			for (int i = 0; i < 3; i++) {
+				Notification notification = new Notification();
+				notification.setUser(user);
+				notification.setTask(task);
+				notification.setType(Notification.NotificationType.TASK_ASSIGNED);
+				notification.setTitle("title-" + i);
+				notification.setMessage("message-" + i);
+				notification.setData(Map.of("taskId", task.getId().toString()));
+				entityManager.persist(notification);
+			}
+			return new UUID[]{user.getId(), task.getId()};
+		});
+
+		CursorPage<NotificationRepository.FeedRow> first = notificationService.getFeed(ids[0], null, 2);
+		String json = objectMapper.writeValueAsString(first);
+		JsonNode page = objectMapper.readTree(json);
+
+		assertThat(json).doesNotContain("secret-password").doesNotContain("feed@example.com");
+		assertThat(page.path("items")).hasSize(2);
+		JsonNode item = page.path("items").get(0);
+		assertThat(item.path("taskId").asText()).isEqualTo(ids[1].toString());
+		assertThat(item.path("type").asText()).isEqualTo("TASK_ASSIGNED");
+		assertThat(item.path("data").path("taskId").asText()).isEqualTo(ids[1].toString());
+		assertThat(item.has("user")).isFalse();
+		assertThat(item.has("task")).isFalse();
+		assertThat(page.path("hasMore").asBoolean()).isTrue();
+
+		CursorPage<NotificationRepository.FeedRow> second = notificationService.getFeed(ids[0], first.getNextCursor(), 2);
+		JsonNode next = objectMapper.readTree(objectMapper.writeValueAsString(second));
+		assertThat(next.path("items")).hasSize(1);
+		assertThat(next.path("hasMore").asBoolean()).isFalse();
+	}
+}
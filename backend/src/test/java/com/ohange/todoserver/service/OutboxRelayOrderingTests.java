@@ -0,0 +1,214 @@
+package com.ohange.todoserver.service;
+
+import com.ohange.todoserver.entity.OutboxEvent;
+import com.ohange.todoserver.repository.OutboxEventRepository;
+import com.ohange.todoserver.websocket.BusEvent;
+import com.ohange.todoserver.websocket.MessageCodec;
+import com.ohange.todoserver.websocket.MessagePayloads;
+import com.ohange.todoserver.websocket.RealtimeBus;
+import com.ohange.todoserver.websocket.WebSocketMessage;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 같은 dedupKey의 이벤트를 다른 노드가 잡고 있을 때 오래된 이벤트가 새 이벤트보다 나중에 전송되지 않는지 검증
+// 다른 노드의 릴레이는 행을 FOR UPDATE로 잠근 별도 트랜잭션으로 흉내 낸다.
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:outboxrelay;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;INIT=CREATE DOMAIN IF NOT EXISTS JSONB AS JSON",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.sql.init.mode=never",
+		"realtime.bus.type=memory",
+		"outbox.relay.poll-interval-ms=3600000",
+		"notification.unread.reconcile-interval-ms=3600000"
+})
+class OutboxRelayOrderingTests {
+
+	@Autowired
+	private OutboxRelay outboxRelay;
+
+	@Autowired
+	private OutboxEventRepository outboxEventRepository;
+
+	@Autowired
+	private RealtimeBus realtimeBus;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private final List<BusEvent> published = new CopyOnWriteArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		outboxEventRepository.deleteAll();
+		published.clear();
+		realtimeBus.subscribe(event -> {
+			if ("TEAM_TASK_UPDATE".equals(event.getMessage().getType())) {
+				published.add(event);
+			}
+		});
+	}
+
+	@Test
+	void newerEventWaitsWhileOtherNodeHoldsOlderOne() throws Exception {
+		String key = "TEAM_TASK_UPDATE:" + UUID.randomUUID();
+		OutboxEvent older = insert(key, "PENDING");
+		OutboxEvent newer = insert(key, "IN_PROGRESS");
+
+		CountDownLatch locked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<Void> otherNode = holdLock(older.getId(), locked, release, true);
+		assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+		// 이전 이벤트가 다른 노드에 잡혀 있는 동안 새 이벤트는 보내지 않고 남겨 둠
+		relay();
+		assertThat(published).isEmpty();
+		assertThat(outboxEventRepository.existsById(newer.getId())).isTrue();
+
+		// 다른 노드가 이전 이벤트를 보내고 삭제한 뒤에 새 이벤트 전송
+		release.countDown();
+		otherNode.get(5, TimeUnit.SECONDS);
+		relay();
+
+		assertThat(published).extracting(this::statusOf).containsExactly("PENDING", "IN_PROGRESS");
+		assertThat(outboxEventRepository.count()).isZero();
+	}
+
+	@Test
+	void olderEventIsDroppedWhenNewerOneExistsElsewhere() throws Exception {
+		String key = "TEAM_TASK_UPDATE:" + UUID.randomUUID();
+		OutboxEvent older = insert(key, "PENDING");
+		OutboxEvent newer = insert(key, "IN_PROGRESS");
+
+		CountDownLatch locked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<Void> otherNode = holdLock(newer.getId(), locked, release, false);
+		assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+		// 새 이벤트가 다른 노드에 있으므로 이전 이벤트는 보내지 않고 삭제
+		relay();
+		assertThat(published).isEmpty();
+		assertThat(outboxEventRepository.existsById(older.getId())).isFalse();
+
+		release.countDown();
+		otherNode.get(5, TimeUnit.SECONDS);
+		relay();
+		assertThat(published).extracting(this::statusOf).containsExactly("IN_PROGRESS");
+	}
+
+	@Test
+	void newerEventWinsEvenWhenItsNodeClockIsBehind() {
+		String key = "TEAM_TASK_UPDATE:" + UUID.randomUUID();
+		insert(key, "PENDING");
+		OutboxEvent newer = insert(key, "IN_PROGRESS");
+		// 새 이벤트를 기록한 노드의 시계가 1분 늦음
+		skewCreatedAt(newer.getId(), -60);
+
+		relay();
+
+		assertThat(published).extracting(this::statusOf).containsExactly("IN_PROGRESS");
+		assertThat(outboxEventRepository.count()).isZero();
+	}
+
+	@Test
+	void olderEventIsDroppedWhenNewerOneElsewhereHasEarlierClock() throws Exception {
+		String key = "TEAM_TASK_UPDATE:" + UUID.randomUUID();
+		OutboxEvent older = insert(key, "PENDING");
+		OutboxEvent newer = insert(key, "IN_PROGRESS");
+		skewCreatedAt(newer.getId(), -60);
+
+		CountDownLatch locked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<Void> otherNode = holdLock(newer.getId(), locked, release, false);
+		assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+		relay();
+		assertThat(published).isEmpty();
+		assertThat(outboxEventRepository.existsById(older.getId())).isFalse();
+
+		release.countDown();
+		otherNode.get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void messageTimestampIsEventCreationTime() {
+		OutboxEvent event = insert("TEAM_TASK_UPDATE:" + UUID.randomUUID(), "PENDING");
+
+		relay();
+
+		long createdAt = event.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+		assertThat(published).hasSize(1);
+		assertThat(published.get(0).getMessage().getTimestamp()).isEqualTo(createdAt);
+	}
+
+	private OutboxEvent insert(String key, String status) {
+		WebSocketMessage message = WebSocketMessage.teamTaskUpdate(new MessagePayloads.TeamTaskUpdate("UPDATE",
+				new MessagePayloads.TaskSummary("task-1", null, null, status, null, null, null, null, null)));
+		return transactionTemplate.execute(tx -> {
+			try {
+				OutboxEvent event = new OutboxEvent(OutboxEvent.TargetType.TEAM, "team-1", message.getType(),
+						MessageCodec.writePayload(message.getData()), key);
+				entityManager.persist(event);
+				return event;
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+	}
+
+	private void skewCreatedAt(UUID id, int seconds) {
+		transactionTemplate.executeWithoutResult(tx -> entityManager
+				.createNativeQuery("UPDATE outbox_events SET created_at = DATEADD('SECOND', :seconds, created_at) WHERE id = :id")
+				.setParameter("seconds", seconds)
+				.setParameter("id", id)
+				.executeUpdate());
+	}
+
+	// 다른 노드의 릴레이: 행을 잠근 채 release까지 기다렸다가, sendAndDelete면 그 이벤트를 보내고 삭제
+	private CompletableFuture<Void> holdLock(UUID id, CountDownLatch locked, CountDownLatch release, boolean sendAndDelete) {
+		return CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(tx -> {
+			entityManager.createNativeQuery("SELECT id FROM outbox_events WHERE id = :id FOR UPDATE")
+					.setParameter("id", id)
+					.getResultList();
+			locked.countDown();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			if (sendAndDelete) {
+				published.add(BusEvent.toTeam("team-1", WebSocketMessage.teamTaskUpdate(new MessagePayloads.TeamTaskUpdate(
+						"UPDATE", new MessagePayloads.TaskSummary("task-1", null, null, "PENDING", null, null, null, null, null)))));
+				outboxEventRepository.deleteAllByIdInBatch(List.of(id));
+			}
+		}));
+	}
+
+	private void relay() {
+		ReflectionTestUtils.invokeMethod(outboxRelay, "relayPending");
+	}
+
+	private String statusOf(BusEvent event) {
+		return ((MessagePayloads.TeamTaskUpdate) event.getMessage().getData()).task().status();
+	}
+}
@@ -0,0 +1,186 @@
+package com.ohange.todoserver.service;
+
+import com.ohange.todoserver.websocket.BusEvent;
+import com.ohange.todoserver.websocket.MessageCodec;
+import com.ohange.todoserver.websocket.PresenceTracker;
+import com.ohange.todoserver.websocket.RealtimeBus;
+import com.ohange.todoserver.websocket.TaskWebSocketHandler;
+import com.ohange.todoserver.websocket.WebSocketMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 여러 노드의 PresenceService를 JSON 왕복 버스로 연결해, 다른 노드에 접속한 팀원도 온라인으로 보이는지 검증
+class PresenceServiceTests {
+
+	private final UUID teamId = UUID.randomUUID();
+	private final String team = teamId.toString();
+
+	private final List<TestBus> cluster = new CopyOnWriteArrayList<>();
+	private Node nodeA;
+	private Node nodeB;
+
+	@BeforeEach
+	void setUp() {
+		nodeA = new Node();
+		nodeB = new Node();
+	}
+
+	@Test
+	void userOnOtherNodeAppearsInDiffAndSnapshot() {
+		nodeB.tracker.join(team, "bob");
+		nodeB.service.flushPresenceDiffs();
+		nodeA.service.flushPresenceDiffs();
+
+		assertThat(nodeA.diffs).hasSize(1);
+		assertThat(nodeA.diffs.get(0).getTeamId()).isEqualTo(team);
+		assertThat(nodeA.diffs.get(0).getOnline()).containsExactly("bob");
+		assertThat(nodeB.diffs).hasSize(1);
+		assertThat(nodeA.service.getTeamPresence(teamId, UUID.randomUUID()).getOnlineUserIds()).containsExactly("bob");
+
+		nodeA.tracker.join(team, "alice");
+		assertThat(nodeA.service.getTeamPresence(teamId, UUID.randomUUID()).getOnlineUserIds())
+				.containsExactlyInAnyOrder("alice", "bob");
+	}
+
+	@Test
+	void movingToAnotherNodeInsideOneWindowEmitsNothing() {
+		nodeB.tracker.join(team, "bob");
+		nodeB.service.flushPresenceDiffs();
+		nodeA.service.flushPresenceDiffs();
+		nodeA.diffs.clear();
+		nodeB.diffs.clear();
+
+		// 로드 밸런서를 거쳐 B에서 끊기고 A로 다시 붙음 (B는 A의 입장보다 자기 퇴장을 한 주기 먼저 봄)
+		nodeB.tracker.leave(team, "bob");
+		nodeA.tracker.join(team, "bob");
+		nodeB.service.flushPresenceDiffs();
+		nodeA.service.flushPresenceDiffs();
+		nodeB.service.flushPresenceDiffs();
+		nodeA.service.flushPresenceDiffs();
+		nodeB.service.flushPresenceDiffs();
+
+		assertThat(nodeA.diffs).isEmpty();
+		assertThat(nodeB.diffs).isEmpty();
+		assertThat(nodeB.service.getTeamPresence(teamId, UUID.randomUUID()).getOnlineUserIds()).containsExactly("bob");
+	}
+
+	@Test
+	void userStaysOnlineUntilLastNodeDropsThem() {
+		nodeA.tracker.join(team, "bob");
+		nodeB.tracker.join(team, "bob");
+		nodeA.service.flushPresenceDiffs();
+		nodeB.service.flushPresenceDiffs();
+		nodeA.service.flushPresenceDiffs();
+		nodeA.diffs.clear();
+
+		nodeB.tracker.leave(team, "bob");
+		nodeB.service.flushPresenceDiffs();
+		nodeA.service.flushPresenceDiffs();
+		assertThat(nodeA.diffs).isEmpty();
+
+		// 다른 노드로 옮겨 가는 중일 수 있으므로 오프라인은 한 주기 뒤에 보냄
+		nodeA.tracker.leave(team, "bob");
+		nodeA.service.flushPresenceDiffs();
+		assertThat(nodeA.diffs).isEmpty();
+		nodeA.service.flushPresenceDiffs();
+		assertThat(nodeA.diffs).hasSize(1);
+		assertThat(nodeA.diffs.get(0).getOffline()).containsExactly("bob");
+	}
+
+	@Test
+	void nodeStartedLaterLoadsStateOfRunningNodes() {
+		nodeB.tracker.join(team, "bob");
+		nodeB.service.flushPresenceDiffs();
+
+		Node late = new Node();
+
+		assertThat(late.service.getTeamPresence(teamId, UUID.randomUUID()).getOnlineUserIds()).containsExactly("bob");
+	}
+
+	@Test
+	void stoppedAndSilentNodesAreDropped() {
+		Node nodeC = new Node();
+		nodeB.tracker.join(team, "bob");
+		nodeC.tracker.join(team, "carol");
+		nodeB.service.flushPresenceDiffs();
+		nodeC.service.flushPresenceDiffs();
+		nodeA.service.flushPresenceDiffs();
+		nodeA.diffs.clear();
+
+		// B는 정상 종료, C는 응답 없이 사라짐
+		nodeB.service.leaveCluster();
+		cluster.remove(nodeC.bus);
+		ReflectionTestUtils.setField(nodeA.service, "nodeTimeoutMs", -1L);
+		nodeA.service.flushPresenceDiffs();
+		nodeA.service.flushPresenceDiffs();
+
+		assertThat(nodeA.diffs).hasSize(1);
+		assertThat(nodeA.diffs.get(0).getOffline()).containsExactlyInAnyOrder("bob", "carol");
+		assertThat(nodeA.service.getTeamPresence(teamId, UUID.randomUUID()).getOnlineUserIds()).isEmpty();
+	}
+
+	// 한 노드 (PresenceTracker + PresenceService, 세션 전송은 PRESENCE_DIFF 기록으로 대체)
+	private class Node {
+		private final PresenceTracker tracker = new PresenceTracker();
+		private final PresenceService service = new PresenceService();
+		private final TestBus bus = new TestBus();
+		private final List<PresenceTracker.PresenceDiff> diffs = new CopyOnWriteArrayList<>();
+
+		Node() {
+			TaskWebSocketHandler handler = mock(TaskWebSocketHandler.class);
+			doAnswer(invocation -> {
+				WebSocketMessage message = invocation.getArgument(1);
+				assertThat(message.getType()).isEqualTo("PRESENCE_DIFF");
+				diffs.add((PresenceTracker.PresenceDiff) message.getData());
+				return null;
+			}).when(handler).broadcastEphemeralToTeam(anyString(), any());
+			TeamMembershipIndex membershipIndex = mock(TeamMembershipIndex.class);
+			when(membershipIndex.isMember(any(), any())).thenReturn(true);
+
+			ReflectionTestUtils.setField(service, "presenceTracker", tracker);
+			ReflectionTestUtils.setField(service, "webSocketHandler", handler);
+			ReflectionTestUtils.setField(service, "membershipIndex", membershipIndex);
+			ReflectionTestUtils.setField(service, "realtimeBus", bus);
+			ReflectionTestUtils.setField(service, "nodeHeartbeatMs", 60_000L);
+			ReflectionTestUtils.setField(service, "nodeTimeoutMs", 60_000L);
+			cluster.add(bus);
+			service.subscribeToBus();
+		}
+	}
+
+	// 노드 간 버스처럼 이벤트를 JSON으로 직렬화했다가 복원해 모든 노드(자신 포함)에 동기 전달
+	private class TestBus implements RealtimeBus {
+		private final List<Consumer<BusEvent>> listeners = new CopyOnWriteArrayList<>();
+
+		@Override
+		public void publish(BusEvent event) {
+			try {
+				String json = MessageCodec.mapper().writeValueAsString(event);
+				for (TestBus node : cluster) {
+					BusEvent received = MessageCodec.mapper().readValue(json, BusEvent.class);
+					node.listeners.forEach(listener -> listener.accept(received));
+				}
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public void subscribe(Consumer<BusEvent> listener) {
+			listeners.add(listener);
+		}
+	}
+}
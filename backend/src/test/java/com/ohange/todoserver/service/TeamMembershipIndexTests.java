@@ -0,0 +1,80 @@
+package com.ohange.todoserver.service;
+
+import com.ohange.todoserver.entity.TeamMembership;
+import com.ohange.todoserver.repository.TeamMembershipRepository;
+import com.ohange.todoserver.websocket.RealtimeBus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 팀 수 한도를 넘었을 때 가장 오래 안 쓴 팀부터 비우고, 읽는 중인 팀은 비우지 않는지 검증
+class TeamMembershipIndexTests {
+
+	private final UUID userId = UUID.randomUUID();
+	private final UUID teamA = UUID.randomUUID();
+	private final UUID teamB = UUID.randomUUID();
+	private final UUID teamC = UUID.randomUUID();
+
+	private TeamMembershipRepository repository;
+	private TeamMembershipIndex index;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(TeamMembershipRepository.class);
+		when(repository.findMemberRoles(any())).thenAnswer(invocation -> memberRows());
+
+		index = new TeamMembershipIndex();
+		ReflectionTestUtils.setField(index, "teamMembershipRepository", repository);
+		ReflectionTestUtils.setField(index, "realtimeBus", mock(RealtimeBus.class));
+		ReflectionTestUtils.setField(index, "maxTeams", 2);
+	}
+
+	@Test
+	void leastRecentlyUsedTeamIsEvictedFirst() {
+		index.isMember(teamA, userId);
+		index.isMember(teamB, userId);
+		index.isMember(teamA, userId); // A를 최근에 씀 -> B가 가장 오래 안 쓴 팀
+
+		index.isMember(teamC, userId);
+
+		index.isMember(teamA, userId);
+		verify(repository, times(1)).findMemberRoles(teamA);
+		index.isMember(teamB, userId);
+		verify(repository, times(2)).findMemberRoles(teamB);
+		assertThat(index.getStats().getCachedTeams()).isEqualTo(2);
+	}
+
+	@Test
+	void teamBeingLoadedIsNotEvicted() {
+		ReflectionTestUtils.setField(index, "maxTeams", 1);
+		when(repository.findMemberRoles(teamA)).thenAnswer(invocation -> {
+			// A를 읽는 동안 다른 팀들이 한도를 넘기며 적재됨
+			index.isMember(teamB, userId);
+			index.isMember(teamC, userId);
+			return memberRows();
+		});
+
+		assertThat(index.isMember(teamA, userId)).isTrue();
+
+		// A의 자리표시는 비워지지 않았으므로 읽은 결과가 저장되어 다시 읽지 않음
+		assertThat(index.isMember(teamA, userId)).isTrue();
+		verify(repository, times(1)).findMemberRoles(teamA);
+	}
+
+	private List<Object[]> memberRows() {
+		List<Object[]> rows = new ArrayList<>();
+		rows.add(new Object[]{userId, TeamMembership.Role.MEMBER});
+		return rows;
+	}
+}
@@ -0,0 +1,246 @@
+package com.ohange.todoserver.service;
+
+import com.ohange.todoserver.entity.Team;
+import com.ohange.todoserver.entity.TeamMembership;
+import com.ohange.todoserver.entity.TodoTask;
+import com.ohange.todoserver.entity.User;
+import com.ohange.todoserver.repository.TodoTaskRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 팀 태스크 조건 조회의 키셋 페이지네이션과 커서 검증
+// 정렬 키가 겹치는 태스크를 심어 두고, 정렬과 필터마다 작은 페이지로 끝까지 넘긴 결과가
+// 한 번에 읽은 결과와 같은지(페이지 경계에서 중복/누락 없음), 한 번에 읽은 결과가 필터와 맞는지 확인한다.
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:teamtaskquery;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;INIT=CREATE DOMAIN IF NOT EXISTS JSONB AS JSON",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.sql.init.mode=never",
+		"realtime.bus.type=memory",
+		"outbox.relay.poll-interval-ms=3600000",
+		"notification.unread.reconcile-interval-ms=3600000",
+		"notification.deadline.enabled=false"
+})
+class TeamTaskQueryPagingTests {
+
+	private static final int TASKS = 23;
+	private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+	@Autowired
+	private TodoTaskService todoTaskService;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private UUID teamId;
+	private UUID requesterId;
+	private UUID assigneeId;
+	private UUID otherAssigneeId;
+
+	@BeforeEach
+	void seed() {
+		String suffix = UUID.randomUUID().toString();
+		transactionTemplate.executeWithoutResult(status -> {
+			Team team = new Team("query-team-" + suffix, null);
+			User requester = new User("query-requester-" + suffix + "@example.com", "password", "requester");
+			User assignee = new User("query-assignee-" + suffix + "@example.com", "password", "assignee");
+			User otherAssignee = new User("query-other-" + suffix + "@example.com", "password", "other");
+			entityManager.persist(team);
+			entityManager.persist(requester);
+			entityManager.persist(assignee);
+			entityManager.persist(otherAssignee);
+			entityManager.persist(new TeamMembership(team, requester, TeamMembership.Role.ADMIN));
+			entityManager.persist(new TeamMembership(team, assignee, TeamMembership.Role.MEMBER));
+			entityManager.persist(new TeamMembership(team, otherAssignee, TeamMembership.Role.MEMBER));
+
+			TodoTask.TodoTaskStatus[] statuses = TodoTask.TodoTaskStatus.values();
+			for (int i = 0; i < TASKS; i++) {
+				// 마감일은 일부 없고 일부는 겹침
+				LocalDateTime deadline = i % 7 == 0 ? null : BASE.plusDays(i % 5);
+				User taskRequester = i % 4 == 0 ? assignee : requester;
+				TodoTask task = new TodoTask("task-" + i, null, taskRequester, i % 2 == 0 ? assignee : otherAssignee, team, deadline);
+				task.setStatus(statuses[i % statuses.length]);
+				entityManager.persist(task);
+			}
+			entityManager.flush();
+
+			// 생성 시각도 세 개씩 겹치게 해 같은 정렬 키에서 id로 나뉘는 경계를 만듦
+			List<?> ids = entityManager.createNativeQuery("SELECT id FROM todo_tasks WHERE team_id = :teamId ORDER BY title")
+					.setParameter("teamId", team.getId())
+					.getResultList();
+			for (int i = 0; i < ids.size(); i++) {
+				entityManager.createNativeQuery("UPDATE todo_tasks SET created_at = :createdAt WHERE id = :id")
+						.setParameter("createdAt", BASE.plusMinutes(i / 3))
+						.setParameter("id", ids.get(i))
+						.executeUpdate();
+			}
+
+			teamId = team.getId();
+			requesterId = requester.getId();
+			assigneeId = assignee.getId();
+			otherAssigneeId = otherAssignee.getId();
+		});
+	}
+
+	@Test
+	void pagingCoversEveryMatchingTaskOnceInBothSorts() {
+		for (TodoTaskRepository.Sort sort : TodoTaskRepository.Sort.values()) {
+			for (String filter : List.of("none", "status", "assignee", "requester", "deadline")) {
+				TodoTaskRepository.TeamTaskQuery query = query(sort);
+				switch (filter) {
+					case "status" -> query.setStatuses(List.of(TodoTask.TodoTaskStatus.PENDING, TodoTask.TodoTaskStatus.IN_PROGRESS));
+					case "assignee" -> query.setAssigneeId(assigneeId);
+					case "requester" -> query.setRequesterId(requesterId);
+					case "deadline" -> {
+						query.setDeadlineFrom(BASE.plusDays(1));
+						query.setDeadlineTo(BASE.plusDays(3));
+					}
+					default -> { }
+				}
+				String label = sort + "/" + filter;
+
+				List<TodoTaskRepository.TaskRow> all = todoTaskService.queryTeamTasks(requesterId, query, null, 100).getItems();
+				assertThat(all).as(label).isNotEmpty();
+				for (TodoTaskRepository.TaskRow row : all) {
+					assertThat(matches(row, query)).as(label + " " + row.getTitle()).isTrue();
+				}
+				assertThat(all).as(label).hasSize(expectedCount(query));
+				assertOrdered(all, sort, label);
+
+				for (int size : new int[]{1, 2, 4}) {
+					List<UUID> paged = new ArrayList<>();
+					String cursor = null;
+					do {
+						CursorPage<TodoTaskRepository.TaskRow> page = todoTaskService.queryTeamTasks(requesterId, query, cursor, size);
+						assertThat(page.getItems().size()).as(label).isLessThanOrEqualTo(size);
+						page.getItems().forEach(row -> paged.add(row.getId()));
+						// 커서가 앞으로 나아가지 않으면 끝없이 돌지 않고 여기서 실패
+						assertThat(paged.size()).as(label + " size " + size).isLessThanOrEqualTo(all.size());
+						cursor = page.getNextCursor();
+					} while (cursor != null);
+
+					assertThat(paged).as(label + " size " + size).doesNotHaveDuplicates();
+					assertThat(paged).as(label + " size " + size)
+							.containsExactlyElementsOf(all.stream().map(TodoTaskRepository.TaskRow::getId).toList());
+				}
+			}
+		}
+	}
+
+	@Test
+	void cursorFromAnotherSortIsRejected() {
+		String createdCursor = todoTaskService.queryTeamTasks(requesterId, query(TodoTaskRepository.Sort.CREATED), null, 5)
+				.getNextCursor();
+		String deadlineCursor = todoTaskService.queryTeamTasks(requesterId, query(TodoTaskRepository.Sort.DEADLINE), null, 5)
+				.getNextCursor();
+		assertThat(createdCursor).isNotNull();
+		assertThat(deadlineCursor).isNotNull();
+
+		assertThatThrownBy(() -> todoTaskService.queryTeamTasks(requesterId, query(TodoTaskRepository.Sort.DEADLINE), createdCursor, 5))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> todoTaskService.queryTeamTasks(requesterId, query(TodoTaskRepository.Sort.CREATED), deadlineCursor, 5))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void cursorFromOtherFiltersIsRejected() {
+		TodoTaskRepository.TeamTaskQuery byAssignee = query(TodoTaskRepository.Sort.CREATED);
+		byAssignee.setAssigneeId(assigneeId);
+		String cursor = todoTaskService.queryTeamTasks(requesterId, byAssignee, null, 3).getNextCursor();
+		assertThat(cursor).isNotNull();
+
+		TodoTaskRepository.TeamTaskQuery byOtherAssignee = query(TodoTaskRepository.Sort.CREATED);
+		byOtherAssignee.setAssigneeId(otherAssigneeId);
+		assertThatThrownBy(() -> todoTaskService.queryTeamTasks(requesterId, byOtherAssignee, cursor, 3))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> todoTaskService.queryTeamTasks(requesterId, query(TodoTaskRepository.Sort.CREATED), cursor, 3))
+				.isInstanceOf(IllegalArgumentException.class);
+
+		// 같은 조건이면 상태 필터 순서가 달라도 이어서 읽을 수 있음
+		TodoTaskRepository.TeamTaskQuery statuses = query(TodoTaskRepository.Sort.CREATED);
+		statuses.setStatuses(List.of(TodoTask.TodoTaskStatus.PENDING, TodoTask.TodoTaskStatus.COMPLETED));
+		String statusCursor = todoTaskService.queryTeamTasks(requesterId, statuses, null, 2).getNextCursor();
+		TodoTaskRepository.TeamTaskQuery reordered = query(TodoTaskRepository.Sort.CREATED);
+		reordered.setStatuses(List.of(TodoTask.TodoTaskStatus.COMPLETED, TodoTask.TodoTaskStatus.PENDING));
+		assertThat(todoTaskService.queryTeamTasks(requesterId, reordered, statusCursor, 2).getItems()).isNotEmpty();
+	}
+
+	@Test
+	void malformedCursorIsRejected() {
+		assertThatThrownBy(() -> todoTaskService.queryTeamTasks(requesterId, query(TodoTaskRepository.Sort.CREATED), "not-a-cursor", 5))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	// 심은 태스크 중 조건에 맞는 수 (마감일순은 마감일 없는 태스크 제외)
+	private int expectedCount(TodoTaskRepository.TeamTaskQuery query) {
+		List<TodoTask> tasks = transactionTemplate.execute(status -> entityManager
+				.createQuery("SELECT t FROM TodoTask t JOIN FETCH t.assignee JOIN FETCH t.requester WHERE t.team.id = :teamId", TodoTask.class)
+				.setParameter("teamId", teamId)
+				.getResultList());
+		int count = 0;
+		for (TodoTask task : tasks) {
+			if ((query.getStatuses() == null || query.getStatuses().contains(task.getStatus()))
+					&& (query.getAssigneeId() == null || query.getAssigneeId().equals(task.getAssignee().getId()))
+					&& (query.getRequesterId() == null || query.getRequesterId().equals(task.getRequester().getId()))
+					&& inDeadlineRange(task.getDeadline(), query)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private boolean matches(TodoTaskRepository.TaskRow row, TodoTaskRepository.TeamTaskQuery query) {
+		return teamId.equals(row.getTeamId())
+				&& (query.getStatuses() == null || query.getStatuses().contains(row.getStatus()))
+				&& (query.getAssigneeId() == null || query.getAssigneeId().equals(row.getAssigneeId()))
+				&& (query.getRequesterId() == null || query.getRequesterId().equals(row.getRequesterId()))
+				&& inDeadlineRange(row.getDeadline(), query);
+	}
+
+	private static boolean inDeadlineRange(LocalDateTime deadline, TodoTaskRepository.TeamTaskQuery query) {
+		boolean ranged = query.getDeadlineFrom() != null || query.getDeadlineTo() != null
+				|| query.getSort() == TodoTaskRepository.Sort.DEADLINE;
+		if (!ranged) {
+			return true;
+		}
+		return deadline != null
+				&& (query.getDeadlineFrom() == null || !deadline.isBefore(query.getDeadlineFrom()))
+				&& (query.getDeadlineTo() == null || deadline.isBefore(query.getDeadlineTo()));
+	}
+
+	// 정렬 키 순서 확인 (같은 키 안의 id 순서는 페이지를 이어 붙인 결과와 비교해 확인)
+	private static void assertOrdered(List<TodoTaskRepository.TaskRow> rows, TodoTaskRepository.Sort sort, String label) {
+		for (int i = 1; i < rows.size(); i++) {
+			if (sort == TodoTaskRepository.Sort.DEADLINE) {
+				assertThat(rows.get(i).getDeadline()).as(label).isAfterOrEqualTo(rows.get(i - 1).getDeadline());
+			} else {
+				assertThat(rows.get(i).getCreatedAt()).as(label).isBeforeOrEqualTo(rows.get(i - 1).getCreatedAt());
+			}
+		}
+	}
+
+	private TodoTaskRepository.TeamTaskQuery query(TodoTaskRepository.Sort sort) {
+		TodoTaskRepository.TeamTaskQuery query = new TodoTaskRepository.TeamTaskQuery();
+		query.setTeamId(teamId);
+		query.setSort(sort);
+		return query;
+	}
+}
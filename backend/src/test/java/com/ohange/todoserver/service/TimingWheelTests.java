@@ -0,0 +1,54 @@
+package com.ohange.todoserver.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 틱 1ms, 슬롯 4개 휠로 여러 레벨을 거치는 타이머가 정확한 틱에 한 번만 만기되는지 검증
+class TimingWheelTests {
+
+	@Test
+	void timersFireExactlyOnceAtTheirTickAcrossLevels() {
+		TimingWheel<Integer, Integer> wheel = new TimingWheel<>(1, 4, 0);
+		int[] delays = {1, 3, 4, 5, 15, 16, 17, 63, 64, 65, 200, 1000};
+		for (int delay : delays) {
+			wheel.schedule(delay, delay, delay);
+		}
+
+		List<Integer> firedAt = new ArrayList<>();
+		for (long now = 1; now <= 1000; now++) {
+			for (Integer fired : wheel.advance(now)) {
+				assertThat((long) fired).isEqualTo(now);
+				firedAt.add(fired);
+			}
+		}
+
+		assertThat(firedAt).containsExactly(1, 3, 4, 5, 15, 16, 17, 63, 64, 65, 200, 1000);
+		assertThat(wheel.size()).isZero();
+	}
+
+	@Test
+	void rescheduleReplacesAndCancelRemoves() {
+		TimingWheel<String, String> wheel = new TimingWheel<>(1, 4, 0);
+		wheel.schedule("task-1", 100, "first");
+		wheel.schedule("task-1", 30, "moved");
+		wheel.schedule("task-2", 50, "cancelled");
+		wheel.cancel("task-2");
+
+		assertThat(wheel.scheduleIfAbsent("task-1", 10, "ignored")).isFalse();
+		assertThat(wheel.advance(29)).isEmpty();
+		assertThat(wheel.advance(30)).containsExactly("moved");
+		assertThat(wheel.advance(200)).isEmpty();
+	}
+
+	@Test
+	void pastFireTimeExpiresOnNextTick() {
+		TimingWheel<String, String> wheel = new TimingWheel<>(1, 4, 100);
+		wheel.schedule("late", 10, "late");
+
+		assertThat(wheel.advance(101)).containsExactly("late");
+	}
+}
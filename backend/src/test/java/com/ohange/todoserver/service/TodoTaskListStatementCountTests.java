@@ -0,0 +1,106 @@
+package com.ohange.todoserver.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ohange.todoserver.entity.Team;
+import com.ohange.todoserver.entity.TeamMembership;
+import com.ohange.todoserver.entity.TodoTask;
+import com.ohange.todoserver.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 태스크 목록 조회가 행 수와 무관하게 고정된 수의 SQL만 실행하는지 검증
+// 응답 직렬화까지 포함해 세므로 지연 로딩(N+1)이 생기면 행 수에 비례해 늘어나거나 세션 밖에서 실패한다.
+// 주기 작업이 같은 통계에 섞이지 않도록 폴링/재조정 주기를 길게 잡는다.
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:statementcount;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;INIT=CREATE DOMAIN IF NOT EXISTS JSONB AS JSON",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"spring.sql.init.mode=never",
+		"realtime.bus.type=memory",
+		"outbox.relay.poll-interval-ms=3600000",
+		"notification.unread.reconcile-interval-ms=3600000"
+})
+class TodoTaskListStatementCountTests {
+
+	@Autowired
+	private TodoTaskService todoTaskService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void listQueriesRunFixedNumberOfStatements() throws Exception {
+		Fixture small = seed(2);
+		Fixture large = seed(30);
+
+		for (Fixture fixture : new Fixture[]{small, large}) {
+			// 멤버십 인덱스 적재 1 + 목록 1
+			assertThat(statementsFor(() -> todoTaskService.getTeamTasks(fixture.teamId, fixture.requesterId))).isEqualTo(2);
+			// 할당받은 목록 1 + 요청한 목록 1
+			assertThat(statementsFor(() -> todoTaskService.getUserTasks(fixture.assigneeId))).isEqualTo(2);
+			assertThat(statementsFor(() -> todoTaskService.getPendingTasksByUser(fixture.assigneeId))).isEqualTo(1);
+			assertThat(statementsFor(() -> todoTaskService.getUpcomingDeadlineTasks(fixture.teamId))).isEqualTo(1);
+			// 두 번째부터는 멤버십 확인이 인덱스에서 끝남
+			assertThat(statementsFor(() -> todoTaskService.getTeamTasks(fixture.teamId, fixture.requesterId))).isEqualTo(1);
+		}
+
+		assertThat(todoTaskService.getTeamTasks(large.teamId, large.requesterId)).hasSize(30);
+		assertThat(todoTaskService.getTeamTasks(large.teamId, large.requesterId).get(0).getAssigneeName()).isEqualTo("assignee");
+	}
+
+	// 조회 + JSON 직렬화 동안 실행된 SQL 문 수
+	private long statementsFor(Callable<Object> query) throws Exception {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		objectMapper.writeValueAsString(query.call());
+		return statistics.getPrepareStatementCount();
+	}
+
+	private Fixture seed(int taskCount) {
+		return transactionTemplate.execute(status -> {
+			String suffix = UUID.randomUUID().toString();
+			Team team = new Team("team-" + suffix, null);
+			User requester = new User("requester-" + suffix + "@example.com", "password", "requester");
+			User assignee = new User("assignee-" + suffix + "@example.com", "password", "assignee");
+			entityManager.persist(team);
+			entityManager.persist(requester);
+			entityManager.persist(assignee);
+			entityManager.persist(new TeamMembership(team, requester, TeamMembership.Role.ADMIN));
+			entityManager.persist(new TeamMembership(team, assignee, TeamMembership.Role.MEMBER));
+			for (int i = 0; i < taskCount; i++) {
+				TodoTask task = new TodoTask("task-" + i, null, requester, assignee, team, LocalDateTime.now().plusHours(1));
+				task.setStatus(TodoTask.TodoTaskStatus.PENDING);
+				entityManager.persist(task);
+			}
+			return new Fixture(team.getId(), requester.getId(), assignee.getId());
+		});
+	}
+
+	private record Fixture(UUID teamId, UUID requesterId, UUID assigneeId) {
+	}
+}
@@ -0,0 +1,195 @@
+package com.ohange.todoserver.service;
+
+import com.ohange.todoserver.repository.NotificationRepository;
+import com.ohange.todoserver.websocket.BusEvent;
+import com.ohange.todoserver.websocket.RealtimeBus;
+import com.ohange.todoserver.websocket.TaskWebSocketHandler;
+import com.ohange.todoserver.websocket.WebSocketMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 커밋된 변경의 증감분이 DB 조회보다 늦게 도착해도 두 번 반영되지 않는지 검증
+// DB는 (스탬프, 읽지 않은 개수) 스냅샷 하나로 흉내 내고, 커밋은 스냅샷 교체 후 증감분 발행 순서로 일어난다.
+class UnreadCountServiceOrderingTests {
+
+	private final UUID userId = UUID.randomUUID();
+
+	// 커밋된 DB 상태 {unreadSeq, count}
+	private final AtomicReference<long[]> committed = new AtomicReference<>(new long[]{0, 0});
+
+	// 조회 도중에 끼어들 동작 (스냅샷을 읽은 직후, 결과를 돌려주기 전에 실행)
+	private Runnable duringRead = () -> { };
+
+	private final AtomicBoolean online = new AtomicBoolean(true);
+
+	private UnreadCountService service;
+	private Consumer<BusEvent> busListener;
+
+	@BeforeEach
+	void setUp() {
+		NotificationRepository notificationRepository = mock(NotificationRepository.class);
+		when(notificationRepository.countUnreadWithSeqByUserIds(anyCollection())).thenAnswer(invocation -> {
+			long[] snapshot = committed.get();
+			duringRead.run();
+			List<Object[]> rows = new ArrayList<>();
+			rows.add(new Object[]{userId, snapshot[0], snapshot[1]});
+			return rows;
+		});
+
+		RealtimeBus realtimeBus = mock(RealtimeBus.class);
+		doAnswer(invocation -> {
+			busListener = invocation.getArgument(0);
+			return null;
+		}).when(realtimeBus).subscribe(any());
+
+		TaskWebSocketHandler webSocketHandler = mock(TaskWebSocketHandler.class);
+		when(webSocketHandler.isUserOnline(anyString())).thenAnswer(invocation -> online.get());
+
+		service = new UnreadCountService();
+		ReflectionTestUtils.setField(service, "notificationRepository", notificationRepository);
+		ReflectionTestUtils.setField(service, "realtimeBus", realtimeBus);
+		ReflectionTestUtils.setField(service, "webSocketHandler", webSocketHandler);
+		service.subscribeToBus();
+	}
+
+	@Test
+	void deltaArrivingAfterReadOfCommittedRowIsNotAppliedTwice() {
+		long seq = commit(1);
+
+		// 커밋 후, 증감분이 도착하기 전에 처음 조회 → 개수에 이미 새 알림이 들어 있음
+		assertThat(service.getUnreadCount(userId)).isEqualTo(1);
+
+		deliver(seq, 1);
+		assertThat(service.getUnreadCount(userId)).isEqualTo(1);
+	}
+
+	@Test
+	void deltaCommittedDuringReadIsAddedOnTopOfOlderSnapshot() {
+		duringRead = () -> {
+			duringRead = () -> { };
+			deliver(commit(1), 1);
+		};
+
+		// 커밋 전 스냅샷(0)을 읽는 사이에 커밋과 증감분 도착이 끝남
+		assertThat(service.getUnreadCount(userId)).isEqualTo(1);
+		assertThat(service.getUnreadCount(userId)).isEqualTo(1);
+	}
+
+	@Test
+	void reconcileKeepsDeltasNewerThanItsSnapshot() {
+		assertThat(service.getUnreadCount(userId)).isZero();
+
+		long first = commit(1);
+		long second = commit(1);
+		deliver(second, 1);
+
+		// 재조정 스냅샷은 first까지만 포함하고 second는 이미 반영된 상태
+		committed.set(new long[]{first, 1});
+		service.reconcile();
+		committed.set(new long[]{second, 2});
+		assertThat(service.getUnreadCount(userId)).isEqualTo(2);
+
+		deliver(first, 1);
+		assertThat(service.getUnreadCount(userId)).isEqualTo(2);
+	}
+
+	@Test
+	void concurrentCommitsReadsAndReconcilesConverge() throws Exception {
+		int commits = 5000;
+		LinkedBlockingQueue<long[]> inFlight = new LinkedBlockingQueue<>();
+		AtomicBoolean done = new AtomicBoolean();
+		ExecutorService executor = Executors.newFixedThreadPool(6);
+		CountDownLatch delivered = new CountDownLatch(commits);
+
+		// 커밋: 읽지 않은 알림 +1, +1, -1 반복
+		executor.execute(() -> {
+			for (int i = 0; i < commits; i++) {
+				long delta = i % 3 == 2 ? -1 : 1;
+				inFlight.add(new long[]{commit(delta), delta});
+			}
+		});
+
+		// 증감분 전달: 여러 스레드가 꺼내 작은 묶음 안에서 순서를 섞어 전달
+		for (int t = 0; t < 3; t++) {
+			executor.execute(() -> {
+				List<long[]> batch = new ArrayList<>();
+				while (delivered.getCount() > 0) {
+					try {
+						long[] event = inFlight.poll(10, TimeUnit.MILLISECONDS);
+						if (event != null) {
+							batch.add(event);
+						}
+						if (batch.size() >= 4 || (event == null && !batch.isEmpty())) {
+							Collections.shuffle(batch);
+							for (long[] e : batch) {
+								deliver(e[0], e[1]);
+								delivered.countDown();
+							}
+							batch.clear();
+						}
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+			});
+		}
+
+		// 조회와 재조정이 증감분 전달과 경쟁
+		executor.execute(() -> {
+			while (!done.get()) {
+				service.getUnreadCount(userId);
+			}
+		});
+		executor.execute(() -> {
+			while (!done.get()) {
+				// 가끔 접속이 끊긴 것으로 보여 카운터가 비워지고, 다음 조회에서 다시 적재됨
+				online.set(ThreadLocalRandom.current().nextInt(10) != 0);
+				service.reconcile();
+				online.set(true);
+			}
+		});
+
+		assertThat(delivered.await(30, TimeUnit.SECONDS)).isTrue();
+		done.set(true);
+		executor.shutdown();
+		assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+		long expected = committed.get()[1];
+		assertThat(service.getUnreadCount(userId)).isEqualTo(expected);
+	}
+
+	// 스탬프를 올리고 개수를 바꾼 스냅샷으로 교체 (한 사용자의 커밋은 사용자 행 잠금으로 직렬화됨)
+	private synchronized long commit(long delta) {
+		long[] current = committed.get();
+		long seq = current[0] + 1;
+		committed.set(new long[]{seq, current[1] + delta});
+		return seq;
+	}
+
+	private void deliver(long seq, long delta) {
+		busListener.accept(BusEvent.toNodes(userId.toString(), WebSocketMessage.unreadCountDelta(delta, seq)));
+	}
+}
@@ -0,0 +1,116 @@
+package com.ohange.todoserver.websocket;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 송신 큐가 가득 찼을 때 메시지 타입별 전달 정책 검증
+// 송신 작업을 실행하지 않는 executor를 써서 큐가 비워지지 않게 한다.
+class ClientSessionBackpressureTests {
+
+	private DeliveryStats stats;
+	private WebSocketSession webSocketSession;
+	private ClientSession session;
+
+	@BeforeEach
+	void setUp() {
+		stats = new DeliveryStats();
+		webSocketSession = mock(WebSocketSession.class);
+		when(webSocketSession.isOpen()).thenReturn(true);
+		when(webSocketSession.getId()).thenReturn("session-1");
+		session = new ClientSession(webSocketSession, "user-1", task -> { }, 10_000, 1_000_000, 2, stats);
+	}
+
+	@Test
+	void teamUpdateReplacesQueuedUpdateForSameTask() {
+		session.enqueue(teamUpdate("task-1", "PENDING"));
+		session.enqueue(notification());
+
+		assertThat(session.enqueue(teamUpdate("task-1", "IN_PROGRESS"))).isTrue();
+
+		assertThat(session.getQueuedMessageCount()).isEqualTo(2);
+		assertThat(stats.snapshot().get("TEAM_TASK_UPDATE").getReplaced()).isEqualTo(1);
+		assertThat(session.isOpen()).isTrue();
+	}
+
+	@Test
+	void notificationPushesOutOldestTeamUpdate() {
+		session.enqueue(teamUpdate("task-1", "PENDING"));
+		session.enqueue(teamUpdate("task-2", "PENDING"));
+
+		assertThat(session.enqueue(notification())).isTrue();
+
+		assertThat(session.getQueuedMessageCount()).isEqualTo(2);
+		assertThat(stats.snapshot().get("TEAM_TASK_UPDATE").getDropped()).isEqualTo(1);
+		assertThat(session.isOpen()).isTrue();
+	}
+
+	@Test
+	void teamUpdateIsDroppedWhenOnlyReliableMessagesAreQueued() {
+		session.enqueue(notification());
+		session.enqueue(notification());
+
+		assertThat(session.enqueue(teamUpdate("task-1", "PENDING"))).isFalse();
+
+		assertThat(stats.snapshot().get("TEAM_TASK_UPDATE").getDropped()).isEqualTo(1);
+		assertThat(session.isOpen()).isTrue();
+	}
+
+	@Test
+	void reliableMessageWithoutRoomClosesSession() {
+		session.enqueue(notification());
+		session.enqueue(notification());
+
+		assertThat(session.enqueue(notification())).isFalse();
+
+		assertThat(stats.snapshot().get("NOTIFICATION").getOverflowClosed()).isEqualTo(1);
+		assertThat(session.isOpen()).isFalse();
+	}
+
+	@Test
+	void pingDroppedUnderBackpressureIsNotCountedAsMissed() {
+		session.enqueue(notification());
+		session.enqueue(notification());
+
+		assertThat(session.enqueue(ping())).isFalse();
+
+		assertThat(stats.snapshot().get("PING").getDropped()).isEqualTo(1);
+		assertThat(session.getMissedPongs()).isZero();
+	}
+
+	@Test
+	void pingIsCountedOnceWrittenAndResetByPong() {
+		ClientSession sending = new ClientSession(webSocketSession, "user-1", Runnable::run, 10_000, 1_000_000, 2, stats);
+
+		sending.enqueue(ping());
+		assertThat(sending.getMissedPongs()).isEqualTo(1);
+
+		sending.markAlive();
+		assertThat(sending.getMissedPongs()).isZero();
+	}
+
+	private static OutboundMessage ping() {
+		return OutboundMessage.control(new PingMessage(ByteBuffer.allocate(0)), "PING");
+	}
+
+	private static OutboundMessage teamUpdate(String taskId, String status) {
+		WebSocketMessage message = WebSocketMessage.teamTaskUpdate(new MessagePayloads.TeamTaskUpdate("UPDATE",
+				new MessagePayloads.TaskSummary(taskId, null, null, status, null, null, null, null, null)));
+		return OutboundMessage.of(message, new TextMessage(taskId + ":" + status));
+	}
+
+	private static OutboundMessage notification() {
+		WebSocketMessage message = WebSocketMessage.notification(Map.of("message", "hello"));
+		return OutboundMessage.of(message, new TextMessage("hello"));
+	}
+
+}
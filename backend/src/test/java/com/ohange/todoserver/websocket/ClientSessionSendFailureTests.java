@@ -0,0 +1,78 @@
+package com.ohange.todoserver.websocket;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 전송 실패와 전송 시간 한도 초과 시 세션이 닫히는지 검증
+class ClientSessionSendFailureTests {
+
+	@Test
+	void sendFailureClosesSession() throws Exception {
+		WebSocketSession webSocketSession = openSession();
+		doThrow(new IOException("broken pipe")).when(webSocketSession).sendMessage(any());
+		ClientSession session = new ClientSession(webSocketSession, "user-1", Runnable::run, 10_000, 1_000_000, 10,
+				new DeliveryStats());
+
+		session.enqueue(notification());
+
+		assertThat(session.isOpen()).isFalse();
+		assertThat(session.getQueuedMessageCount()).isZero();
+		verify(webSocketSession).close(CloseStatus.SESSION_NOT_RELIABLE);
+	}
+
+	@Test
+	void stalledSendIsClosedWithoutFurtherMessages() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch sending = new CountDownLatch(1);
+		WebSocketSession webSocketSession = openSession();
+		doAnswer(invocation -> {
+			sending.countDown();
+			release.await(5, TimeUnit.SECONDS);
+			return null;
+		}).when(webSocketSession).sendMessage(any());
+		ClientSession session = new ClientSession(webSocketSession, "user-1", task -> new Thread(task).start(), 50,
+				1_000_000, 10, new DeliveryStats());
+
+		try {
+			session.enqueue(notification());
+			assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(session.closeIfSendStalled()).isFalse();
+
+			// 새 메시지 없이 주기 점검만으로 감지
+			Thread.sleep(100);
+			assertThat(session.closeIfSendStalled()).isTrue();
+			assertThat(session.isOpen()).isFalse();
+			verify(webSocketSession, timeout(1000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+		} finally {
+			release.countDown();
+		}
+	}
+
+	private static WebSocketSession openSession() {
+		WebSocketSession webSocketSession = mock(WebSocketSession.class);
+		when(webSocketSession.isOpen()).thenReturn(true);
+		when(webSocketSession.getId()).thenReturn("session-1");
+		return webSocketSession;
+	}
+
+	private static OutboundMessage notification() {
+		WebSocketMessage message = WebSocketMessage.notification(Map.of("message", "hello"));
+		return OutboundMessage.of(message, new TextMessage("hello"));
+	}
+}
@@ -0,0 +1,66 @@
+package com.ohange.todoserver.websocket;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 한 JVM 안의 여러 Spring 컨텍스트를 각각 하나의 노드로 보고 버스 전달을 검증
+class InMemoryRealtimeBusTests {
+
+	@Test
+	void publishedEventReachesEveryNodeOnSameChannel() {
+		try (AnnotationConfigApplicationContext nodeA = startNode("cluster_a");
+			 AnnotationConfigApplicationContext nodeB = startNode("cluster_a");
+			 AnnotationConfigApplicationContext otherCluster = startNode("cluster_b")) {
+
+			List<BusEvent> receivedA = record(nodeA);
+			List<BusEvent> receivedB = record(nodeB);
+			List<BusEvent> receivedOther = record(otherCluster);
+
+			nodeA.getBean(RealtimeBus.class).publish(BusEvent.toTeam("team-1",
+					WebSocketMessage.teamTaskUpdate(new MessagePayloads.TeamTaskUpdate("UPDATE", null))));
+
+			assertThat(receivedA).hasSize(1);
+			assertThat(receivedB).hasSize(1);
+			assertThat(receivedB.get(0).getTargetId()).isEqualTo("team-1");
+			assertThat(receivedB.get(0).getMessage().getType()).isEqualTo("TEAM_TASK_UPDATE");
+			assertThat(receivedOther).isEmpty();
+		}
+	}
+
+	@Test
+	void closedNodeNoLongerReceivesEvents() {
+		try (AnnotationConfigApplicationContext nodeA = startNode("cluster_c")) {
+			AnnotationConfigApplicationContext nodeB = startNode("cluster_c");
+			List<BusEvent> receivedB = record(nodeB);
+			nodeB.close();
+
+			nodeA.getBean(RealtimeBus.class).publish(BusEvent.toUser("user-1",
+					WebSocketMessage.notification(Map.of("message", "hello"))));
+
+			assertThat(receivedB).isEmpty();
+		}
+	}
+
+	private static AnnotationConfigApplicationContext startNode(String channel) {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.getEnvironment().getPropertySources()
+				.addFirst(new MapPropertySource("node", Map.of("realtime.bus.channel", channel)));
+		context.register(InMemoryRealtimeBus.class);
+		context.refresh();
+		return context;
+	}
+
+	private static List<BusEvent> record(AnnotationConfigApplicationContext node) {
+		List<BusEvent> received = new CopyOnWriteArrayList<>();
+		node.getBean(RealtimeBus.class).subscribe(received::add);
+		return received;
+	}
+
+}
@@ -0,0 +1,97 @@
+package com.ohange.todoserver.websocket;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// NOTIFY 한도를 넘는 이벤트의 참조 전송과 수신 공백 신호 검증
+// PostgreSQL 없이 확인하도록 pg_notify와 참조 테이블을 흉내 내는 JdbcTemplate을 쓰고, 수신은 NOTIFY 페이로드를 직접 넘긴다.
+class PostgresRealtimeBusTests {
+
+	private final List<String> notified = new ArrayList<>();
+	private final Map<UUID, String> payloads = new ConcurrentHashMap<>();
+	private final List<BusEvent> received = new ArrayList<>();
+
+	private PostgresRealtimeBus bus;
+
+	@BeforeEach
+	void setUp() {
+		bus = new PostgresRealtimeBus();
+		ReflectionTestUtils.setField(bus, "jdbcTemplate", new FakeJdbcTemplate());
+		ReflectionTestUtils.setField(bus, "channel", "realtime_events");
+		bus.subscribe(received::add);
+	}
+
+	@Test
+	void smallEventIsSentInline() {
+		bus.publish(BusEvent.toUser("user-1", WebSocketMessage.unreadCount(3)));
+
+		assertThat(notified).hasSize(1);
+		assertThat(notified.get(0)).startsWith("{");
+		assertThat(payloads).isEmpty();
+
+		receive(notified.get(0));
+		assertThat(received).extracting(BusEvent::getTargetId).containsExactly("user-1");
+	}
+
+	@Test
+	void largeEventIsSentByReference() {
+		bus.publish(BusEvent.toUser("user-1", WebSocketMessage.notification(Map.of("body", "x".repeat(20_000)))));
+
+		assertThat(notified).hasSize(1);
+		assertThat(notified.get(0)).startsWith("@").hasSizeLessThan(100);
+		assertThat(payloads).hasSize(1);
+
+		receive(notified.get(0));
+		assertThat(received).hasSize(1);
+		assertThat(received.get(0).getMessage().getType()).isEqualTo("NOTIFICATION");
+		assertThat(received.get(0).getMessage().getData()).isEqualTo(Map.of("body", "x".repeat(20_000)));
+	}
+
+	@Test
+	void missingReferencedEventSignalsGap() {
+		bus.publish(BusEvent.toUser("user-1", WebSocketMessage.notification(Map.of("body", "x".repeat(20_000)))));
+		payloads.clear();
+
+		receive(notified.get(0));
+
+		assertThat(received).hasSize(1);
+		assertThat(received.get(0).getTarget()).isEqualTo(BusEvent.Target.NODE);
+		assertThat(received.get(0).getMessage().getType()).isEqualTo("REALTIME_BUS_GAP");
+	}
+
+	private void receive(String payload) {
+		ReflectionTestUtils.invokeMethod(bus, "handleNotification", payload);
+	}
+
+	// pg_notify 호출과 realtime_bus_payloads 행만 흉내 냄
+	private class FakeJdbcTemplate extends JdbcTemplate {
+
+		@Override
+		public int update(String sql, Object... args) {
+			assertThat(sql).startsWith("INSERT INTO realtime_bus_payloads");
+			payloads.put((UUID) args[0], (String) args[1]);
+			return 1;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <T> T query(String sql, ResultSetExtractor<T> rse, Object... args) {
+			if (sql.contains("pg_notify")) {
+				notified.add((String) args[1]);
+				return null;
+			}
+			return (T) payloads.get((UUID) args[0]);
+		}
+	}
+}
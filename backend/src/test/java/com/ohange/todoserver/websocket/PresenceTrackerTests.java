@@ -0,0 +1,79 @@
+package com.ohange.todoserver.websocket;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// flush 주기 단위로 마지막 flush 시점과 비교한 순변화만 diff로 나오는지 검증
+class PresenceTrackerTests {
+
+	private final PresenceTracker tracker = new PresenceTracker();
+
+	@Test
+	void diffIsNetChangeSinceLastFlush() {
+		tracker.join("team-1", "alice");
+		tracker.join("team-1", "bob");
+		tracker.join("team-2", "alice");
+
+		List<PresenceTracker.PresenceDiff> first = tracker.drainDiffs();
+		assertThat(first).hasSize(2);
+		assertThat(diffOf(first, "team-1").getOnline()).containsExactlyInAnyOrder("alice", "bob");
+		assertThat(diffOf(first, "team-1").getOffline()).isEmpty();
+		assertThat(diffOf(first, "team-2").getOnline()).containsExactly("alice");
+
+		// 변화가 없으면 diff도 없음
+		assertThat(tracker.drainDiffs()).isEmpty();
+
+		tracker.leave("team-1", "bob");
+		List<PresenceTracker.PresenceDiff> second = tracker.drainDiffs();
+		assertThat(second).hasSize(1);
+		assertThat(second.get(0).getOnline()).isEmpty();
+		assertThat(second.get(0).getOffline()).containsExactly("bob");
+	}
+
+	@Test
+	void connectThenDisconnectInsideOneWindowEmitsNothing() {
+		tracker.join("team-1", "alice");
+		tracker.leave("team-1", "alice");
+
+		assertThat(tracker.drainDiffs()).isEmpty();
+		assertThat(tracker.snapshot("team-1")).isEmpty();
+	}
+
+	@Test
+	void reconnectInsideOneWindowEmitsNothing() {
+		tracker.join("team-1", "alice");
+		tracker.drainDiffs();
+
+		tracker.leave("team-1", "alice");
+		tracker.join("team-1", "alice");
+		tracker.leave("team-1", "alice");
+		tracker.join("team-1", "alice");
+
+		assertThat(tracker.drainDiffs()).isEmpty();
+		assertThat(tracker.snapshot("team-1")).containsExactly("alice");
+	}
+
+	@Test
+	void userStaysOnlineWhileAnyDeviceIsSubscribed() {
+		tracker.join("team-1", "alice");
+		tracker.join("team-1", "alice");
+		tracker.drainDiffs();
+
+		tracker.leave("team-1", "alice");
+		assertThat(tracker.drainDiffs()).isEmpty();
+		assertThat(tracker.isOnline("team-1", "alice")).isTrue();
+
+		tracker.leave("team-1", "alice");
+		List<PresenceTracker.PresenceDiff> diffs = tracker.drainDiffs();
+		assertThat(diffs).hasSize(1);
+		assertThat(diffs.get(0).getOffline()).containsExactly("alice");
+		assertThat(tracker.snapshotAll()).isEmpty();
+	}
+
+	private static PresenceTracker.PresenceDiff diffOf(List<PresenceTracker.PresenceDiff> diffs, String teamId) {
+		return diffs.stream().filter(diff -> diff.getTeamId().equals(teamId)).findFirst().orElseThrow();
+	}
+}
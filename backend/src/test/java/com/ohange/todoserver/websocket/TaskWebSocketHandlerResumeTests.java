@@ -0,0 +1,265 @@
+package com.ohange.todoserver.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ohange.todoserver.service.TeamMembershipIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 재연결한 클라이언트의 RESUME이 같은 스트림의 누락분 재전송과 RESYNC_REQUIRED 중 어느 쪽으로 처리되는지 검증
+// 재전송 링은 4칸으로 줄여 두고, 세션은 보낸 프레임을 기록하는 스텁이다.
+class TaskWebSocketHandlerResumeTests {
+
+	private static final int REPLAY_BUFFER = 4;
+
+	private final String teamId = UUID.randomUUID().toString();
+	private final String alice = UUID.randomUUID().toString();
+
+	private AnnotationConfigApplicationContext node;
+	private TaskWebSocketHandler handler;
+
+	// 끊기기 전 세션이 SUBSCRIBED로 받은 스트림 위치
+	private StubSession before;
+	private String streamId;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		node = startNode();
+		handler = node.getBean(TaskWebSocketHandler.class);
+
+		before = connect(teamId);
+		JsonNode subscribed = before.frames("SUBSCRIBED").get(0).path("data");
+		streamId = subscribed.path("streamId").asText();
+		assertThat(subscribed.path("seq").asLong()).isZero();
+	}
+
+	@AfterEach
+	void tearDown() {
+		node.close();
+	}
+
+	@Test
+	void resumeWithinRingReplaysOnlyMissedFrames() throws Exception {
+		broadcast(3);
+		before.await("TEAM_EVENT", 3);
+
+		StubSession after = connect(null);
+		resume(after, streamId, 1);
+
+		after.await("TEAM_EVENT", 2);
+		assertThat(after.frames("TEAM_EVENT")).extracting(frame -> frame.path("seq").asLong()).containsExactly(2L, 3L);
+		settle();
+		assertThat(after.count("RESYNC_REQUIRED")).isZero();
+
+		// RESUME은 구독도 함께 하므로 이후 메시지는 라이브로 받음
+		broadcast(1);
+		after.await("TEAM_EVENT", 3);
+	}
+
+	@Test
+	void resumeAtExactRingBoundaryStillReplays() throws Exception {
+		broadcast(REPLAY_BUFFER + 2);
+
+		StubSession after = connect(null);
+		resume(after, streamId, 2);
+
+		after.await("TEAM_EVENT", REPLAY_BUFFER);
+		assertThat(after.frames("TEAM_EVENT")).extracting(frame -> frame.path("seq").asLong()).containsExactly(3L, 4L, 5L, 6L);
+		settle();
+		assertThat(after.count("RESYNC_REQUIRED")).isZero();
+	}
+
+	@Test
+	void resumeBehindRingRequiresResync() throws Exception {
+		broadcast(REPLAY_BUFFER + 2);
+
+		StubSession after = connect(null);
+		resume(after, streamId, 1);
+
+		assertResync(after, streamId, REPLAY_BUFFER + 2);
+	}
+
+	@Test
+	void resumeAheadOfStreamRequiresResync() throws Exception {
+		broadcast(2);
+
+		StubSession after = connect(null);
+		resume(after, streamId, 5);
+
+		assertResync(after, streamId, 2);
+	}
+
+	@Test
+	void resumeWithOtherStreamIdRequiresResync() throws Exception {
+		broadcast(2);
+
+		// 재시작한 서버나 다른 노드의 스트림 ID
+		StubSession after = connect(null);
+		resume(after, UUID.randomUUID().toString(), 1);
+
+		assertResync(after, streamId, 2);
+	}
+
+	@Test
+	void resumeAfterIdleStreamWasEvictedRequiresResync() throws Exception {
+		broadcast(2);
+		handler.afterConnectionClosed(before.session, CloseStatus.NORMAL);
+		ReflectionTestUtils.setField(handler, "replayRetentionMs", -1L);
+		ReflectionTestUtils.invokeMethod(handler, "evictIdleStreams");
+
+		StubSession after = connect(null);
+		resume(after, streamId, 1);
+
+		JsonNode resync = awaitResync(after);
+		assertThat(resync.path("streamId").asText()).isNotEqualTo(streamId);
+		assertThat(resync.path("seq").asLong()).isZero();
+	}
+
+	@Test
+	void streamWithSubscribersIsNotEvicted() throws Exception {
+		broadcast(2);
+		ReflectionTestUtils.setField(handler, "replayRetentionMs", -1L);
+		ReflectionTestUtils.invokeMethod(handler, "evictIdleStreams");
+
+		StubSession after = connect(null);
+		resume(after, streamId, 1);
+
+		after.await("TEAM_EVENT", 1);
+		settle();
+		assertThat(after.count("RESYNC_REQUIRED")).isZero();
+	}
+
+	@Test
+	void resumeAfterBusGapResyncRequiresResync() throws Exception {
+		broadcast(2);
+		ReflectionTestUtils.invokeMethod(handler, "resyncAll");
+
+		// 구독 중이던 세션은 새 스트림 위치와 함께 재동기화 요청을 받음
+		before.await("RESYNC_REQUIRED", 2);
+		String newStreamId = before.frames("RESYNC_REQUIRED").stream()
+				.filter(frame -> teamId.equals(frame.path("data").path("teamId").asText()))
+				.findFirst().orElseThrow().path("data").path("streamId").asText();
+		assertThat(newStreamId).isNotEqualTo(streamId);
+
+		// 공백 전 스트림으로의 RESUME은 재전송할 수 없음
+		StubSession after = connect(null);
+		resume(after, streamId, 1);
+
+		JsonNode resync = awaitResync(after);
+		assertThat(resync.path("streamId").asText()).isEqualTo(newStreamId);
+		assertThat(resync.path("seq").asLong()).isZero();
+	}
+
+	private void assertResync(StubSession session, String expectedStreamId, long expectedSeq) throws Exception {
+		JsonNode resync = awaitResync(session);
+		assertThat(resync.path("teamId").asText()).isEqualTo(teamId);
+		assertThat(resync.path("streamId").asText()).isEqualTo(expectedStreamId);
+		assertThat(resync.path("seq").asLong()).isEqualTo(expectedSeq);
+		settle();
+		assertThat(session.count("TEAM_EVENT")).isZero();
+	}
+
+	private JsonNode awaitResync(StubSession session) throws Exception {
+		session.await("RESYNC_REQUIRED", 1);
+		return session.frames("RESYNC_REQUIRED").get(0).path("data");
+	}
+
+	private void broadcast(int count) {
+		for (int i = 0; i < count; i++) {
+			handler.broadcastToTeam(teamId, new WebSocketMessage("TEAM_EVENT", Map.of("index", i)));
+		}
+	}
+
+	private void resume(StubSession stub, String streamId, long lastSeq) throws Exception {
+		String frame = MessageCodec.mapper().writeValueAsString(Map.of(
+				"type", "RESUME", "teamId", teamId, "streamId", streamId, "lastSeq", lastSeq));
+		handler.handleTextMessage(stub.session, new TextMessage(frame));
+	}
+
+	private static AnnotationConfigApplicationContext startNode() {
+		TeamMembershipIndex membershipIndex = mock(TeamMembershipIndex.class);
+		when(membershipIndex.isMember(any(), any())).thenReturn(true);
+
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("node", Map.of(
+				"realtime.bus.channel", "resume_" + UUID.randomUUID().toString().replace("-", ""),
+				"websocket.team-update.coalesce-window-ms", "0",
+				"websocket.replay.buffer-size", String.valueOf(REPLAY_BUFFER))));
+		// 완성된 객체로 등록해 목 객체의 @Autowired 필드는 주입하지 않음
+		context.getBeanFactory().registerSingleton("teamMembershipIndex", membershipIndex);
+		context.register(InMemoryRealtimeBus.class, PresenceTracker.class, TaskWebSocketHandler.class);
+		context.refresh();
+		return context;
+	}
+
+	private StubSession connect(String teamId) throws Exception {
+		StubSession stub = new StubSession();
+		Map<String, Object> attributes = new HashMap<>();
+		attributes.put(TaskHandshakeInterceptor.ATTR_USER_ID, alice);
+		if (teamId != null) {
+			attributes.put(TaskHandshakeInterceptor.ATTR_TEAM_ID, teamId);
+		}
+
+		when(stub.session.getId()).thenReturn(UUID.randomUUID().toString());
+		when(stub.session.isOpen()).thenReturn(true);
+		when(stub.session.getAttributes()).thenReturn(attributes);
+		// 하트비트 ping 같은 제어 프레임은 기록하지 않음 (TextMessage로 캐스팅하면 전송 실패로 세션이 닫힘)
+		doAnswer(invocation -> {
+			if (invocation.getArgument(0) instanceof TextMessage message) {
+				stub.frames.add(MessageCodec.mapper().readTree(message.getPayload()));
+			}
+			return null;
+		}).when(stub.session).sendMessage(any());
+
+		handler.afterConnectionEstablished(stub.session);
+		stub.await("CONNECTION_SUCCESS", 1);
+		if (teamId != null) {
+			stub.await("SUBSCRIBED", 1);
+		}
+		return stub;
+	}
+
+	// 전달되지 않아야 하는 프레임은 큐에 들어갔더라도 이 시간 안에 전송됨
+	private static void settle() throws InterruptedException {
+		Thread.sleep(200);
+	}
+
+	private static class StubSession {
+		private final WebSocketSession session = mock(WebSocketSession.class);
+		private final List<JsonNode> frames = new CopyOnWriteArrayList<>();
+
+		List<JsonNode> frames(String type) {
+			return frames.stream().filter(frame -> type.equals(frame.path("type").asText())).toList();
+		}
+
+		long count(String type) {
+			return frames(type).size();
+		}
+
+		void await(String type, int expected) throws InterruptedException {
+			long deadline = System.currentTimeMillis() + 5000;
+			while (count(type) < expected && System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+			assertThat(count(type)).isEqualTo(expected);
+		}
+	}
+}
@@ -0,0 +1,190 @@
+package com.ohange.todoserver.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ohange.todoserver.service.TeamMembershipIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 두 Spring 컨텍스트를 각각 하나의 노드로 띄우고, 버스 이벤트가 대상별로 각 노드의 어느 세션에 전달되는지 검증
+// 세션은 보낸 프레임을 기록하는 스텁이며, 전송은 송신 스레드에서 비동기로 일어나므로 기대한 프레임이 올 때까지 기다린다.
+class TaskWebSocketHandlerRoutingTests {
+
+	private final String teamId = UUID.randomUUID().toString();
+	private final String otherTeamId = UUID.randomUUID().toString();
+	private final String alice = UUID.randomUUID().toString();
+	private final String bob = UUID.randomUUID().toString();
+	private final String carol = UUID.randomUUID().toString();
+
+	private AnnotationConfigApplicationContext nodeA;
+	private AnnotationConfigApplicationContext nodeB;
+
+	// 노드 A: alice 기기 1 (팀 구독)
+	// 노드 B: alice 기기 2 (구독 없음), bob (팀 구독), carol (다른 팀 구독)
+	private StubSession aliceOnA;
+	private StubSession aliceOnB;
+	private StubSession bobOnB;
+	private StubSession carolOnB;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		String channel = "routing_" + UUID.randomUUID().toString().replace("-", "");
+		nodeA = startNode(channel);
+		nodeB = startNode(channel);
+
+		aliceOnA = connect(nodeA, alice, teamId);
+		aliceOnB = connect(nodeB, alice, null);
+		bobOnB = connect(nodeB, bob, teamId);
+		carolOnB = connect(nodeB, carol, otherTeamId);
+	}
+
+	@AfterEach
+	void tearDown() {
+		nodeA.close();
+		nodeB.close();
+	}
+
+	@Test
+	void userEventReachesEveryDeviceOfThatUserOnAllNodes() throws Exception {
+		bus(nodeA).publish(BusEvent.toUser(alice, WebSocketMessage.notification(Map.of("message", "hello"))));
+
+		aliceOnA.await("NOTIFICATION", 1);
+		aliceOnB.await("NOTIFICATION", 1);
+		settle();
+		assertThat(bobOnB.count("NOTIFICATION")).isZero();
+		assertThat(carolOnB.count("NOTIFICATION")).isZero();
+	}
+
+	@Test
+	void teamEventReachesOnlySubscribersOfThatTeamOnAllNodes() throws Exception {
+		bus(nodeB).publish(BusEvent.toTeam(teamId, WebSocketMessage.teamTaskUpdate(new MessagePayloads.TeamTaskUpdate("UPDATE",
+				new MessagePayloads.TaskSummary("task-1", null, null, "PENDING", null, null, null, null, null)))));
+
+		aliceOnA.await("TEAM_TASK_UPDATE", 1);
+		bobOnB.await("TEAM_TASK_UPDATE", 1);
+		settle();
+		assertThat(aliceOnB.count("TEAM_TASK_UPDATE")).isZero();
+		assertThat(carolOnB.count("TEAM_TASK_UPDATE")).isZero();
+	}
+
+	@Test
+	void nodeEventReachesEveryNodeButNoSession() throws Exception {
+		List<BusEvent> receivedA = new CopyOnWriteArrayList<>();
+		List<BusEvent> receivedB = new CopyOnWriteArrayList<>();
+		bus(nodeA).subscribe(receivedA::add);
+		bus(nodeB).subscribe(receivedB::add);
+
+		bus(nodeA).publish(BusEvent.toNodes(teamId, WebSocketMessage.teamMembershipChanged()));
+
+		assertThat(receivedA).hasSize(1);
+		assertThat(receivedB).hasSize(1);
+		settle();
+		for (StubSession session : List.of(aliceOnA, aliceOnB, bobOnB, carolOnB)) {
+			assertThat(session.count("TEAM_MEMBERSHIP_CHANGED")).isZero();
+		}
+	}
+
+	@Test
+	void busGapResyncsOnlyTheSessionsOfThatNode() throws Exception {
+		// 버스 공백 이벤트는 공백을 겪은 노드가 자신의 리스너에만 전달한다
+		ReflectionTestUtils.invokeMethod(nodeB.getBean(TaskWebSocketHandler.class), "deliver",
+				BusEvent.toNodes("routing", WebSocketMessage.realtimeBusGap()));
+
+		aliceOnB.await("RESYNC_REQUIRED", 1);
+		bobOnB.await("RESYNC_REQUIRED", 2);
+		carolOnB.await("RESYNC_REQUIRED", 2);
+		assertThat(bobOnB.frames("RESYNC_REQUIRED")).anySatisfy(frame ->
+				assertThat(frame.path("data").path("teamId").asText()).isEqualTo(teamId));
+		settle();
+		assertThat(aliceOnA.count("RESYNC_REQUIRED")).isZero();
+	}
+
+	private static AnnotationConfigApplicationContext startNode(String channel) {
+		TeamMembershipIndex membershipIndex = mock(TeamMembershipIndex.class);
+		when(membershipIndex.isMember(any(), any())).thenReturn(true);
+
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("node", Map.of(
+				"realtime.bus.channel", channel,
+				"websocket.team-update.coalesce-window-ms", "0")));
+		// 완성된 객체로 등록해 목 객체의 @Autowired 필드는 주입하지 않음
+		context.getBeanFactory().registerSingleton("teamMembershipIndex", membershipIndex);
+		context.register(InMemoryRealtimeBus.class, PresenceTracker.class, TaskWebSocketHandler.class);
+		context.refresh();
+		return context;
+	}
+
+	private static RealtimeBus bus(AnnotationConfigApplicationContext node) {
+		return node.getBean(RealtimeBus.class);
+	}
+
+	private static StubSession connect(AnnotationConfigApplicationContext node, String userId, String teamId) throws Exception {
+		StubSession stub = new StubSession();
+		Map<String, Object> attributes = new HashMap<>();
+		attributes.put(TaskHandshakeInterceptor.ATTR_USER_ID, userId);
+		if (teamId != null) {
+			attributes.put(TaskHandshakeInterceptor.ATTR_TEAM_ID, teamId);
+		}
+
+		WebSocketSession session = mock(WebSocketSession.class);
+		when(session.getId()).thenReturn(UUID.randomUUID().toString());
+		when(session.isOpen()).thenReturn(true);
+		when(session.getAttributes()).thenReturn(attributes);
+		// 하트비트 ping 같은 제어 프레임은 기록하지 않음 (TextMessage로 캐스팅하면 전송 실패로 세션이 닫힘)
+		doAnswer(invocation -> {
+			if (invocation.getArgument(0) instanceof TextMessage message) {
+				stub.frames.add(MessageCodec.mapper().readTree(message.getPayload()));
+			}
+			return null;
+		}).when(session).sendMessage(any());
+
+		node.getBean(TaskWebSocketHandler.class).afterConnectionEstablished(session);
+		stub.await("CONNECTION_SUCCESS", 1);
+		if (teamId != null) {
+			stub.await("SUBSCRIBED", 1);
+		}
+		return stub;
+	}
+
+	// 전달되지 않아야 하는 프레임은 큐에 들어갔더라도 이 시간 안에 전송됨
+	private static void settle() throws InterruptedException {
+		Thread.sleep(200);
+	}
+
+	private static class StubSession {
+		private final List<JsonNode> frames = new CopyOnWriteArrayList<>();
+
+		List<JsonNode> frames(String type) {
+			return frames.stream().filter(frame -> type.equals(frame.path("type").asText())).toList();
+		}
+
+		long count(String type) {
+			return frames(type).size();
+		}
+
+		void await(String type, int expected) throws InterruptedException {
+			long deadline = System.currentTimeMillis() + 5000;
+			while (count(type) < expected && System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+			assertThat(count(type)).isEqualTo(expected);
+		}
+	}
+}
@@ -0,0 +1,129 @@
+package com.ohange.todoserver.websocket;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 팀 스트림 링 버퍼에서 마지막으로 받은 seq 이후 프레임을 돌려주는 경계 검증
+class TeamStreamTests {
+
+	private static final int CAPACITY = 4;
+
+	private TeamStream stream;
+
+	@BeforeEach
+	void setUp() {
+		stream = new TeamStream(CAPACITY);
+	}
+
+	@Test
+	void newStreamHasNothingToReplay() {
+		assertThat(stream.getLastSeq()).isZero();
+		assertThat(stream.since(0)).isEmpty();
+		assertThat(stream.since(1)).isNull();
+	}
+
+	@Test
+	void appendNumbersFramesFromOne() throws Exception {
+		OutboundMessage first = append();
+		OutboundMessage second = append();
+
+		assertThat(seqOf(first)).isEqualTo(1);
+		assertThat(seqOf(second)).isEqualTo(2);
+		assertThat(streamIdOf(second)).isEqualTo(stream.getStreamId());
+		assertThat(stream.getLastSeq()).isEqualTo(2);
+	}
+
+	@Test
+	void sinceReturnsOnlyFramesAfterTheGivenSeq() throws Exception {
+		appendTimes(3);
+
+		assertThat(seqsOf(stream.since(0))).containsExactly(1L, 2L, 3L);
+		assertThat(seqsOf(stream.since(2))).containsExactly(3L);
+		assertThat(stream.since(3)).isEmpty();
+	}
+
+	@Test
+	void seqBeyondLastSeqOrNegativeRequiresResync() {
+		appendTimes(3);
+
+		assertThat(stream.since(4)).isNull();
+		assertThat(stream.since(-1)).isNull();
+	}
+
+	@Test
+	void exactRingBoundaryIsStillReplayable() throws Exception {
+		// 링이 한 바퀴 넘게 돌아 seq 3..6만 남아 있음
+		appendTimes(CAPACITY + 2);
+
+		assertThat(seqsOf(stream.since(2))).containsExactly(3L, 4L, 5L, 6L);
+		assertThat(stream.since(1)).isNull();
+		assertThat(stream.since(0)).isNull();
+	}
+
+	@Test
+	void fullRingWithoutWrapReplaysEverything() throws Exception {
+		appendTimes(CAPACITY);
+
+		assertThat(seqsOf(stream.since(0))).containsExactly(1L, 2L, 3L, 4L);
+	}
+
+	@Test
+	void failedEncodingDoesNotConsumeSeq() throws Exception {
+		append();
+		assertThat(stream.append(message(), m -> null)).isNull();
+		OutboundMessage next = append();
+
+		assertThat(seqOf(next)).isEqualTo(2);
+		assertThat(seqsOf(stream.since(0))).containsExactly(1L, 2L);
+	}
+
+	@Test
+	void everyStreamHasItsOwnId() {
+		assertThat(new TeamStream(CAPACITY).getStreamId()).isNotEqualTo(stream.getStreamId());
+	}
+
+	private OutboundMessage append() {
+		return stream.append(message(), TeamStreamTests::encode);
+	}
+
+	private void appendTimes(int count) {
+		for (int i = 0; i < count; i++) {
+			append();
+		}
+	}
+
+	private static WebSocketMessage message() {
+		return new WebSocketMessage("TEAM_EVENT", Map.of("message", "hello"));
+	}
+
+	private static TextMessage encode(WebSocketMessage message) {
+		try {
+			return new TextMessage(MessageCodec.encode(message));
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static List<Long> seqsOf(List<OutboundMessage> frames) throws Exception {
+		List<Long> seqs = new ArrayList<>();
+		for (OutboundMessage frame : frames) {
+			seqs.add(seqOf(frame));
+		}
+		return seqs;
+	}
+
+	private static long seqOf(OutboundMessage frame) throws Exception {
+		return MessageCodec.mapper().readTree(((TextMessage) frame.getFrame()).getPayload()).path("seq").asLong();
+	}
+
+	private static String streamIdOf(OutboundMessage frame) throws Exception {
+		return MessageCodec.mapper().readTree(((TextMessage) frame.getFrame()).getPayload()).path("streamId").asText();
+	}
+}
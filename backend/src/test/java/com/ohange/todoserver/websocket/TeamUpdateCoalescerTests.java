@@ -0,0 +1,65 @@
+package com.ohange.todoserver.websocket;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 조용한 팀의 첫 업데이트는 바로 나가고, 윈도우 안의 업데이트만 병합되는지 검증
+class TeamUpdateCoalescerTests {
+
+	private static final long WINDOW_MS = 100;
+
+	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+	private final BlockingQueue<WebSocketMessage> sent = new LinkedBlockingQueue<>();
+	private final TeamUpdateCoalescer coalescer = new TeamUpdateCoalescer(WINDOW_MS, scheduler,
+			(teamId, message) -> sent.add(message));
+
+	@AfterEach
+	void tearDown() {
+		scheduler.shutdownNow();
+	}
+
+	@Test
+	void leadingUpdateIsSentImmediatelyAndFollowersAreMerged() throws InterruptedException {
+		coalescer.submit("team-1", teamUpdate("task-1", "PENDING"));
+		WebSocketMessage leading = sent.poll(0, TimeUnit.MILLISECONDS);
+		assertThat(leading).isNotNull();
+		assertThat(leading.getType()).isEqualTo("TEAM_TASK_UPDATE");
+
+		coalescer.submit("team-1", teamUpdate("task-1", "IN_PROGRESS"));
+		coalescer.submit("team-1", teamUpdate("task-2", "PENDING"));
+		coalescer.submit("team-1", teamUpdate("task-1", "COMPLETED"));
+		assertThat(sent).isEmpty();
+
+		WebSocketMessage merged = sent.poll(WINDOW_MS * 5, TimeUnit.MILLISECONDS);
+		assertThat(merged).isNotNull();
+		assertThat(merged.getType()).isEqualTo("TEAM_TASK_UPDATE_BATCH");
+		assertThat(((MessagePayloads.TeamTaskUpdateBatch) merged.getData()).updates())
+				.extracting(update -> ((MessagePayloads.TeamTaskUpdate) update).task().status())
+				.containsExactly("PENDING", "COMPLETED");
+	}
+
+	@Test
+	void windowClosesAfterAQuietWindow() throws InterruptedException {
+		coalescer.submit("team-1", teamUpdate("task-1", "PENDING"));
+		assertThat(sent.poll(0, TimeUnit.MILLISECONDS)).isNotNull();
+
+		Thread.sleep(WINDOW_MS * 3);
+
+		coalescer.submit("team-1", teamUpdate("task-1", "IN_PROGRESS"));
+		assertThat(sent.poll(0, TimeUnit.MILLISECONDS)).isNotNull();
+	}
+
+	private static WebSocketMessage teamUpdate(String taskId, String status) {
+		return WebSocketMessage.teamTaskUpdate(new MessagePayloads.TeamTaskUpdate("UPDATE",
+				new MessagePayloads.TaskSummary(taskId, null, null, status, null, null, null, null, null)));
+	}
+
+}